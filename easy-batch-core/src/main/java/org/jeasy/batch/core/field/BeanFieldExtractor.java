@@ -25,20 +25,33 @@ package org.jeasy.batch.core.field;
 
 import org.jeasy.batch.core.converter.TypeConverter;
 import org.jeasy.batch.core.mapper.TypeConverterRegistrationException;
+import org.jeasy.batch.core.util.BeanMetadata;
 import org.jeasy.batch.core.util.Utils;
 
 import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+
+import static java.lang.String.format;
 
 /**
  * Use JavaBean convention with {@link java.beans.Introspector} to extract
  * properties values from the payload of a record with optional formatting
  * by registering a custom {@link TypeConverter}.
  *
+ * Getters are compiled once (see {@link BeanMetadata}), and the converter of each
+ * field is resolved from the declared type of the property when the extractor is
+ * created or a converter is registered. Subclasses overriding {@link #getValue(String, Object)}
+ * get values through this method instead of compiled getters.
+ *
  * @author Rémi Alvergnat (toilal.dev@gmail.com)
  * @author Mahmoud Ben Hassine
  */
@@ -46,7 +59,11 @@ public class BeanFieldExtractor<P> implements FieldExtractor<P> {
 
     private final String[] fields;
     private final Map<String, Method> getters;
+    private final Function<Object, Object>[] compiledGetters;
+    private final Class<?>[] types;
+    private final TypeConverter[] converters;
     private final Map<Class<?>, TypeConverter<?, String>> typeConverters;
+    private final boolean getValueOverridden;
 
     /**
      * Create a new {@link BeanFieldExtractor}.
@@ -54,6 +71,7 @@ public class BeanFieldExtractor<P> implements FieldExtractor<P> {
      * @param type of the bean
      * @param fields to extract
      */
+    @SuppressWarnings("unchecked")
     public BeanFieldExtractor(final Class<P> type, final String... fields) {
         try {
             this.getters = Utils.getGetters(type);
@@ -61,32 +79,90 @@ public class BeanFieldExtractor<P> implements FieldExtractor<P> {
             throw new IllegalArgumentException(exception);
         }
         if (fields.length == 0) {
-            this.fields = this.getters.keySet().toArray(new String[0]);
+            List<String> readableFields = new ArrayList<>();
+            for (Map.Entry<String, Method> getter : getters.entrySet()) {
+                if (getter.getValue() != null) {
+                    readableFields.add(getter.getKey());
+                }
+            }
+            this.fields = readableFields.toArray(new String[0]);
         } else {
             this.fields = fields;
         }
+        BeanMetadata metadata = BeanMetadata.of(type);
+        compiledGetters = new Function[this.fields.length];
+        types = new Class<?>[this.fields.length];
+        for (int i = 0; i < this.fields.length; i++) {
+            String field = this.fields[i];
+            compiledGetters[i] = metadata.getGetter(field);
+            if (compiledGetters[i] == null) {
+                throw new IllegalArgumentException(format("No public getter found for field %s in type %s", field, type.getName()));
+            }
+            PropertyDescriptor propertyDescriptor = metadata.getProperties().get(field);
+            types[i] = MethodType.methodType(propertyDescriptor.getReadMethod().getReturnType()).wrap().returnType();
+        }
+        converters = new TypeConverter[this.fields.length];
         typeConverters = new HashMap<>();
+        getValueOverridden = isGetValueOverridden(getClass());
+    }
+
+    private static boolean isGetValueOverridden(Class<?> type) {
+        for (Class<?> clazz = type; clazz != BeanFieldExtractor.class; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("getValue", String.class, Object.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden in this class
+            }
+        }
+        return false;
     }
 
     @Override
     public Iterable<Object> extractFields(final P payload) throws Exception {
         Object[] values = new Object[fields.length];
-        for (int i = 0; i < fields.length; i++) {
-            Object value = getValue(fields[i], payload);
-            values[i] = format(value);
-        }
+        extractFields(payload, (index, value) -> values[index] = value);
         return Arrays.asList(values);
     }
 
+    @Override
+    public int extractFields(final P payload, final FieldSink sink) throws Exception {
+        for (int i = 0; i < compiledGetters.length; i++) {
+            Object value = getValueOverridden ? getValue(fields[i], payload) : compiledGetters[i].apply(payload);
+            sink.accept(i, convert(i, value));
+        }
+        return compiledGetters.length;
+    }
+
+    @Override
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    /**
+     * Get the value of a field. Subclasses can override this method to customize
+     * how values are extracted.
+     *
+     * @param field name
+     * @param object to get the value from
+     * @return the value of the field
+     * @throws InvocationTargetException if the getter throws an exception
+     * @throws IllegalAccessException if the getter is not accessible
+     */
     protected Object getValue(final String field, final P object) throws InvocationTargetException, IllegalAccessException {
         return getters.get(field).invoke(object);
     }
 
-    private Object format(Object value) {
+    @SuppressWarnings("unchecked")
+    private Object convert(int index, Object value) {
         if (value == null) {
             return null;
         }
-        TypeConverter typeConverter = typeConverters.get(value.getClass());
+        TypeConverter typeConverter = converters[index];
+        if (typeConverter == null && !typeConverters.isEmpty() && value.getClass() != types[index]) {
+            // the runtime type of the value may be a subtype of the declared type
+            typeConverter = typeConverters.get(value.getClass());
+        }
         if (typeConverter != null) {
             return typeConverter.convert(value);
         }
@@ -106,6 +182,9 @@ public class BeanFieldExtractor<P> implements FieldExtractor<P> {
             throw new TypeConverterRegistrationException("Unable to register custom type converter " + typeConverter.getClass().getName(), e);
         }
         typeConverters.put(clazz, typeConverter);
+        for (int i = 0; i < types.length; i++) {
+            converters[i] = typeConverters.get(types[i]);
+        }
     }
 
 }
@@ -41,4 +41,31 @@ public interface FieldExtractor<T> {
      * @throws Exception if unable to extract fields from the record's payload
      */
     Iterable<Object> extractFields(T payload) throws Exception;
+
+    /**
+     * Extract fields from the payload of a record to a sink, in order. Implementations
+     * should override this method to extract fields without allocating a container.
+     *
+     * @param payload of the record
+     * @param sink receiving fields of the record's payload
+     * @return the number of extracted fields
+     * @throws Exception if unable to extract fields from the record's payload
+     */
+    default int extractFields(T payload, FieldSink sink) throws Exception {
+        int index = 0;
+        for (Object field : extractFields(payload)) {
+            sink.accept(index++, field);
+        }
+        return index;
+    }
+
+    /**
+     * Get the number of fields extracted from each payload, if known in advance.
+     * Record marshallers use it to size the array receiving the fields of a record.
+     *
+     * @return the number of fields, or -1 if unknown
+     */
+    default int getFieldCount() {
+        return -1;
+    }
 }
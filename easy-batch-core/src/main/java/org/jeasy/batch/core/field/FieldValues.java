@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.field;
+
+import org.jeasy.batch.core.util.Utils;
+
+import java.util.Arrays;
+
+/**
+ * A {@link FieldSink} collecting the fields of a record into an array sized after the
+ * number of fields of the field extractor (see {@link FieldExtractor#getFieldCount()}).
+ * The array grows if more fields are extracted.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class FieldValues implements FieldSink {
+
+    private final boolean strings;
+    private Object[] values;
+    private int count;
+
+    private FieldValues(Object[] values, boolean strings) {
+        this.values = values;
+        this.strings = strings;
+    }
+
+    /**
+     * Create a sink collecting fields as they are extracted.
+     *
+     * @param fieldExtractor extracting fields of the record
+     * @return a sink collecting fields of a record
+     */
+    public static FieldValues of(FieldExtractor<?> fieldExtractor) {
+        return new FieldValues(new Object[Math.max(fieldExtractor.getFieldCount(), 0)], false);
+    }
+
+    /**
+     * Create a sink collecting the string representation of fields.
+     *
+     * @param fieldExtractor extracting fields of the record
+     * @return a sink collecting fields of a record as strings
+     */
+    public static FieldValues ofStrings(FieldExtractor<?> fieldExtractor) {
+        return new FieldValues(new String[Math.max(fieldExtractor.getFieldCount(), 0)], true);
+    }
+
+    @Override
+    public void accept(int index, Object value) {
+        if (index >= values.length) {
+            values = Arrays.copyOf(values, Math.max(index + 1, values.length * 2));
+        }
+        values[index] = strings ? value.toString() : value;
+        count = Math.max(count, index + 1);
+    }
+
+    /**
+     * Get the collected fields.
+     *
+     * @return the collected fields
+     */
+    public Object[] toArray() {
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Get the collected fields of a sink created with {@link #ofStrings(FieldExtractor)}.
+     *
+     * @return the collected fields as strings
+     */
+    public String[] toStringArray() {
+        Utils.checkArgument(strings, "fields are not collected as strings");
+        return (String[]) toArray();
+    }
+}
@@ -24,6 +24,7 @@
 package org.jeasy.batch.core.jmx;
 
 import org.jeasy.batch.core.job.Job;
+import org.jeasy.batch.core.job.JobParameters;
 import org.jeasy.batch.core.job.JobReport;
 import org.jeasy.batch.core.util.Utils;
 import org.slf4j.Logger;
@@ -33,10 +34,19 @@ import javax.management.*;
 import java.lang.management.ManagementFactory;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * JMX MBean implementation of {@link JobMonitorMBean}.
  *
+ * Once publishing is started, job report updates are coalesced and notified to
+ * listeners from a background publisher thread, either periodically or every N
+ * processed records, so that notification delivery does not slow down the job.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class JobMonitor extends NotificationBroadcasterSupport implements JobMonitorMBean {
@@ -46,7 +56,21 @@ public class JobMonitor extends NotificationBroadcasterSupport implements JobMon
     /**
      * JMX notification sequence number.
      */
-    private long sequenceNumber = 1;
+    private final AtomicLong sequenceNumber = new AtomicLong(1);
+
+    /**
+     * Number of records processed since publishing was started.
+     */
+    private final AtomicLong processedRecords = new AtomicLong();
+
+    /**
+     * Number of processed records at the last published update.
+     */
+    private volatile long publishedRecords = -1;
+
+    private volatile long recordsPerNotification;
+
+    private ScheduledExecutorService publisher;
 
     /**
      * The batch report holding data exposed as JMX attributes.
@@ -97,6 +121,134 @@ public class JobMonitor extends NotificationBroadcasterSupport implements JobMon
         return jobReport.getMetrics().getWriteCount();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getReadRate() {
+        return jobReport.getMetrics().getReadRate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getWriteRate() {
+        return jobReport.getMetrics().getWriteRate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getFilterRate() {
+        return jobReport.getMetrics().getFilterRate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getErrorRate() {
+        return jobReport.getMetrics().getErrorRate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReadLatencyP50() {
+        return jobReport.getMetrics().getReadLatency().getPercentile(50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReadLatencyP90() {
+        return jobReport.getMetrics().getReadLatency().getPercentile(90);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReadLatencyP99() {
+        return jobReport.getMetrics().getReadLatency().getPercentile(99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReadLatencyMax() {
+        return jobReport.getMetrics().getReadLatency().getMax();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getProcessLatencyP50() {
+        return jobReport.getMetrics().getProcessLatency().getPercentile(50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getProcessLatencyP90() {
+        return jobReport.getMetrics().getProcessLatency().getPercentile(90);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getProcessLatencyP99() {
+        return jobReport.getMetrics().getProcessLatency().getPercentile(99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getProcessLatencyMax() {
+        return jobReport.getMetrics().getProcessLatency().getMax();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getWriteLatencyP50() {
+        return jobReport.getMetrics().getWriteLatency().getPercentile(50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getWriteLatencyP90() {
+        return jobReport.getMetrics().getWriteLatency().getPercentile(90);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getWriteLatencyP99() {
+        return jobReport.getMetrics().getWriteLatency().getPercentile(99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getWriteLatencyMax() {
+        return jobReport.getMetrics().getWriteLatency().getMax();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -118,10 +270,85 @@ public class JobMonitor extends NotificationBroadcasterSupport implements JobMon
         return jobReport.getStatus().name();
     }
 
+    /**
+     * Start publishing job report updates from a background thread, according to
+     * the JMX notification interval and records count of the given parameters.
+     *
+     * @param parameters of the job
+     */
+    public synchronized void startPublishing(JobParameters parameters) {
+        if (publisher != null) {
+            return;
+        }
+        processedRecords.set(0);
+        publishedRecords = -1;
+        recordsPerNotification = parameters.getJmxNotificationRecords();
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jmx-publisher-" + jobReport.getJobName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = parameters.getJmxNotificationInterval().toNanos();
+        publisher.scheduleAtFixedRate(this::publishJobReportUpdate, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Signal that a record has been processed. This is cheap and never blocks:
+     * the job report update is published asynchronously when due.
+     */
+    public void recordProcessed() {
+        long count = processedRecords.incrementAndGet();
+        long every = recordsPerNotification;
+        if (every > 0 && count % every == 0) {
+            ScheduledExecutorService currentPublisher = publisher;
+            if (currentPublisher != null) {
+                try {
+                    currentPublisher.execute(this::publishJobReportUpdate);
+                } catch (RejectedExecutionException e) {
+                    LOGGER.debug("JMX publisher is stopped, skipping job report update");
+                }
+            }
+        }
+    }
+
+    /**
+     * Publish a last job report update and stop the background publisher. The last
+     * update is always published, after any pending one, before this method returns.
+     */
+    public synchronized void stopPublishing() {
+        if (publisher == null) {
+            notifyJobReportUpdate();
+            return;
+        }
+        publisher.execute(this::notifyJobReportUpdate);
+        publisher.shutdown();
+        try {
+            if (!publisher.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warn("Timeout while waiting for the last JMX notification of job '{}' to be delivered", jobReport.getJobName());
+                publisher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            publisher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        publisher = null;
+    }
+
+    /*
+     * Publish an update only if records have been processed since the last one.
+     */
+    private void publishJobReportUpdate() {
+        long count = processedRecords.get();
+        if (count != publishedRecords) {
+            publishedRecords = count;
+            notifyJobReportUpdate();
+        }
+    }
+
     public void notifyJobReportUpdate() {
         Notification notification = new AttributeChangeNotification(
                 this,
-                sequenceNumber++,
+                sequenceNumber.getAndIncrement(),
                 Timestamp.valueOf(LocalDateTime.now()).getTime(),
                 "job report updated",
                 "JobReport",
@@ -69,6 +69,122 @@ public interface JobMonitorMBean {
      */
     long getErrorCount();
 
+    /**
+     * Get the number of records read per second over the last
+     * {@link org.jeasy.batch.core.job.JobMetrics#RATE_WINDOW_SECONDS} seconds.
+     *
+     * @return read rate in records per second
+     */
+    double getReadRate();
+
+    /**
+     * Get the number of records written per second over the last
+     * {@link org.jeasy.batch.core.job.JobMetrics#RATE_WINDOW_SECONDS} seconds.
+     *
+     * @return write rate in records per second
+     */
+    double getWriteRate();
+
+    /**
+     * Get the number of records filtered per second over the last
+     * {@link org.jeasy.batch.core.job.JobMetrics#RATE_WINDOW_SECONDS} seconds.
+     *
+     * @return filter rate in records per second
+     */
+    double getFilterRate();
+
+    /**
+     * Get the number of errors per second over the last
+     * {@link org.jeasy.batch.core.job.JobMetrics#RATE_WINDOW_SECONDS} seconds.
+     *
+     * @return error rate in records per second
+     */
+    double getErrorRate();
+
+    /**
+     * Get the 50th percentile of record reading latency. Only available when latency tracking is enabled.
+     *
+     * @return 50th percentile of record reading latency in nanoseconds
+     */
+    long getReadLatencyP50();
+
+    /**
+     * Get the 90th percentile of record reading latency. Only available when latency tracking is enabled.
+     *
+     * @return 90th percentile of record reading latency in nanoseconds
+     */
+    long getReadLatencyP90();
+
+    /**
+     * Get the 99th percentile of record reading latency. Only available when latency tracking is enabled.
+     *
+     * @return 99th percentile of record reading latency in nanoseconds
+     */
+    long getReadLatencyP99();
+
+    /**
+     * Get the maximum of record reading latency. Only available when latency tracking is enabled.
+     *
+     * @return maximum of record reading latency in nanoseconds
+     */
+    long getReadLatencyMax();
+
+    /**
+     * Get the 50th percentile of record processing latency. Only available when latency tracking is enabled.
+     *
+     * @return 50th percentile of record processing latency in nanoseconds
+     */
+    long getProcessLatencyP50();
+
+    /**
+     * Get the 90th percentile of record processing latency. Only available when latency tracking is enabled.
+     *
+     * @return 90th percentile of record processing latency in nanoseconds
+     */
+    long getProcessLatencyP90();
+
+    /**
+     * Get the 99th percentile of record processing latency. Only available when latency tracking is enabled.
+     *
+     * @return 99th percentile of record processing latency in nanoseconds
+     */
+    long getProcessLatencyP99();
+
+    /**
+     * Get the maximum of record processing latency. Only available when latency tracking is enabled.
+     *
+     * @return maximum of record processing latency in nanoseconds
+     */
+    long getProcessLatencyMax();
+
+    /**
+     * Get the 50th percentile of batch writing latency. Only available when latency tracking is enabled.
+     *
+     * @return 50th percentile of batch writing latency in nanoseconds
+     */
+    long getWriteLatencyP50();
+
+    /**
+     * Get the 90th percentile of batch writing latency. Only available when latency tracking is enabled.
+     *
+     * @return 90th percentile of batch writing latency in nanoseconds
+     */
+    long getWriteLatencyP90();
+
+    /**
+     * Get the 99th percentile of batch writing latency. Only available when latency tracking is enabled.
+     *
+     * @return 99th percentile of batch writing latency in nanoseconds
+     */
+    long getWriteLatencyP99();
+
+    /**
+     * Get the maximum of batch writing latency. Only available when latency tracking is enabled.
+     *
+     * @return maximum of batch writing latency in nanoseconds
+     */
+    long getWriteLatencyMax();
+
     /**
      * Get batch execution start time.
      *
@@ -23,7 +23,19 @@
  */
 package org.jeasy.batch.core.job;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.jeasy.batch.core.jmx.JobMonitor;
 import org.jeasy.batch.core.listener.BatchListener;
@@ -38,7 +50,11 @@ import org.jeasy.batch.core.listener.RecordReaderListener;
 import org.jeasy.batch.core.listener.RecordWriterListener;
 import org.jeasy.batch.core.processor.CompositeRecordProcessor;
 import org.jeasy.batch.core.processor.RecordProcessor;
+import org.jeasy.batch.core.reader.BulkRecordReader;
+import org.jeasy.batch.core.reader.CursorRecordReader;
+import org.jeasy.batch.core.reader.PollableRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.reader.SeekableRecordReader;
 import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.util.Utils;
@@ -55,6 +71,8 @@ class BatchJob<I , O> implements Job {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BatchJob.class);
     private static final String DEFAULT_JOB_NAME = "job";
+    @SuppressWarnings(value = "rawtypes")
+    private static final Batch END_OF_BATCHES = new Batch();
 
     private String name;
 
@@ -62,6 +80,12 @@ class BatchJob<I , O> implements Job {
     private RecordWriter<O> recordWriter;
     private RecordProcessor<I, O> recordProcessor;
     private RecordTracker recordTracker;
+    private BatchSizeController batchSizeController;
+    private long batchTimeout;
+    private boolean bulkReading;
+    private boolean latencyTracking;
+    private CheckpointJournal checkpointJournal;
+    private Queue<String> pendingPositions;
 
     private JobListener jobListener;
     private BatchListener<O> batchListener;
@@ -73,6 +97,8 @@ class BatchJob<I , O> implements Job {
     private JobMetrics metrics;
     private JobReport report;
     private JobMonitor monitor;
+    private ExecutorService processingExecutor;
+    private ExecutorService pipelineExecutor;
 
     BatchJob(JobParameters parameters) {
         this.parameters = parameters;
@@ -93,6 +119,7 @@ class BatchJob<I , O> implements Job {
         batchListener = new CompositeBatchListener<>();
         jobListener = new CompositeJobListener();
         recordTracker = new RecordTracker();
+        batchSizeController = new BatchSizeController(parameters);
     }
 
     @Override
@@ -104,20 +131,32 @@ class BatchJob<I , O> implements Job {
     public JobReport call() {
         start();
         try {
+            checkReadingMode();
             openReader();
             openWriter();
+            openCheckpointJournal();
             setStatus(JobStatus.STARTED);
-            while (moreRecords() && !isInterrupted()) {
-                Batch<O> batch = readAndProcessBatch();
-                writeBatch(batch);
+            if (parameters.isPipeliningEnabled()) {
+                readProcessAndWritePipelined();
+            } else {
+                while (moreRecords() && !isInterrupted()) {
+                    Batch<O> batch = readAndProcessBatch();
+                    String position = getReaderPosition();
+                    writeBatch(batch);
+                    commitCheckpoint(position);
+                }
             }
+            completeCheckpointJournal();
             setStatus(JobStatus.STOPPING);
         } catch (Exception exception) {
             fail(exception);
             return report;
         } finally {
+            shutdownPipelineExecutor();
             closeReader();
             closeWriter();
+            closeCheckpointJournal();
+            shutdownProcessingExecutor();
         }
         teardown();
         return report;
@@ -131,17 +170,51 @@ class BatchJob<I , O> implements Job {
         setStatus(JobStatus.STARTING);
         jobListener.beforeJob(parameters);
         recordTracker = new RecordTracker();
+        batchSizeController = new BatchSizeController(parameters);
         metrics.setStartTime(LocalDateTime.now());
+        metrics.setCurrentBatchSize(batchSizeController.getBatchSize());
+        batchTimeout = parameters.getBatchTimeout() == null ? 0 : parameters.getBatchTimeout().toNanos();
+        // records are read one by one when a batch timeout is set to be able to flush partial batches
+        bulkReading = parameters.isBulkReadingEnabled() && recordReader instanceof BulkRecordReader && batchTimeout == 0;
+        latencyTracking = parameters.isLatencyTrackingEnabled();
         LOGGER.debug("Batch size: {}", parameters.getBatchSize());
+        if (parameters.isAdaptiveBatchSizingEnabled()) {
+            LOGGER.debug("Adaptive batch size: min = {}, max = {}, target write latency = {}",
+                    parameters.getMinBatchSize(), parameters.getMaxBatchSize(), Utils.formatDuration(parameters.getTargetWriteLatency()));
+        }
         LOGGER.debug("Error threshold: {}", Utils.formatErrorThreshold(parameters.getErrorThreshold()));
         LOGGER.debug("Jmx monitoring: {}", parameters.isJmxMonitoring());
         LOGGER.debug("Batch scanning: {}", parameters.isBatchScanningEnabled());
+        if (parameters.getBatchTimeout() != null) {
+            LOGGER.debug("Batch timeout: {}", Utils.formatDuration(parameters.getBatchTimeout()));
+        }
+        LOGGER.debug("Processing threads: {}", parameters.getProcessingThreads());
+        LOGGER.debug("Pipelining: {}", parameters.isPipeliningEnabled());
+        LOGGER.debug("Bulk reading: {}", bulkReading);
+        LOGGER.debug("Latency tracking: {}", latencyTracking);
         registerJobMonitor();
+        createProcessingExecutor();
+    }
+
+    private void createProcessingExecutor() {
+        if (parameters.getProcessingThreads() > 1) {
+            processingExecutor = Executors.newFixedThreadPool(parameters.getProcessingThreads());
+        }
     }
 
     private void registerJobMonitor() {
         if (parameters.isJmxMonitoring()) {
             monitor.registerJmxMBeanFor(this);
+            monitor.startPublishing(parameters);
+        }
+    }
+
+    private void checkReadingMode() {
+        if (recordReader instanceof CursorRecordReader
+                && (parameters.getProcessingThreads() > 1 || parameters.isPipeliningEnabled())) {
+            throw new IllegalArgumentException("Records of " + recordReader.getClass().getName()
+                    + " share a cursor and must be processed as soon as they are read, which is not possible"
+                    + " with several processing threads or pipelining");
         }
     }
 
@@ -165,6 +238,46 @@ class BatchJob<I , O> implements Job {
         }
     }
 
+    @SuppressWarnings(value = "unchecked")
+    private void openCheckpointJournal() throws Exception {
+        Path journal = parameters.getCheckpointJournal();
+        if (journal == null) {
+            return;
+        }
+        if (!(recordReader instanceof SeekableRecordReader)) {
+            throw new IllegalArgumentException("A checkpoint journal requires a SeekableRecordReader, "
+                    + recordReader.getClass().getName() + " is not");
+        }
+        LOGGER.debug("Opening checkpoint journal {}", journal);
+        checkpointJournal = new CheckpointJournal(journal, parameters.getCheckpointSyncInterval());
+        pendingPositions = new ConcurrentLinkedQueue<>();
+        String position = checkpointJournal.open();
+        if (position != null) {
+            LOGGER.info("Job '{}' resuming from checkpoint {}", name, position);
+            ((SeekableRecordReader<I>) recordReader).seek(position);
+        }
+    }
+
+    /*
+     * Position of the reader after the last record read, or null if checkpoints are disabled.
+     */
+    @SuppressWarnings(value = "unchecked")
+    private String getReaderPosition() throws Exception {
+        return checkpointJournal == null ? null : ((SeekableRecordReader<I>) recordReader).getPosition();
+    }
+
+    private void commitCheckpoint(String position) throws Exception {
+        if (checkpointJournal != null) {
+            checkpointJournal.commit(position);
+        }
+    }
+
+    private void completeCheckpointJournal() throws Exception {
+        if (checkpointJournal != null && !isInterrupted()) {
+            checkpointJournal.complete();
+        }
+    }
+
     private void setStatus(JobStatus status) {
         if(isInterrupted()) {
             LOGGER.info("Job '{}' has been interrupted, aborting execution.", name);
@@ -178,29 +291,158 @@ class BatchJob<I , O> implements Job {
     }
 
     private Batch<O> readAndProcessBatch() throws Exception {
+        if (processingExecutor != null || bulkReading) {
+            return processBatch(readBatch());
+        }
         Batch<O> batch = new Batch<>();
+        int batchSize = batchSizeController.getBatchSize();
+        long batchStartTime = 0;
         batchListener.beforeBatchReading();
-        for (int i = 0; i < parameters.getBatchSize(); i++) {
-            Record<I> record = readRecord();
+        for (int i = 0; i < batchSize; i++) {
+            Record<I> record = readRecord(i, batchStartTime);
             if (record == null) {
-                LOGGER.debug("No more records");
-                recordTracker.noMoreRecords();
                 break;
-            } else {
-                metrics.incrementReadCount();
+            }
+            if (i == 0) {
+                batchStartTime = System.nanoTime();
             }
             processRecord(record, batch);
+            if (isBatchTimeoutExpired(batchStartTime)) {
+                LOGGER.debug("Batch timeout expired");
+                break;
+            }
+        }
+        batchListener.afterBatchProcessing(batch);
+        return batch;
+    }
+
+    private Batch<I> readBatch() throws Exception {
+        Batch<I> batch = new Batch<>();
+        int batchSize = batchSizeController.getBatchSize();
+        batchListener.beforeBatchReading();
+        if (bulkReading) {
+            readRecords(batchSize, batch);
+            return batch;
+        }
+        long batchStartTime = 0;
+        for (int i = 0; i < batchSize; i++) {
+            Record<I> record = readRecord(i, batchStartTime);
+            if (record == null) {
+                break;
+            }
+            if (i == 0) {
+                batchStartTime = System.nanoTime();
+            }
+            batch.addRecord(record);
+            if (isBatchTimeoutExpired(batchStartTime)) {
+                LOGGER.debug("Batch timeout expired");
+                break;
+            }
+        }
+        return batch;
+    }
+
+    private Batch<O> processBatch(Batch<I> records) throws Exception {
+        Batch<O> batch = new Batch<>();
+        if (processingExecutor == null) {
+            for (Record<I> record : records) {
+                processRecord(record, batch);
+            }
+        } else {
+            processRecords(records, batch);
         }
         batchListener.afterBatchProcessing(batch);
         return batch;
     }
 
-    private Record<I> readRecord() throws Exception {
+    /*
+     * Read the record at the given index of the current batch. The first record of a batch
+     * is waited for until it arrives or until the end of data. When a batch timeout is set,
+     * next records are polled from a PollableRecordReader for the remaining batch time.
+     * Returns null when the batch is complete.
+     */
+    @SuppressWarnings(value = "unchecked")
+    private Record<I> readRecord(int index, long batchStartTime) throws Exception {
+        boolean polling = index > 0 && batchTimeout > 0 && recordReader instanceof PollableRecordReader;
+        Record<I> record = readRecord(polling ? remainingBatchTime(batchStartTime) : -1);
+        if (record == null) {
+            if (polling && !((PollableRecordReader<I>) recordReader).isEndOfStream()) {
+                LOGGER.debug("Batch timeout expired");
+            } else {
+                LOGGER.debug("No more records");
+                recordTracker.noMoreRecords();
+            }
+        } else {
+            metrics.incrementReadCount();
+        }
+        return record;
+    }
+
+    /*
+     * Read records in bulk until the batch is full or the end of data is reached.
+     */
+    @SuppressWarnings(value = "unchecked")
+    private void readRecords(int batchSize, Batch<I> batch) throws Exception {
+        BulkRecordReader<I> bulkRecordReader = (BulkRecordReader<I>) recordReader;
+        int remaining = batchSize;
+        while (remaining > 0) {
+            // records are read in a separate batch to notify listeners of records of this read only
+            Batch<I> records = new Batch<>();
+            int count;
+            try {
+                LOGGER.debug("Reading next {} records", remaining);
+                recordReaderListener.beforeRecordReading();
+                long readStartTime = latencyTracking ? System.nanoTime() : 0;
+                count = bulkRecordReader.readRecords(remaining, records);
+                if (latencyTracking && count > 0) {
+                    metrics.getReadLatency().record((System.nanoTime() - readStartTime) / count, count);
+                }
+            } catch (Exception e) {
+                recordReaderListener.onRecordReadingException(e);
+                LOGGER.error("Unable to read next records", e);
+                throw e;
+            }
+            if (count == 0) {
+                recordReaderListener.afterRecordReading(null);
+                LOGGER.debug("No more records");
+                recordTracker.noMoreRecords();
+                break;
+            }
+            for (Record<I> record : records) {
+                recordReaderListener.afterRecordReading(record);
+                batch.addRecord(record);
+            }
+            metrics.incrementReadCount(count);
+            remaining -= count;
+        }
+    }
+
+    private long remainingBatchTime(long batchStartTime) {
+        return Math.max(0, batchTimeout - (System.nanoTime() - batchStartTime));
+    }
+
+    private boolean isBatchTimeoutExpired(long batchStartTime) {
+        return batchTimeout > 0 && System.nanoTime() - batchStartTime >= batchTimeout;
+    }
+
+    /*
+     * Read next record, or poll it for the given timeout (in nanoseconds) if positive or zero.
+     */
+    @SuppressWarnings(value = "unchecked")
+    private Record<I> readRecord(long timeout) throws Exception {
         Record<I> record;
         try {
             LOGGER.debug("Reading next record");
             recordReaderListener.beforeRecordReading();
-            record = recordReader.readRecord();
+            long readStartTime = latencyTracking ? System.nanoTime() : 0;
+            if (timeout < 0) {
+                record = recordReader.readRecord();
+            } else {
+                record = ((PollableRecordReader<I>) recordReader).pollRecord(timeout, TimeUnit.NANOSECONDS);
+            }
+            if (latencyTracking && record != null) {
+                metrics.getReadLatency().record(System.nanoTime() - readStartTime);
+            }
             recordReaderListener.afterRecordReading(record);
             return record;
         } catch (Exception e) {
@@ -210,36 +452,175 @@ class BatchJob<I , O> implements Job {
         }
     }
 
-    @SuppressWarnings(value = "unchecked,rawtypes")
+    @SuppressWarnings(value = "unchecked")
     private void processRecord(Record<I> record, Batch<O> batch) throws ErrorThresholdExceededException {
+        notifyRecordProcessed();
+        try {
+            Record<O> processedRecord = processRecord(record);
+            if (processedRecord == null) {
+                metrics.incrementFilterCount();
+            } else {
+                batch.addRecord(processedRecord);
+            }
+        } catch (Exception e) {
+            handleProcessingError(e);
+        }
+    }
+
+    /*
+     * Fan out records of the batch to processing threads and hand them off
+     * to the batch in the same order as they were read. Metrics and the error
+     * threshold are updated from the calling thread only.
+     */
+    @SuppressWarnings(value = "unchecked")
+    private void processRecords(Batch<I> records, Batch<O> batch) throws Exception {
+        List<Future<Record<O>>> processedRecords = new ArrayList<>((int) records.size());
+        for (Record<I> record : records) {
+            processedRecords.add(processingExecutor.submit(() -> processRecord(record)));
+        }
+        try {
+            for (Future<Record<O>> future : processedRecords) {
+                notifyRecordProcessed();
+                try {
+                    Record<O> processedRecord = future.get();
+                    if (processedRecord == null) {
+                        metrics.incrementFilterCount();
+                    } else {
+                        batch.addRecord(processedRecord);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Exception) {
+                        handleProcessingError((Exception) cause);
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            for (Future<Record<O>> future : processedRecords) {
+                future.cancel(true);
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings(value = "unchecked,rawtypes")
+    private Record<O> processRecord(Record<I> record) throws Exception {
         Record processedRecord = null;
         try {
             LOGGER.debug("Processing record {}", record);
-            notifyJobUpdate();
             Record preProcessedRecord = pipelineListener.beforeRecordProcessing(record);
             if (preProcessedRecord == null) {
                 LOGGER.debug("Record {} has been filtered", record);
-                metrics.incrementFilterCount();
             } else {
+                long processStartTime = latencyTracking ? System.nanoTime() : 0;
                 processedRecord = recordProcessor.processRecord(preProcessedRecord);
+                if (latencyTracking) {
+                    metrics.getProcessLatency().record(System.nanoTime() - processStartTime);
+                }
                 if (processedRecord == null) {
                     LOGGER.debug("Record {} has been filtered", record);
-                    metrics.incrementFilterCount();
-                } else {
-                    batch.addRecord(processedRecord);
                 }
             }
             pipelineListener.afterRecordProcessing(record, processedRecord);
+            return processedRecord;
         } catch (Exception e) {
             LOGGER.error("Unable to process record {}", record, e);
             pipelineListener.onRecordProcessingException(record, e);
-            metrics.incrementErrorCount();
-            report.setLastError(e);
-            if (metrics.getErrorCount() > parameters.getErrorThreshold()) {
-                String errorMessage = "Error threshold exceeded. Aborting execution";
-                LOGGER.error(errorMessage, e);
-                throw new ErrorThresholdExceededException(errorMessage, e);
+            throw e;
+        }
+    }
+
+    private void handleProcessingError(Exception e) throws ErrorThresholdExceededException {
+        metrics.incrementErrorCount();
+        report.setLastError(e);
+        if (metrics.getErrorCount() > parameters.getErrorThreshold()) {
+            String errorMessage = "Error threshold exceeded. Aborting execution";
+            LOGGER.error(errorMessage, e);
+            throw new ErrorThresholdExceededException(errorMessage, e);
+        }
+    }
+
+    /*
+     * Read, process and write batches on separate threads joined by bounded queues,
+     * so that batch N+1 is read and processed while batch N is being written.
+     * Each stage hands an end-of-batches marker downstream when it is done,
+     * even if it has failed, so that the next stage never waits forever.
+     */
+    @SuppressWarnings(value = "unchecked")
+    private void readProcessAndWritePipelined() throws Exception {
+        BlockingQueue<Batch<I>> readBatches = new ArrayBlockingQueue<>(parameters.getPipelineQueueCapacity());
+        BlockingQueue<Batch<O>> processedBatches = new ArrayBlockingQueue<>(parameters.getPipelineQueueCapacity());
+        pipelineExecutor = Executors.newFixedThreadPool(2);
+        Future<Void> reading = pipelineExecutor.submit(() -> {
+            try {
+                while (moreRecords() && !isInterrupted()) {
+                    Batch<I> batch = readBatch();
+                    if (checkpointJournal != null) {
+                        pendingPositions.add(getReaderPosition());
+                    }
+                    readBatches.put(batch);
+                }
+                readBatches.put(END_OF_BATCHES);
+            } catch (Exception e) {
+                signalEndOfBatches(readBatches, e);
+                throw e;
             }
+            return null;
+        });
+        Future<Void> processing = pipelineExecutor.submit(() -> {
+            try {
+                Batch<I> batch = readBatches.take();
+                while (batch != END_OF_BATCHES) {
+                    processedBatches.put(processBatch(batch));
+                    batch = readBatches.take();
+                }
+                processedBatches.put(END_OF_BATCHES);
+            } catch (Exception e) {
+                signalEndOfBatches(processedBatches, e);
+                throw e;
+            }
+            return null;
+        });
+        try {
+            Batch<O> batch = processedBatches.take();
+            while (batch != END_OF_BATCHES) {
+                writeBatch(batch);
+                commitCheckpoint(pendingPositions == null ? null : pendingPositions.poll());
+                batch = processedBatches.take();
+            }
+            awaitStage(processing);
+            awaitStage(reading);
+        } catch (InterruptedException e) {
+            LOGGER.debug("Interrupted while waiting for processed batches");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings(value = "unchecked")
+    private void signalEndOfBatches(BlockingQueue queue, Exception exception) {
+        if (!(exception instanceof InterruptedException)) {
+            try {
+                queue.put(END_OF_BATCHES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void awaitStage(Future<Void> stage) throws Exception {
+        try {
+            stage.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
         }
     }
 
@@ -248,7 +629,13 @@ class BatchJob<I , O> implements Job {
             if (!batch.isEmpty()) {
                 LOGGER.debug("Writing records {}", batch);
                 recordWriterListener.beforeRecordWriting(batch);
+                long writeStartTime = System.nanoTime();
                 recordWriter.writeRecords(batch);
+                long writeLatency = System.nanoTime() - writeStartTime;
+                if (latencyTracking) {
+                    metrics.getWriteLatency().record(writeLatency);
+                }
+                adjustBatchSize(batch.size(), writeLatency);
                 recordWriterListener.afterRecordWriting(batch);
                 batchListener.afterBatchWriting(batch);
                 metrics.incrementWriteCount(batch.size());
@@ -266,6 +653,11 @@ class BatchJob<I , O> implements Job {
         }
     }
 
+    private void adjustBatchSize(long size, long writeLatency) {
+        batchSizeController.onBatchWritten(size, writeLatency);
+        metrics.setCurrentBatchSize(batchSizeController.getBatchSize());
+    }
+
     private void scan(Batch<O> batch) {
         LOGGER.debug("Scanning records {}", batch);
         for (Record<O> record : batch) {
@@ -299,7 +691,7 @@ class BatchJob<I , O> implements Job {
         metrics.setEndTime(LocalDateTime.now());
         LOGGER.info( "Job '{}' finished with status {} in {}",
                 name, report.getStatus(), Utils.formatDuration(report.getMetrics().getDuration()));
-        notifyJobUpdate();
+        notifyJobEnd();
         jobListener.afterJob(report);
     }
 
@@ -308,6 +700,19 @@ class BatchJob<I , O> implements Job {
         teardown(JobStatus.FAILED);
     }
 
+    private void closeCheckpointJournal() {
+        if (checkpointJournal != null) {
+            try {
+                LOGGER.debug("Closing checkpoint journal");
+                checkpointJournal.close();
+            } catch (Exception e) {
+                LOGGER.error("Unable to close checkpoint journal", e);
+                report.setLastError(e);
+            }
+            checkpointJournal = null;
+        }
+    }
+
     private void closeReader() {
         try {
             LOGGER.debug("Closing record reader");
@@ -328,9 +733,41 @@ class BatchJob<I , O> implements Job {
         }
     }
 
-    private void notifyJobUpdate() {
+    private void shutdownPipelineExecutor() {
+        if (pipelineExecutor != null) {
+            LOGGER.debug("Shutting down pipeline threads");
+            pipelineExecutor.shutdownNow();
+            // stages must be done before closing the reader and the writer
+            boolean interrupted = Thread.interrupted();
+            try {
+                pipelineExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            pipelineExecutor = null;
+        }
+    }
+
+    private void shutdownProcessingExecutor() {
+        if (processingExecutor != null) {
+            LOGGER.debug("Shutting down processing threads");
+            processingExecutor.shutdownNow();
+            processingExecutor = null;
+        }
+    }
+
+    private void notifyRecordProcessed() {
+        if (parameters.isJmxMonitoring()) {
+            monitor.recordProcessed();
+        }
+    }
+
+    private void notifyJobEnd() {
         if (parameters.isJmxMonitoring()) {
-            monitor.notifyJobReportUpdate();
+            monitor.stopPublishing();
         }
     }
 
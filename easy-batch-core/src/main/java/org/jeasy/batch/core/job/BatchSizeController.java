@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+/**
+ * Controller of the size of the next batch to read.
+ *
+ * When adaptive batch sizing is enabled, the controller measures the write latency
+ * of each batch and grows or shrinks the next batch (within configured bounds) so
+ * that writing a batch takes about the target write latency. Otherwise, the batch
+ * size is the one configured in job parameters.
+ */
+class BatchSizeController {
+
+    /*
+     * Weight of the last observed per-record latency in the moving average
+     */
+    private static final double SMOOTHING_FACTOR = 0.5;
+
+    /*
+     * Maximum factor by which the batch size can grow or shrink between two batches
+     */
+    private static final int MAX_ADJUSTMENT_FACTOR = 2;
+
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetWriteLatency;
+    private volatile int batchSize;
+    private double recordWriteLatency = -1;
+
+    BatchSizeController(JobParameters parameters) {
+        if (parameters.isAdaptiveBatchSizingEnabled()) {
+            this.minBatchSize = parameters.getMinBatchSize();
+            this.maxBatchSize = parameters.getMaxBatchSize();
+            this.targetWriteLatency = parameters.getTargetWriteLatency().toNanos();
+        } else {
+            this.minBatchSize = parameters.getBatchSize();
+            this.maxBatchSize = parameters.getBatchSize();
+            this.targetWriteLatency = 0;
+        }
+        this.batchSize = clamp(parameters.getBatchSize());
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Adjust the size of the next batch based on the write latency of the last one.
+     *
+     * @param size of the written batch
+     * @param writeLatency of the batch in nanoseconds
+     */
+    void onBatchWritten(long size, long writeLatency) {
+        if (size == 0 || minBatchSize == maxBatchSize) {
+            return;
+        }
+        double lastRecordWriteLatency = (double) writeLatency / size;
+        if (recordWriteLatency < 0) {
+            recordWriteLatency = lastRecordWriteLatency;
+        } else {
+            recordWriteLatency = SMOOTHING_FACTOR * lastRecordWriteLatency + (1 - SMOOTHING_FACTOR) * recordWriteLatency;
+        }
+        long nextBatchSize = recordWriteLatency > 0 ? Math.round(targetWriteLatency / recordWriteLatency) : maxBatchSize;
+        nextBatchSize = Math.min(nextBatchSize, (long) batchSize * MAX_ADJUSTMENT_FACTOR);
+        nextBatchSize = Math.max(nextBatchSize, batchSize / MAX_ADJUSTMENT_FACTOR);
+        batchSize = clamp(nextBatchSize);
+    }
+
+    private int clamp(long size) {
+        return (int) Math.max(minBatchSize, Math.min(maxBatchSize, size));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only journal of reader positions committed after each written batch.
+ *
+ * Each commit appends a line to the journal. The journal is forced to the storage
+ * device every {@code syncInterval} commits and when the job completes, so a crash of
+ * the machine may lose the last unsynced commits: the job then resumes from an earlier
+ * position and some records are written again (at-least-once semantics).
+ *
+ * A torn last line (if the job was killed while appending to the journal) is ignored.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class CheckpointJournal {
+
+    static final String CHECKPOINT = "checkpoint ";
+    static final String COMPLETED = "completed";
+
+    private static final int TAIL_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final int syncInterval;
+    private FileChannel channel;
+    private String lastPosition;
+    private int unsyncedCommits;
+
+    CheckpointJournal(Path path, int syncInterval) {
+        this.path = path;
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * Open the journal for appending.
+     *
+     * @return the last committed position if the previous run did not complete, null otherwise
+     */
+    String open() throws IOException {
+        String position = null;
+        if (Files.exists(path)) {
+            String lastEntry = readLastEntry();
+            if (lastEntry != null && lastEntry.startsWith(CHECKPOINT)) {
+                position = unescape(lastEntry.substring(CHECKPOINT.length()));
+            }
+        }
+        // compact the journal: only the position to resume from is kept
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tmp, position == null ? new byte[0] : toLine(position));
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        lastPosition = position;
+        return position;
+    }
+
+    void commit(String position) throws IOException {
+        if (position == null || position.equals(lastPosition)) {
+            return;
+        }
+        write(toLine(position));
+        lastPosition = position;
+        if (++unsyncedCommits >= syncInterval) {
+            sync();
+        }
+    }
+
+    void complete() throws IOException {
+        write((COMPLETED + "\n").getBytes(StandardCharsets.UTF_8));
+        sync();
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            try {
+                if (unsyncedCommits > 0) {
+                    sync();
+                }
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void sync() throws IOException {
+        channel.force(false);
+        unsyncedCommits = 0;
+    }
+
+    /*
+     * Read the last complete line of the journal, starting from its tail.
+     */
+    private String readLastEntry() throws IOException {
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = reader.size();
+            long tailSize = Math.min(size, TAIL_SIZE);
+            while (tailSize > 0) {
+                ByteBuffer tail = ByteBuffer.allocate((int) tailSize);
+                long offset = size - tailSize;
+                while (tail.hasRemaining()) {
+                    if (reader.read(tail, offset + tail.position()) < 0) {
+                        break;
+                    }
+                }
+                String content = new String(tail.array(), 0, tail.position(), StandardCharsets.UTF_8);
+                int end = content.lastIndexOf('\n');
+                int start = end < 0 ? -1 : content.lastIndexOf('\n', end - 1);
+                if (end >= 0 && (start >= 0 || tailSize == size)) {
+                    return content.substring(start + 1, end);
+                }
+                if (tailSize == size) {
+                    return null;
+                }
+                tailSize = Math.min(size, Math.min(Integer.MAX_VALUE, tailSize * 2));
+            }
+            return null;
+        }
+    }
+
+    private static byte[] toLine(String position) {
+        return (CHECKPOINT + escape(position) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String escape(String position) {
+        return position.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    static String unescape(String position) {
+        StringBuilder sb = new StringBuilder(position.length());
+        for (int i = 0; i < position.length(); i++) {
+            char c = position.charAt(i);
+            if (c == '\\' && i + 1 < position.length()) {
+                char next = position.charAt(++i);
+                sb.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
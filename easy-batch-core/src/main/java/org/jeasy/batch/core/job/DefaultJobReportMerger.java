@@ -40,6 +40,8 @@ import java.util.List;
  * <li>The total error records is the sum of total error records</li>
  * <li>The final status is {@link JobStatus#COMPLETED} (if all partials are completed) or {@link JobStatus#FAILED} (if one of partials has failed).</li>
  * <li>The final name is the concatenation of partial job names.</li>
+ * <li>Rates are not merged: the read/write/filter/error rates of the merged report are 0,
+ * since its records were not processed during the rate window. Use counts and duration instead.</li>
  * </ul>
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
@@ -69,10 +71,8 @@ public class DefaultJobReportMerger implements JobReportMerger {
         for (JobReport jobReport : jobReports) {
             startTimes.add(jobReport.getMetrics().getStartTime());
             endTimes.add(jobReport.getMetrics().getEndTime());
-            calculateReadRecords(finalJobReport, jobReport);
-            calculateWrittenRecords(finalJobReport, jobReport);
-            calculateFilteredRecords(finalJobReport, jobReport);
-            calculateErrorRecords(finalJobReport, jobReport);
+            finalJobReport.getMetrics().addCounts(jobReport.getMetrics());
+            mergeLatencies(finalJobReport, jobReport);
             setStatus(finalJobReport, jobReport);
             jobNames.add(jobReport.getJobName());
             finalJobReport.setSystemProperties(jobReport.getSystemProperties()); // works unless partial jobs are run in different JVMs..
@@ -94,20 +94,14 @@ public class DefaultJobReportMerger implements JobReportMerger {
         }
     }
 
-    private void calculateReadRecords(JobReport finalJobReport, JobReport jobReport) {
-        finalJobReport.getMetrics().incrementReadCount(jobReport.getMetrics().getReadCount());
-    }
-
-    private void calculateWrittenRecords(JobReport finalJobReport, JobReport jobReport) {
-        finalJobReport.getMetrics().incrementWriteCount(jobReport.getMetrics().getWriteCount());
-    }
-
-    private void calculateErrorRecords(JobReport finalJobReport, JobReport jobReport) {
-        finalJobReport.getMetrics().incrementErrorCount(jobReport.getMetrics().getErrorCount());
-    }
-
-    private void calculateFilteredRecords(JobReport finalJobReport, JobReport jobReport) {
-        finalJobReport.getMetrics().incrementFilterCount(jobReport.getMetrics().getFilterCount());
+    private void mergeLatencies(JobReport finalJobReport, JobReport jobReport) {
+        JobMetrics metrics = jobReport.getMetrics();
+        finalJobReport.getMetrics().getReadLatency().merge(metrics.getReadLatency());
+        finalJobReport.getMetrics().getProcessLatency().merge(metrics.getProcessLatency());
+        finalJobReport.getMetrics().getWriteLatency().merge(metrics.getWriteLatency());
+        if (jobReport.getParameters() != null && jobReport.getParameters().isLatencyTrackingEnabled()) {
+            finalJobReport.getParameters().setLatencyTrackingEnabled(true);
+        }
     }
 
     private String concatenate(List<String> names) {
@@ -37,6 +37,9 @@ import org.jeasy.batch.core.util.Utils;
 import org.jeasy.batch.core.validator.RecordValidator;
 import org.jeasy.batch.core.writer.RecordWriter;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 /**
  * Batch job builder.
  * This is the main entry point to configure batch jobs.
@@ -177,6 +180,33 @@ public final class JobBuilder<I, O> {
         return this;
     }
 
+    /**
+     * Set the interval at which job report updates are published to JMX listeners.
+     * Updates are only published if records have been processed since the last one.
+     *
+     * @param interval between two JMX notifications. Defaults to {@link JobParameters#DEFAULT_JMX_NOTIFICATION_INTERVAL}
+     * @return the job builder
+     */
+    public JobBuilder<I, O> jmxNotificationInterval(final Duration interval) {
+        Utils.checkNotNull(interval, "JMX notification interval");
+        Utils.checkArgument(!interval.isNegative() && !interval.isZero(), "JMX notification interval must be > 0");
+        parameters.setJmxNotificationInterval(interval);
+        return this;
+    }
+
+    /**
+     * Publish a job report update to JMX listeners every N processed records,
+     * in addition to periodic updates.
+     *
+     * @param records number of processed records between two JMX notifications
+     * @return the job builder
+     */
+    public JobBuilder<I, O> jmxNotificationRecords(final long records) {
+        Utils.checkArgument(records >= 1, "JMX notification records must be >= 1");
+        parameters.setJmxNotificationRecords(records);
+        return this;
+    }
+
     /**
      * Activate batch scanning. When activated, batch scanning will be kicked in
      * when an exception occurs during the batch writing. Records will be attempted
@@ -211,6 +241,168 @@ public final class JobBuilder<I, O> {
         return this;
     }
 
+    /**
+     * Set the number of threads used to process records. When greater than 1,
+     * records of each batch are read sequentially, processed in parallel and
+     * then handed off to the writer in the same order as they were read.
+     *
+     * <p><strong>Record processors and pipeline listeners must be thread-safe
+     * when records are processed in parallel. Remaining records of the current
+     * batch might still be processed when the error threshold is exceeded.</strong></p>
+     *
+     * <p>Since batches are read before being processed, this mode is not supported with
+     * a {@link org.jeasy.batch.core.reader.CursorRecordReader}.</p>
+     *
+     * @param processingThreads the number of processing threads. 1 by default.
+     * @return the job builder
+     */
+    public JobBuilder<I, O> processingThreads(final int processingThreads) {
+        Utils.checkArgument(processingThreads >= 1, "Processing threads must be >= 1");
+        parameters.setProcessingThreads(processingThreads);
+        return this;
+    }
+
+    /**
+     * Activate pipelining. When activated, records are read, processed and written
+     * on separate threads joined by bounded queues of batches, so that the next batch
+     * is read and processed while the current one is being written.
+     *
+     * <p><strong>Listeners are called from the thread of the stage they belong to:
+     * record reader listeners and {@link BatchListener#beforeBatchReading()} from the
+     * reading thread, pipeline listeners and {@link BatchListener#afterBatchProcessing(org.jeasy.batch.core.record.Batch)}
+     * from the processing thread, and writing callbacks from the job's thread.</strong></p>
+     *
+     * <p>Since batches are read before being processed, this mode is not supported with
+     * a {@link org.jeasy.batch.core.reader.CursorRecordReader}.</p>
+     *
+     * @param pipelining true to enable pipelining. False by default.
+     * @return the job builder
+     */
+    public JobBuilder<I, O> enablePipelining(final boolean pipelining) {
+        parameters.setPipeliningEnabled(pipelining);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of batches waiting between two stages when pipelining
+     * is enabled. A stage blocks when its output queue is full.
+     *
+     * @param pipelineQueueCapacity the capacity of queues between stages. 1 by default.
+     * @return the job builder
+     */
+    public JobBuilder<I, O> pipelineQueueCapacity(final int pipelineQueueCapacity) {
+        Utils.checkArgument(pipelineQueueCapacity >= 1, "Pipeline queue capacity must be >= 1");
+        parameters.setPipelineQueueCapacity(pipelineQueueCapacity);
+        return this;
+    }
+
+    /**
+     * Set a timeout after which a partial batch is written. The timeout starts when
+     * the first record of a batch is read. This bounds the latency of records
+     * read from streaming sources without reducing the batch size.
+     *
+     * <p>With a {@link org.jeasy.batch.core.reader.PollableRecordReader}, the batch is
+     * written as soon as the timeout expires. With other readers, the batch is written
+     * once the record being read when the timeout expires is returned by the reader.</p>
+     *
+     * @param batchTimeout the batch timeout
+     * @return the job builder
+     */
+    public JobBuilder<I, O> batchTimeout(final Duration batchTimeout) {
+        Utils.checkNotNull(batchTimeout, "batch timeout");
+        Utils.checkArgument(!batchTimeout.isNegative() && !batchTimeout.isZero(), "Batch timeout must be > 0");
+        parameters.setBatchTimeout(batchTimeout);
+        return this;
+    }
+
+    /**
+     * Activate bulk reading. When activated and the record reader is a
+     * {@link org.jeasy.batch.core.reader.BulkRecordReader}, records are read with
+     * {@link org.jeasy.batch.core.reader.BulkRecordReader#readRecords(int, org.jeasy.batch.core.record.Batch)}
+     * instead of one by one, which amortizes the per-record overhead of reading.
+     *
+     * <p><strong>In this mode, {@link org.jeasy.batch.core.reader.RecordReader#readRecord()} is not
+     * called, so overriding it in a reader has no effect. {@link RecordReaderListener#beforeRecordReading()}
+     * is called once per bulk read, {@link RecordReaderListener#afterRecordReading(org.jeasy.batch.core.record.Record)}
+     * once per record read and once with null when the end of data is reached.</strong></p>
+     *
+     * <p>Bulk reading is not used when a batch timeout is set.</p>
+     *
+     * @param bulkReading true to enable bulk reading. False by default.
+     * @return the job builder
+     */
+    public JobBuilder<I, O> enableBulkReading(final boolean bulkReading) {
+        parameters.setBulkReadingEnabled(bulkReading);
+        return this;
+    }
+
+    /**
+     * Activate latency tracking. When activated, latencies of reading records,
+     * processing records and writing batches are recorded in histograms available
+     * in {@link JobMetrics} and reported with their percentiles in the job report
+     * and through JMX. When not activated, no time is measured at all.
+     *
+     * @param latencyTracking true to enable latency tracking. False by default.
+     * @return the job builder
+     */
+    public JobBuilder<I, O> enableLatencyTracking(final boolean latencyTracking) {
+        parameters.setLatencyTrackingEnabled(latencyTracking);
+        return this;
+    }
+
+    /**
+     * Set a checkpoint journal. The position of the reader is appended to the journal
+     * after each written batch. When the job is restarted after a run that did not
+     * complete, the reader is moved to the last position of the journal, so that
+     * records already written are not read again.
+     *
+     * <p>The record reader must be a {@link org.jeasy.batch.core.reader.SeekableRecordReader}.</p>
+     *
+     * @param journal path of the checkpoint journal file
+     * @return the job builder
+     */
+    public JobBuilder<I, O> checkpointJournal(final Path journal) {
+        Utils.checkNotNull(journal, "checkpoint journal");
+        parameters.setCheckpointJournal(journal);
+        return this;
+    }
+
+    /**
+     * Set the number of checkpoints after which the checkpoint journal is forced
+     * to the storage device. The journal is always forced when the job completes.
+     *
+     * @param syncInterval number of checkpoints between two syncs of the journal.
+     *                     Defaults to {@link JobParameters#DEFAULT_CHECKPOINT_SYNC_INTERVAL}
+     * @return the job builder
+     */
+    public JobBuilder<I, O> checkpointSyncInterval(final int syncInterval) {
+        Utils.checkArgument(syncInterval >= 1, "checkpoint sync interval must be >= 1");
+        parameters.setCheckpointSyncInterval(syncInterval);
+        return this;
+    }
+
+    /**
+     * Activate adaptive batch sizing. When activated, the write latency of each batch
+     * is measured and the size of the next batch is increased or decreased (within the
+     * given bounds) so that writing a batch takes about the target write latency.
+     * The batch size set with {@link JobBuilder#batchSize(int)} is used as initial size.
+     *
+     * @param minBatchSize the minimum batch size
+     * @param maxBatchSize the maximum batch size
+     * @param targetWriteLatency the target latency of writing a batch
+     * @return the job builder
+     */
+    public JobBuilder<I, O> adaptiveBatchSize(final int minBatchSize, final int maxBatchSize, final Duration targetWriteLatency) {
+        Utils.checkArgument(minBatchSize >= 1, "Min batch size must be >= 1");
+        Utils.checkArgument(maxBatchSize >= minBatchSize, "Max batch size must be >= min batch size");
+        Utils.checkNotNull(targetWriteLatency, "target write latency");
+        Utils.checkArgument(!targetWriteLatency.isNegative() && !targetWriteLatency.isZero(), "Target write latency must be > 0");
+        parameters.setMinBatchSize(minBatchSize);
+        parameters.setMaxBatchSize(maxBatchSize);
+        parameters.setTargetWriteLatency(targetWriteLatency);
+        return this;
+    }
+
     /**
      * Register a job listener.
      * See {@link JobListener} for available callback methods.
@@ -24,13 +24,18 @@
 package org.jeasy.batch.core.job;
 
 import org.jeasy.batch.core.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.Runtime.getRuntime;
@@ -46,7 +51,10 @@ import static java.util.concurrent.Executors.newFixedThreadPool;
  */
 public class JobExecutor implements AutoCloseable {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobExecutor.class);
+
     private ExecutorService executorService;
+    private Semaphore permits;
 
     /**
      * Create a job executor. The number of workers will be set to the number of available processors.
@@ -74,6 +82,28 @@ public class JobExecutor implements AutoCloseable {
         this.executorService = executorService;
     }
 
+    private JobExecutor(ExecutorService executorService, int maxConcurrentJobs) {
+        this(executorService);
+        this.permits = new Semaphore(maxConcurrentJobs, true);
+    }
+
+    /**
+     * Create a job executor that runs each job in its own virtual thread.
+     * This is suitable for a large number of jobs that are mostly blocked on I/O
+     * (JMS receive, queue polling, JDBC round-trips, etc).
+     *
+     * Virtual threads are available as of Java 21. On older runtimes, each job
+     * is run in its own platform thread instead.
+     *
+     * @param maxConcurrentJobs maximum number of jobs running at the same time.
+     *                          Jobs submitted beyond this limit wait for a running job to finish.
+     * @return a new job executor
+     */
+    public static JobExecutor newVirtualThreadJobExecutor(int maxConcurrentJobs) {
+        Utils.checkArgument(maxConcurrentJobs >= 1, "Max concurrent jobs must be >= 1");
+        return new JobExecutor(newThreadPerTaskExecutor(), maxConcurrentJobs);
+    }
+
     /**
      * Execute a job synchronously.
      *
@@ -82,7 +112,7 @@ public class JobExecutor implements AutoCloseable {
      */
     public JobReport execute(Job job) {
         try {
-            return executorService.submit(job).get();
+            return executorService.submit(limit(job)).get();
         } catch (InterruptedException | ExecutionException e) {
             throw new RuntimeException("Unable to execute job " + job.getName(), e);
         }
@@ -95,7 +125,7 @@ public class JobExecutor implements AutoCloseable {
      * @return a future of the job report
      */
     public Future<JobReport> submit(Job job) {
-        return executorService.submit(job);
+        return executorService.submit(limit(job));
     }
 
     /**
@@ -116,12 +146,33 @@ public class JobExecutor implements AutoCloseable {
      */
     public List<Future<JobReport>> submitAll(List<Job> jobs) {
         try {
-            return executorService.invokeAll(jobs);
+            return executorService.invokeAll(limit(jobs));
         } catch (InterruptedException e) {
             throw new RuntimeException("Unable to execute jobs", e);
         }
     }
 
+    /**
+     * Execute jobs in parallel and merge their reports, for example jobs processing
+     * partitions of the same data source.
+     *
+     * @param jobs to execute
+     * @param jobReportMerger to merge job reports
+     * @return the merged job report
+     */
+    public JobReport executeAll(List<Job> jobs, JobReportMerger jobReportMerger) {
+        List<Future<JobReport>> futures = submitAll(jobs);
+        JobReport[] jobReports = new JobReport[futures.size()];
+        try {
+            for (int i = 0; i < jobReports.length; i++) {
+                jobReports[i] = futures.get(i).get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Unable to execute jobs", e);
+        }
+        return jobReportMerger.mergerReports(jobReports);
+    }
+
     /**
      * Shutdown the job executor.
      */
@@ -146,4 +197,62 @@ public class JobExecutor implements AutoCloseable {
     public void close() throws IOException {
         this.shutdown();
     }
+
+    private Job limit(Job job) {
+        return permits == null ? job : new ConcurrencyLimitedJob(job, permits);
+    }
+
+    private List<Job> limit(List<Job> jobs) {
+        if (permits == null) {
+            return jobs;
+        }
+        List<Job> limitedJobs = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            limitedJobs.add(limit(job));
+        }
+        return limitedJobs;
+    }
+
+    private static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            LOGGER.warn("Virtual threads are not available on this runtime, jobs will be run in platform threads");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /*
+     * Job decorator that waits for a permit before running the delegate job.
+     */
+    private static class ConcurrencyLimitedJob implements Job {
+
+        private final Job delegate;
+        private final Semaphore permits;
+
+        ConcurrencyLimitedJob(Job delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public JobReport call() {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Job " + delegate.getName() + " was interrupted while waiting to be executed", e);
+            }
+            try {
+                return delegate.call();
+            } finally {
+                permits.release();
+            }
+        }
+    }
 }
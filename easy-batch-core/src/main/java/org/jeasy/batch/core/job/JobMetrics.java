@@ -26,50 +26,82 @@ package org.jeasy.batch.core.job;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Metrics of a job.
  *
+ * Metrics can be safely updated and read from multiple threads while the job is running.
+ * Besides counters, read/write/filter/error rates (in records per second) are measured
+ * over a rolling window of {@link #RATE_WINDOW_SECONDS} seconds.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class JobMetrics implements Serializable {
 
-    private LocalDateTime startTime;
-    private LocalDateTime endTime;
-    private long readCount;
-    private long writeCount;
-    private long filterCount;
-    private long errorCount;
-    private Map<String, Object> customMetrics = new HashMap<>();
+    public static final int RATE_WINDOW_SECONDS = 10;
+
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime endTime;
+    private final LongAdder readCount = new LongAdder();
+    private final LongAdder writeCount = new LongAdder();
+    private final LongAdder filterCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final RateMeter readRate = new RateMeter(RATE_WINDOW_SECONDS);
+    private final RateMeter writeRate = new RateMeter(RATE_WINDOW_SECONDS);
+    private final RateMeter filterRate = new RateMeter(RATE_WINDOW_SECONDS);
+    private final RateMeter errorRate = new RateMeter(RATE_WINDOW_SECONDS);
+    private final LatencyHistogram readLatency = new LatencyHistogram();
+    private final LatencyHistogram processLatency = new LatencyHistogram();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+    private volatile long currentBatchSize;
+    private Map<String, Object> customMetrics = new ConcurrentHashMap<>();
 
     public void incrementFilterCount() {
-        filterCount++;
+        incrementFilterCount(1);
     }
 
     public void incrementFilterCount(long count) {
-        filterCount += count;
+        filterCount.add(count);
+        filterRate.mark(count);
     }
 
     public void incrementErrorCount() {
-        errorCount++;
+        incrementErrorCount(1);
     }
 
     public void incrementErrorCount(long count) {
-        errorCount += count;
+        errorCount.add(count);
+        errorRate.mark(count);
     }
 
     public void incrementReadCount() {
-        readCount++;
+        incrementReadCount(1);
     }
 
     public void incrementReadCount(long count) {
-        readCount += count;
+        readCount.add(count);
+        readRate.mark(count);
     }
 
     public void incrementWriteCount(long count) {
-        writeCount += count;
+        writeCount.add(count);
+        writeRate.mark(count);
+    }
+
+    /**
+     * Add the counters of the given metrics to these metrics, without marking rates:
+     * merged records were not read, written, filtered or rejected during the rate window.
+     *
+     * @param metrics whose counters are added
+     */
+    void addCounts(JobMetrics metrics) {
+        readCount.add(metrics.getReadCount());
+        writeCount.add(metrics.getWriteCount());
+        filterCount.add(metrics.getFilterCount());
+        errorCount.add(metrics.getErrorCount());
     }
 
     public LocalDateTime getStartTime() {
@@ -96,23 +128,113 @@ public class JobMetrics implements Serializable {
     }
 
     public long getFilterCount() {
-        return filterCount;
+        return filterCount.sum();
     }
 
     public long getErrorCount() {
-        return errorCount;
+        return errorCount.sum();
     }
 
     public long getReadCount() {
-        return readCount;
+        return readCount.sum();
     }
 
     public long getWriteCount() {
-        return writeCount;
-    }
-
+        return writeCount.sum();
+    }
+
+    /**
+     * Get the number of records read per second over the last {@link #RATE_WINDOW_SECONDS} seconds.
+     *
+     * @return the read rate
+     */
+    public double getReadRate() {
+        return readRate.getRate();
+    }
+
+    /**
+     * Get the number of records written per second over the last {@link #RATE_WINDOW_SECONDS} seconds.
+     *
+     * @return the write rate
+     */
+    public double getWriteRate() {
+        return writeRate.getRate();
+    }
+
+    /**
+     * Get the number of records filtered per second over the last {@link #RATE_WINDOW_SECONDS} seconds.
+     *
+     * @return the filter rate
+     */
+    public double getFilterRate() {
+        return filterRate.getRate();
+    }
+
+    /**
+     * Get the number of errors per second over the last {@link #RATE_WINDOW_SECONDS} seconds.
+     *
+     * @return the error rate
+     */
+    public double getErrorRate() {
+        return errorRate.getRate();
+    }
+
+    /**
+     * Get the histogram of record reading latencies. Latencies are only recorded
+     * when latency tracking is enabled.
+     *
+     * @return the read latency histogram
+     */
+    public LatencyHistogram getReadLatency() {
+        return readLatency;
+    }
+
+    /**
+     * Get the histogram of record processing latencies. Latencies are only recorded
+     * when latency tracking is enabled.
+     *
+     * @return the process latency histogram
+     */
+    public LatencyHistogram getProcessLatency() {
+        return processLatency;
+    }
+
+    /**
+     * Get the histogram of batch writing latencies. Latencies are only recorded
+     * when latency tracking is enabled.
+     *
+     * @return the write latency histogram
+     */
+    public LatencyHistogram getWriteLatency() {
+        return writeLatency;
+    }
+
+    /**
+     * Get the size of the next batch to read. This may change during job execution
+     * when adaptive batch sizing is enabled.
+     *
+     * @return the current batch size
+     */
+    public long getCurrentBatchSize() {
+        return currentBatchSize;
+    }
+
+    public void setCurrentBatchSize(long currentBatchSize) {
+        this.currentBatchSize = currentBatchSize;
+    }
+
+    /**
+     * Add a custom metric. A {@code null} value removes the metric.
+     *
+     * @param name of the metric
+     * @param value of the metric
+     */
     public void addMetric(String name, Object value) {
-        customMetrics.put(name, value);
+        if (value == null) {
+            customMetrics.remove(name);
+        } else {
+            customMetrics.put(name, value);
+        }
     }
 
     public Map<String, Object> getCustomMetrics() {
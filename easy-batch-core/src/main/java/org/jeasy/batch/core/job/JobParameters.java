@@ -24,6 +24,9 @@
 package org.jeasy.batch.core.job;
 
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * Parameters of a job.
@@ -35,15 +38,38 @@ public class JobParameters implements Serializable {
     public static final String DEFAULT_JOB_NAME = "job";
     public static final long DEFAULT_ERROR_THRESHOLD = Long.MAX_VALUE;
     public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_PROCESSING_THREADS = 1;
+    public static final int DEFAULT_PIPELINE_QUEUE_CAPACITY = 1;
+    public static final Duration DEFAULT_JMX_NOTIFICATION_INTERVAL = Duration.ofSeconds(1);
+    public static final long DEFAULT_JMX_NOTIFICATION_RECORDS = 0;
+    public static final int DEFAULT_CHECKPOINT_SYNC_INTERVAL = 10;
 
     private long errorThreshold;
     private boolean jmxMonitoring;
+    private Duration jmxNotificationInterval;
+    private long jmxNotificationRecords;
     private int batchSize;
     private boolean batchScanningEnabled;
+    private int processingThreads;
+    private boolean pipeliningEnabled;
+    private int pipelineQueueCapacity;
+    private int minBatchSize;
+    private int maxBatchSize;
+    private Duration targetWriteLatency;
+    private Duration batchTimeout;
+    private boolean latencyTrackingEnabled;
+    private boolean bulkReadingEnabled;
+    private String checkpointJournal; // String since Path is not serializable
+    private int checkpointSyncInterval;
 
     public JobParameters() {
         this.errorThreshold = DEFAULT_ERROR_THRESHOLD;
         this.batchSize = DEFAULT_BATCH_SIZE;
+        this.processingThreads = DEFAULT_PROCESSING_THREADS;
+        this.pipelineQueueCapacity = DEFAULT_PIPELINE_QUEUE_CAPACITY;
+        this.jmxNotificationInterval = DEFAULT_JMX_NOTIFICATION_INTERVAL;
+        this.jmxNotificationRecords = DEFAULT_JMX_NOTIFICATION_RECORDS;
+        this.checkpointSyncInterval = DEFAULT_CHECKPOINT_SYNC_INTERVAL;
     }
 
     public long getErrorThreshold() {
@@ -62,6 +88,22 @@ public class JobParameters implements Serializable {
         this.jmxMonitoring = jmxMonitoring;
     }
 
+    public Duration getJmxNotificationInterval() {
+        return jmxNotificationInterval;
+    }
+
+    public void setJmxNotificationInterval(Duration jmxNotificationInterval) {
+        this.jmxNotificationInterval = jmxNotificationInterval;
+    }
+
+    public long getJmxNotificationRecords() {
+        return jmxNotificationRecords;
+    }
+
+    public void setJmxNotificationRecords(long jmxNotificationRecords) {
+        this.jmxNotificationRecords = jmxNotificationRecords;
+    }
+
     public int getBatchSize() {
         return batchSize;
     }
@@ -77,4 +119,96 @@ public class JobParameters implements Serializable {
     public void setBatchScanningEnabled(boolean batchScanningEnabled) {
         this.batchScanningEnabled = batchScanningEnabled;
     }
+
+    public int getProcessingThreads() {
+        return processingThreads;
+    }
+
+    public void setProcessingThreads(int processingThreads) {
+        this.processingThreads = processingThreads;
+    }
+
+    public boolean isPipeliningEnabled() {
+        return pipeliningEnabled;
+    }
+
+    public void setPipeliningEnabled(boolean pipeliningEnabled) {
+        this.pipeliningEnabled = pipeliningEnabled;
+    }
+
+    public int getPipelineQueueCapacity() {
+        return pipelineQueueCapacity;
+    }
+
+    public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+        this.pipelineQueueCapacity = pipelineQueueCapacity;
+    }
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    public void setMinBatchSize(int minBatchSize) {
+        this.minBatchSize = minBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getTargetWriteLatency() {
+        return targetWriteLatency;
+    }
+
+    public void setTargetWriteLatency(Duration targetWriteLatency) {
+        this.targetWriteLatency = targetWriteLatency;
+    }
+
+    public boolean isAdaptiveBatchSizingEnabled() {
+        return targetWriteLatency != null;
+    }
+
+    public Duration getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    public void setBatchTimeout(Duration batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    public boolean isLatencyTrackingEnabled() {
+        return latencyTrackingEnabled;
+    }
+
+    public void setLatencyTrackingEnabled(boolean latencyTrackingEnabled) {
+        this.latencyTrackingEnabled = latencyTrackingEnabled;
+    }
+
+    public boolean isBulkReadingEnabled() {
+        return bulkReadingEnabled;
+    }
+
+    public void setBulkReadingEnabled(boolean bulkReadingEnabled) {
+        this.bulkReadingEnabled = bulkReadingEnabled;
+    }
+
+    public Path getCheckpointJournal() {
+        return checkpointJournal == null ? null : Paths.get(checkpointJournal);
+    }
+
+    public void setCheckpointJournal(Path checkpointJournal) {
+        this.checkpointJournal = checkpointJournal == null ? null : checkpointJournal.toString();
+    }
+
+    public int getCheckpointSyncInterval() {
+        return checkpointSyncInterval;
+    }
+
+    public void setCheckpointSyncInterval(int checkpointSyncInterval) {
+        this.checkpointSyncInterval = checkpointSyncInterval;
+    }
 }
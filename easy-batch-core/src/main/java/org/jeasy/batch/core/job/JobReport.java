@@ -59,8 +59,8 @@ public class JobReport implements Serializable {
     private String jobName;
     private JobParameters parameters;
     private JobMetrics metrics;
-    private JobStatus status;
-    private Throwable lastError;
+    private volatile JobStatus status;
+    private volatile Throwable lastError;
     private Properties systemProperties;
 
     public String getJobName() {
@@ -129,6 +129,22 @@ public class JobReport implements Serializable {
                 metrics.getErrorCount());
 
         final StringBuilder sb = new StringBuilder(baseReport);
+        if (parameters.isAdaptiveBatchSizingEnabled()) {
+            sb.append(Utils.LINE_SEPARATOR).append("\t")
+                    .append("Current batch size = ").append(metrics.getCurrentBatchSize())
+                    .append(" (min = ").append(parameters.getMinBatchSize())
+                    .append(", max = ").append(parameters.getMaxBatchSize())
+                    .append(", target write latency = ").append(Utils.formatDuration(parameters.getTargetWriteLatency()))
+                    .append(")");
+        }
+        if (parameters.isLatencyTrackingEnabled()) {
+            sb.append(Utils.LINE_SEPARATOR).append("\t")
+                    .append("Read latency: ").append(metrics.getReadLatency());
+            sb.append(Utils.LINE_SEPARATOR).append("\t")
+                    .append("Process latency: ").append(metrics.getProcessLatency());
+            sb.append(Utils.LINE_SEPARATOR).append("\t")
+                    .append("Write latency: ").append(metrics.getWriteLatency());
+        }
         // append custom metrics
         for (Map.Entry<String, Object> customMetric : metrics.getCustomMetrics().entrySet()) {
             sb.append(Utils.LINE_SEPARATOR).append("\t")
@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds.
+ *
+ * Values are counted in log-linear buckets: each power of two is split in
+ * {@value #SUB_BUCKETS} sub-buckets, so percentiles are reported with a relative
+ * error below 7% whatever the magnitude of values. The maximum value is exact.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class LatencyHistogram implements Serializable {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency.
+     *
+     * @param latency in nanoseconds
+     */
+    public void record(long latency) {
+        record(latency, 1);
+    }
+
+    /**
+     * Record the same latency multiple times.
+     *
+     * @param latency in nanoseconds
+     * @param times number of occurrences of the latency
+     */
+    public void record(long latency, long times) {
+        if (times <= 0) {
+            return;
+        }
+        long value = Math.max(0, latency);
+        counts.addAndGet(bucketIndex(value), times);
+        count.addAndGet(times);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add values recorded by another histogram to this one.
+     *
+     * @param histogram to merge in this histogram
+     */
+    public void merge(LatencyHistogram histogram) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = histogram.counts.get(i);
+            if (bucketCount > 0) {
+                counts.addAndGet(i, bucketCount);
+            }
+        }
+        count.addAndGet(histogram.getCount());
+        max.accumulateAndGet(histogram.getMax(), Math::max);
+    }
+
+    /**
+     * Get the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the maximum recorded latency.
+     *
+     * @return the maximum latency in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the latency under which the given percentage of recorded latencies fall.
+     *
+     * @param percentile between 0 and 100
+     * @return the latency in nanoseconds, or 0 if no latency has been recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+        return "p50 = " + formatLatency(getPercentile(50)) +
+                ", p90 = " + formatLatency(getPercentile(90)) +
+                ", p99 = " + formatLatency(getPercentile(99)) +
+                ", max = " + formatLatency(getMax());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static String formatLatency(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000d);
+        }
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000d);
+    }
+}
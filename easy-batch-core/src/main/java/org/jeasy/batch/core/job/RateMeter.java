@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free meter of the rate of events per second over a rolling window.
+ *
+ * Events are counted in one bucket per second. Buckets are recycled in a ring
+ * when the window moves forward, so the rate is approximate when events are
+ * counted concurrently with a bucket being recycled.
+ */
+class RateMeter implements Serializable {
+
+    private final int windowSeconds;
+    private final long startSecond;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray seconds;
+
+    RateMeter(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+        this.startSecond = currentSecond();
+        this.counts = new AtomicLongArray(windowSeconds);
+        this.seconds = new AtomicLongArray(windowSeconds);
+        for (int i = 0; i < windowSeconds; i++) {
+            seconds.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    void mark(long count) {
+        long second = currentSecond();
+        int bucket = (int) Math.floorMod(second, (long) windowSeconds);
+        long bucketSecond = seconds.get(bucket);
+        if (bucketSecond != second && seconds.compareAndSet(bucket, bucketSecond, second)) {
+            counts.set(bucket, 0);
+        }
+        counts.addAndGet(bucket, count);
+    }
+
+    /**
+     * @return the number of events per second over the rolling window
+     */
+    double getRate() {
+        long second = currentSecond();
+        long total = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (second - seconds.get(i) < windowSeconds) {
+                total += counts.get(i);
+            }
+        }
+        long elapsedSeconds = Math.min(windowSeconds, second - startSecond + 1);
+        return (double) total / elapsedSeconds;
+    }
+
+    private static long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+    }
+}
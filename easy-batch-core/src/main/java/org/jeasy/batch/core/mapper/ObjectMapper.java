@@ -45,36 +45,47 @@ import org.jeasy.batch.core.converter.SqlTimeTypeConverter;
 import org.jeasy.batch.core.converter.SqlTimestampTypeConverter;
 import org.jeasy.batch.core.converter.StringTypeConverter;
 import org.jeasy.batch.core.converter.TypeConverter;
+import org.jeasy.batch.core.util.BeanMetadata;
 import org.jeasy.batch.core.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
 
 /**
  * A helper class that maps the payload of a record to a domain object instance.
  *
+ * Setters of the target type are compiled once and shared through {@link BeanMetadata}, and
+ * values can be mapped by field name with {@link #mapObject(Map)}, or by index with
+ * {@link #mapObject(String[])} after binding field names to indexes with
+ * {@link #setFieldNames(String...)}.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class ObjectMapper<T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectMapper.class.getName());
+    private static final Map<Class<?>, TypeConverter<String, ?>> DEFAULT_TYPE_CONVERTERS = defaultTypeConverters();
 
     private Class<T> objectType;
-    private Map<String, Method> setters;
+    private BeanMetadata metadata;
+    private Supplier<T> constructor;
     private Map<Class<?>, TypeConverter<String, ?>> typeConverters;
+    private Map<String, FieldBinder> binders;
+    private String[] fieldNames;
+    private FieldBinder[] indexedBinders;
 
     /**
      * Create a new {@link ObjectMapper}.
@@ -83,8 +94,9 @@ public class ObjectMapper<T> {
      */
     public ObjectMapper(final Class<T> objectType) {
         this.objectType = objectType;
-        initializeTypeConverters();
-        initializeSetters();
+        this.metadata = BeanMetadata.of(objectType);
+        this.typeConverters = new HashMap<>(DEFAULT_TYPE_CONVERTERS);
+        initializeBinders();
     }
 
     /**
@@ -102,79 +114,114 @@ public class ObjectMapper<T> {
         for (Map.Entry<String, String> entry : values.entrySet()) {
 
             String field = entry.getKey();
-            //get field raw value
-            String value = values.get(field);
-
-            Method setter = setters.get(field);
-            if (setter == null) {
-                LOGGER.warn("No public setter found for field {}, this field will be set to null (if object type) or default value (if primitive type)", field);
+            FieldBinder binder = binders.get(field);
+            if (binder == null) {
+                warnUnboundField(field);
                 continue;
             }
+            binder.bind(result, entry.getValue());
 
-            Class<?> type = setter.getParameterTypes()[0];
-            TypeConverter<String, ?> typeConverter = typeConverters.get(type);
-            if (typeConverter == null) {
-                LOGGER.warn(
-                        "Type conversion not supported for type {}, field {} will be set to null (if object type) or default value (if primitive type)",
-                        type, field);
-                continue;
-            }
+        }
 
-            if (value == null) {
-                LOGGER.warn("Attempting to convert null to type {} for field {}, this field will be set to null (if object type) or default value (if primitive type)", type, field);
-                continue;
-            }
+        return result;
+    }
 
-            if (value.isEmpty()) {
-                LOGGER.debug("Attempting to convert an empty string to type {} for field {}, this field will be ignored", type, field);
-                continue;
-            }
+    /**
+     * Map values to fields of the target object type by index. The value at index {@code i}
+     * is mapped to the field named {@code fieldNames[i]}, as set with {@link #setFieldNames(String...)}.
+     * Values without a field name or beyond the last field name are ignored.
+     *
+     * @param values fields values
+     * @return A populated instance of the target type.
+     * @throws Exception if values cannot be mapped to target object fields
+     */
+    public T mapObject(final String[] values) throws Exception {
+        if (indexedBinders == null) {
+            throw new IllegalStateException("Field names must be set before mapping values by index");
+        }
 
-            convertValue(result, field, value, setter, type, typeConverter);
+        T result = createInstance();
 
+        int length = Math.min(values.length, indexedBinders.length);
+        for (int i = 0; i < length; i++) {
+            FieldBinder binder = indexedBinders[i];
+            if (binder != null) {
+                binder.bind(result, values[i]);
+            }
         }
 
         return result;
     }
 
-    private void initializeSetters() {
-        setters = new HashMap<>();
-        try {
-            BeanInfo beanInfo = Introspector.getBeanInfo(objectType);
-            PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
-            getSetters(propertyDescriptors);
-        } catch (IntrospectionException e) {
-            throw new BeanIntrospectionException("Unable to introspect target type " + objectType.getName(), e);
+    /**
+     * Set names of fields mapped by index with {@link #mapObject(String[])}. A null
+     * name means that values at this index are ignored.
+     *
+     * @param fieldNames fields names, in the same order as values
+     */
+    public void setFieldNames(final String... fieldNames) {
+        this.fieldNames = fieldNames.clone();
+        initializeIndexedBinders();
+    }
+
+    private void initializeBinders() {
+        binders = new HashMap<>();
+        for (PropertyDescriptor propertyDescriptor : metadata.getProperties().values()) {
+            Method setter = propertyDescriptor.getWriteMethod();
+            if (setter == null) {
+                continue;
+            }
+            String field = propertyDescriptor.getName();
+            Class<?> type = setter.getParameterTypes()[0];
+            TypeConverter<String, ?> typeConverter = typeConverters.get(type);
+            if (typeConverter != null) {
+                binders.put(field, new FieldBinder(field, type, metadata.getSetter(field), typeConverter));
+            }
         }
     }
 
-    private void getSetters(PropertyDescriptor[] propertyDescriptors) {
-        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-            setters.put(propertyDescriptor.getName(), propertyDescriptor.getWriteMethod());
+    private void initializeIndexedBinders() {
+        if (fieldNames == null) {
+            return;
+        }
+        indexedBinders = new FieldBinder[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            String field = fieldNames[i];
+            if (field == null) {
+                continue;
+            }
+            indexedBinders[i] = binders.get(field);
+            if (indexedBinders[i] == null) {
+                warnUnboundField(field);
+            }
         }
-        //exclude property "class"
-        setters.remove("class");
     }
 
-    private T createInstance() throws Exception {
-        try {
-            return objectType.newInstance();
-        } catch (Exception e) {
-            throw new Exception(format("Unable to create a new instance of target type %s", objectType.getName()), e);
+    private void warnUnboundField(String field) {
+        PropertyDescriptor propertyDescriptor = metadata.getProperties().get(field);
+        Method setter = propertyDescriptor == null ? null : propertyDescriptor.getWriteMethod();
+        if (setter == null) {
+            LOGGER.warn("No public setter found for field {}, this field will be set to null (if object type) or default value (if primitive type)", field);
+        } else {
+            LOGGER.warn(
+                    "Type conversion not supported for type {}, field {} will be set to null (if object type) or default value (if primitive type)",
+                    setter.getParameterTypes()[0], field);
         }
     }
 
-    private void convertValue(Object result, String field, String value, Method setter, Class<?> type, TypeConverter<String, ?> typeConverter) throws Exception {
+    private T createInstance() throws Exception {
         try {
-            Object typedValue = typeConverter.convert(value);
-            setter.invoke(result, typedValue);
+            if (constructor == null) {
+                constructor = metadata.getConstructor();
+            }
+            return constructor.get();
         } catch (Exception e) {
-            throw new Exception(format("Unable to convert %s to type %s for field %s", value, type, field), e);
+            throw new Exception(format("Unable to create a new instance of target type %s", objectType.getName()), e);
         }
     }
 
-    private void initializeTypeConverters() {
-        typeConverters = new HashMap<>();
+    private static Map<Class<?>, TypeConverter<String, ?>> defaultTypeConverters() {
+        Map<Class<?>, TypeConverter<String, ?>> typeConverters = new HashMap<>();
         typeConverters.put(AtomicInteger.class, new AtomicIntegerTypeConverter());
         typeConverters.put(AtomicLong.class, new AtomicLongTypeConverter());
         typeConverters.put(BigDecimal.class, new BigDecimalTypeConverter());
@@ -205,6 +252,7 @@ public class ObjectMapper<T> {
         typeConverters.put(java.time.LocalTime.class, new LocalTimeConverter());
         typeConverters.put(java.time.LocalDateTime.class, new LocalDateTimeConverter());
         typeConverters.put(String.class, new StringTypeConverter());
+        return Collections.unmodifiableMap(typeConverters);
     }
 
     /**
@@ -220,6 +268,45 @@ public class ObjectMapper<T> {
             throw new TypeConverterRegistrationException("Unable to register custom type converter " + typeConverter.getClass().getName(), e);
         }
         typeConverters.put(clazz, typeConverter);
+        initializeBinders();
+        initializeIndexedBinders();
+    }
+
+    /**
+     * Converts a raw value and sets it on a target object with a compiled setter.
+     */
+    private static class FieldBinder {
+
+        private final String field;
+        private final Class<?> type;
+        private final BiConsumer<Object, Object> setter;
+        private final TypeConverter<String, ?> typeConverter;
+
+        FieldBinder(String field, Class<?> type, BiConsumer<Object, Object> setter, TypeConverter<String, ?> typeConverter) {
+            this.field = field;
+            this.type = type;
+            this.setter = setter;
+            this.typeConverter = typeConverter;
+        }
+
+        void bind(Object result, String value) throws Exception {
+            if (value == null) {
+                LOGGER.warn("Attempting to convert null to type {} for field {}, this field will be set to null (if object type) or default value (if primitive type)", type, field);
+                return;
+            }
+
+            if (value.isEmpty()) {
+                LOGGER.debug("Attempting to convert an empty string to type {} for field {}, this field will be ignored", type, field);
+                return;
+            }
+
+            try {
+                Object typedValue = typeConverter.convert(value);
+                setter.accept(result, typedValue);
+            } catch (Exception e) {
+                throw new Exception(format("Unable to convert %s to type %s for field %s", value, type, field), e);
+            }
+        }
     }
 
 }
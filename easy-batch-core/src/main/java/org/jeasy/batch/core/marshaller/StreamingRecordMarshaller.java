@@ -0,0 +1,56 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.marshaller;
+
+import java.io.Writer;
+
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.writer.StreamingFileRecordWriter;
+
+/**
+ * A marshaller that writes the representation of a record directly to a {@link Writer}
+ * instead of creating an intermediate record holding it.
+ *
+ * This is used by writers like {@link StreamingFileRecordWriter} to marshal records
+ * right into their output buffer.
+ *
+ * @param <P> the type of record's payload to marshal
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@FunctionalInterface
+public interface StreamingRecordMarshaller<P> {
+
+    /**
+     * Marshal a record to the given writer.
+     *
+     * Implementations must not write a line separator after the record, nor
+     * flush or close the writer.
+     *
+     * @param record to marshal
+     * @param writer to write the marshalled record to
+     * @throws Exception if an error occurs during record marshalling
+     */
+    void marshalRecord(Record<P> record, Writer writer) throws Exception;
+
+}
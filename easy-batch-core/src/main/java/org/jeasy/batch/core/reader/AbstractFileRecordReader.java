@@ -23,12 +23,20 @@
  */
 package org.jeasy.batch.core.reader;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
+import org.jeasy.batch.core.util.Compression;
+
 /**
  * Abstract class for all file readers.
  *
+ * Compressed files are decompressed on the fly. The compression of a file is detected
+ * from its extension or its first bytes, unless set with {@link #setCompression(Compression)}.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
@@ -36,6 +44,7 @@ public abstract class AbstractFileRecordReader<P> implements RecordReader<P> {
 
     protected Path path;
     protected Charset charset;
+    protected Compression compression;
 
     /**
      * @param path to read data from
@@ -60,4 +69,38 @@ public abstract class AbstractFileRecordReader<P> implements RecordReader<P> {
     public Charset getCharset() {
         return charset;
     }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Set the compression of the input file instead of detecting it.
+     *
+     * @param compression of the input file
+     */
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Get the compression of the input file, as set or detected.
+     *
+     * @return the compression of the input file
+     * @throws IOException if the file cannot be read
+     */
+    protected Compression resolveCompression() throws IOException {
+        return compression != null ? compression : Compression.detect(path);
+    }
+
+    /**
+     * Open a stream of the (decompressed) content of the input file.
+     *
+     * @return a stream of the content of the input file
+     * @throws IOException if the file cannot be opened
+     */
+    protected InputStream openInputStream() throws IOException {
+        Compression fileCompression = resolveCompression();
+        return fileCompression.decompress(new FileInputStream(path.toFile()));
+    }
 }
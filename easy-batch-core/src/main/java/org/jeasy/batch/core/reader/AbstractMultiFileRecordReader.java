@@ -28,8 +28,14 @@ import org.jeasy.batch.core.record.Record;
 
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Template class for multi-files record readers.
@@ -38,6 +44,11 @@ import java.util.List;
  *
  * Using multi-files readers assumes <strong>all files have the same format</strong>.
  *
+ * By default, the next file is opened when the current one is entirely read. With
+ * {@link #setPrefetch(int)}, next files are opened on background threads and their
+ * first record is read while the current file is consumed, so that switching files
+ * does not wait for the file system or for parsers initialization.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
@@ -48,6 +59,10 @@ public abstract class AbstractMultiFileRecordReader<P> implements RecordReader<P
     protected AbstractFileRecordReader<P> delegate;
     protected Iterator<Path> iterator;
     protected Charset charset;
+    private int prefetch;
+    private ExecutorService executorService;
+    private Deque<PrefetchedReader<P>> prefetchedReaders;
+    private Future<Record<P>> firstRecord;
 
     /**
      * Create a new multi-file record reader.
@@ -71,9 +86,30 @@ public abstract class AbstractMultiFileRecordReader<P> implements RecordReader<P
         this.charset = charset;
     }
 
+    /**
+     * Set the number of files to open ahead of the current file on background threads.
+     *
+     * @param prefetch number of files to open ahead, 0 (the default) to disable prefetching
+     */
+    public void setPrefetch(int prefetch) {
+        Utils.checkArgument(prefetch >= 0, "prefetch must be >= 0");
+        this.prefetch = prefetch;
+    }
+
     @Override
     public void open() throws Exception {
         iterator = files.iterator();
+        if (prefetch > 0) {
+            executorService = Executors.newFixedThreadPool(prefetch, runnable -> {
+                Thread thread = new Thread(runnable, "multi-file-prefetcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            prefetchedReaders = new ArrayDeque<>(prefetch + 1);
+            prefetchFiles();
+            nextPrefetchedReader();
+            return;
+        }
         currentFile = iterator.next();
         if (currentFile != null) {
             delegate = createReader();
@@ -86,10 +122,14 @@ public abstract class AbstractMultiFileRecordReader<P> implements RecordReader<P
         if (delegate == null) {
             return null;
         }
-        Record<P> record = delegate.readRecord();
+        Record<P> record = firstRecord != null ? getFirstRecord() : delegate.readRecord();
         if (record == null) { // finished reading the current file, jump to next file
             delegate.close();
-            if (iterator.hasNext()) {
+            if (prefetch > 0) {
+                if (nextPrefetchedReader()) {
+                    return readRecord();
+                }
+            } else if (iterator.hasNext()) {
                 currentFile = iterator.next();
                 delegate = createReader();
                 delegate.open();
@@ -101,10 +141,104 @@ public abstract class AbstractMultiFileRecordReader<P> implements RecordReader<P
 
     @Override
     public void close() throws Exception {
-        if (delegate != null) {
-            delegate.close();
+        try {
+            if (firstRecord != null) { // the current reader might still be opening in the background
+                awaitQuietly(firstRecord);
+                firstRecord = null;
+            }
+            if (delegate != null) {
+                delegate.close();
+            }
+        } finally {
+            if (executorService != null) {
+                closePrefetchedReaders();
+                executorService.shutdownNow();
+                executorService = null;
+            }
         }
     }
 
     protected abstract AbstractFileRecordReader<P> createReader() throws Exception;
+
+    private void prefetchFiles() throws Exception {
+        while (prefetchedReaders.size() < prefetch && iterator.hasNext()) {
+            Path file = iterator.next();
+            AbstractFileRecordReader<P> reader = createReader(file);
+            Future<Record<P>> record = executorService.submit(() -> {
+                reader.open();
+                return reader.readRecord();
+            });
+            prefetchedReaders.add(new PrefetchedReader<>(file, reader, record));
+        }
+    }
+
+    private boolean nextPrefetchedReader() throws Exception {
+        PrefetchedReader<P> next = prefetchedReaders.poll();
+        if (next == null) {
+            return false;
+        }
+        currentFile = next.file;
+        delegate = next.reader;
+        firstRecord = next.firstRecord;
+        prefetchFiles();
+        return true;
+    }
+
+    private Record<P> getFirstRecord() throws Exception {
+        Future<Record<P>> record = firstRecord;
+        firstRecord = null;
+        try {
+            return record.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    // createReader() creates a reader for the current file, so the current file is switched while creating it
+    private AbstractFileRecordReader<P> createReader(Path file) throws Exception {
+        Path current = currentFile;
+        currentFile = file;
+        try {
+            return createReader();
+        } finally {
+            currentFile = current;
+        }
+    }
+
+    // readers are closed whatever the outcome of prefetching, since a reader may hold resources even if it failed to open or read
+    private void closePrefetchedReaders() {
+        PrefetchedReader<P> prefetchedReader;
+        while ((prefetchedReader = prefetchedReaders.poll()) != null) {
+            awaitQuietly(prefetchedReader.firstRecord);
+            try {
+                prefetchedReader.reader.close();
+            } catch (Exception e) {
+                // the reader is not used anymore
+            }
+        }
+    }
+
+    private static void awaitQuietly(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // the reader is closed anyway
+        }
+    }
+
+    private static class PrefetchedReader<P> {
+
+        private final Path file;
+        private final AbstractFileRecordReader<P> reader;
+        private final Future<Record<P>> firstRecord;
+
+        PrefetchedReader(Path file, AbstractFileRecordReader<P> reader, Future<Record<P>> firstRecord) {
+            this.file = file;
+            this.reader = reader;
+            this.firstRecord = firstRecord;
+        }
+    }
 }
@@ -23,23 +23,32 @@
  */
 package org.jeasy.batch.core.reader;
 
+import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.Record;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
  * A {@link RecordReader} that reads record from a {@link BlockingQueue}.
  *
+ * The end of data is reached when no record has been put in the queue for
+ * the given timeout (defaults to {@link #DEFAULT_TIMEOUT}).
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
-public class BlockingQueueRecordReader<P> implements RecordReader<P> {
+public class BlockingQueueRecordReader<P> implements PollableRecordReader<P>, BulkRecordReader<P> {
 
     public static final long DEFAULT_TIMEOUT = 60000;
 
     private BlockingQueue<Record<P>> queue;
     private long timeout;
+    private long lastRecordTime;
+    private boolean endOfStream;
+    private List<Record<P>> drainedRecords = new ArrayList<>();
 
     /**
      * Create a new {@link BlockingQueueRecordReader}.
@@ -59,11 +68,67 @@ public class BlockingQueueRecordReader<P> implements RecordReader<P> {
     public BlockingQueueRecordReader(final BlockingQueue<Record<P>> queue, final long timeout) {
         this.queue = queue;
         this.timeout = timeout;
+        this.lastRecordTime = System.nanoTime();
+    }
+
+    @Override
+    public void open() {
+        lastRecordTime = System.nanoTime();
+        endOfStream = false;
     }
 
     @Override
     public Record<P> readRecord() throws Exception {
-        return queue.poll(timeout, TimeUnit.MILLISECONDS); // returns null after timeout (See javadoc)
+        Record<P> record = queue.poll(timeout, TimeUnit.MILLISECONDS); // returns null after timeout (See javadoc)
+        return onRecord(record, true);
+    }
+
+    @Override
+    public Record<P> pollRecord(long timeout, TimeUnit unit) throws Exception {
+        long idleTime = TimeUnit.MILLISECONDS.toNanos(this.timeout) - (System.nanoTime() - lastRecordTime);
+        long waitTime = Math.max(0, Math.min(unit.toNanos(timeout), idleTime));
+        Record<P> record = queue.poll(waitTime, TimeUnit.NANOSECONDS);
+        return onRecord(record, waitTime == idleTime || idleTime <= 0);
+    }
+
+    /**
+     * Drain available records from the queue. If no record is available,
+     * wait for the next one as {@link #readRecord()} does.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public int readRecords(int maxRecords, Batch<P> batch) throws Exception {
+        queue.drainTo(drainedRecords, maxRecords);
+        if (drainedRecords.isEmpty()) {
+            Record<P> record = readRecord();
+            if (record == null) {
+                return 0;
+            }
+            batch.addRecord(record);
+            return 1;
+        }
+        int count = drainedRecords.size();
+        for (Record<P> record : drainedRecords) {
+            batch.addRecord(record);
+        }
+        drainedRecords.clear();
+        lastRecordTime = System.nanoTime();
+        return count;
+    }
+
+    @Override
+    public boolean isEndOfStream() {
+        return endOfStream;
+    }
+
+    private Record<P> onRecord(Record<P> record, boolean idleTimeoutExpired) {
+        if (record != null) {
+            lastRecordTime = System.nanoTime();
+        } else if (idleTimeoutExpired) {
+            endOfStream = true;
+        }
+        return record;
     }
 
 }
@@ -0,0 +1,56 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.reader;
+
+import org.jeasy.batch.core.record.Batch;
+
+/**
+ * A {@link RecordReader} that is able to read several records at once.
+ * When bulk reading is enabled (see {@link org.jeasy.batch.core.job.JobBuilder#enableBulkReading(boolean)}),
+ * jobs read records in bulk from such readers, which amortizes the per-record
+ * overhead of reading (virtual calls, listener dispatch, header creation, etc).
+ *
+ * <p>When records are read in bulk, {@link org.jeasy.batch.core.listener.RecordReaderListener#beforeRecordReading()}
+ * is called once before each call to {@link #readRecords(int, Batch)}, and
+ * {@link org.jeasy.batch.core.listener.RecordReaderListener#afterRecordReading(org.jeasy.batch.core.record.Record)}
+ * is called for each record read and with null when the end of data is reached.</p>
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public interface BulkRecordReader<P> extends RecordReader<P> {
+
+    /**
+     * Read up to {@code maxRecords} next records from the data source and add them to the given batch.
+     * This method may read less than {@code maxRecords} records even if the end of the data source
+     * has not been reached yet.
+     *
+     * @param maxRecords maximum number of records to read
+     * @param batch to add records to
+     * @return the number of records read, or 0 if the end of the data source is reached
+     * @throws Exception if an error occurs during reading records
+     */
+    int readRecords(int maxRecords, Batch<P> batch) throws Exception;
+
+}
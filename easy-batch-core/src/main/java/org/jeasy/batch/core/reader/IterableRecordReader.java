@@ -24,6 +24,7 @@
 package org.jeasy.batch.core.reader;
 
 import org.jeasy.batch.core.util.Utils;
+import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.GenericRecord;
 import org.jeasy.batch.core.record.Header;
 
@@ -38,7 +39,7 @@ import java.util.Iterator;
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
-public class IterableRecordReader<P> implements RecordReader<P> {
+public class IterableRecordReader<P> implements BulkRecordReader<P>, SeekableRecordReader<P> {
 
     private long currentRecordNumber;
     private Iterator<P> iterator;
@@ -60,14 +61,50 @@ public class IterableRecordReader<P> implements RecordReader<P> {
 
     @Override
     public GenericRecord<P> readRecord() {
-        Header header = new Header(++currentRecordNumber, getDataSourceName(), LocalDateTime.now());
         if (iterator.hasNext()) {
+            Header header = new Header(++currentRecordNumber, getDataSourceName(), LocalDateTime.now());
             return new GenericRecord<>(header, iterator.next());
         } else {
             return null;
         }
     }
 
+    @Override
+    public int readRecords(int maxRecords, Batch<P> batch) {
+        LocalDateTime creationDate = LocalDateTime.now();
+        int count = 0;
+        while (count < maxRecords && iterator.hasNext()) {
+            Header header = new Header(++currentRecordNumber, getDataSourceName(), creationDate);
+            batch.addRecord(new GenericRecord<>(header, iterator.next()));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The position is the number of the last record read.
+     */
+    @Override
+    public String getPosition() {
+        return String.valueOf(currentRecordNumber);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Elements of the iterable are skipped up to the given record number.
+     */
+    @Override
+    public void seek(String position) {
+        long recordNumber = Long.parseLong(position);
+        while (currentRecordNumber < recordNumber && iterator.hasNext()) {
+            iterator.next();
+            currentRecordNumber++;
+        }
+    }
+
     private String getDataSourceName() {
         return "In-Memory Iterable";
     }
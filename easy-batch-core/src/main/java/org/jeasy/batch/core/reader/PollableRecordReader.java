@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.reader;
+
+import org.jeasy.batch.core.record.Record;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RecordReader} of a streaming data source that is able to tell
+ * "no record right now" apart from "end of data".
+ *
+ * <p>{@link RecordReader#readRecord()} returns {@code null} only at the end of data,
+ * while {@link #pollRecord(long, TimeUnit)} returns {@code null} when no record
+ * is available within the given timeout. In this case, {@link #isEndOfStream()}
+ * tells if the end of data has been reached.</p>
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public interface PollableRecordReader<P> extends RecordReader<P> {
+
+    /**
+     * Read next record from the data source, waiting up to the given timeout
+     * for a record to become available.
+     *
+     * @param timeout how long to wait for a record
+     * @param unit of the timeout
+     * @return the next record from the data source or {@code null} if no record is available within the timeout
+     * @throws Exception if an error occurs during reading next record
+     */
+    Record<P> pollRecord(long timeout, TimeUnit unit) throws Exception;
+
+    /**
+     * Check if the end of the data source has been reached.
+     *
+     * @return true if the end of the data source has been reached, false otherwise
+     */
+    boolean isEndOfStream();
+
+}
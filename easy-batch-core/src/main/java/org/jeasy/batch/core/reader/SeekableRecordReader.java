@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.reader;
+
+/**
+ * A {@link RecordReader} that is able to resume reading at a given position of
+ * the data source. Jobs with a checkpoint journal save the position of the reader
+ * after each written batch, and seek the reader to the last saved position when
+ * restarted after a failure, so that records written by the failed run are not
+ * read again.
+ *
+ * <p>Positions are opaque to the job: each reader defines its own format (byte
+ * offset, key, record number, etc). A position should include the number of the
+ * last record read, so that record numbers keep increasing after a restart.</p>
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public interface SeekableRecordReader<P> extends RecordReader<P> {
+
+    /**
+     * Get the position of the reader right after the last record read.
+     *
+     * @return the current position
+     * @throws Exception if the position cannot be determined
+     */
+    String getPosition() throws Exception;
+
+    /**
+     * Move the reader to the given position, so that the next record read is the one
+     * following the record after which the position was taken. This method is called
+     * right after {@link #open()}, before reading any record.
+     *
+     * @param position previously returned by {@link #getPosition()}
+     * @throws Exception if the reader cannot be moved to the given position
+     */
+    void seek(String position) throws Exception;
+
+}
@@ -0,0 +1,191 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+/**
+ * Compiles bean accessors to functional interfaces with {@link LambdaMetafactory}, so
+ * they can be called without reflection. When an accessor cannot be compiled (for example
+ * when the bean class is in a module that is not open to Easy Batch), a {@link MethodHandle}
+ * is used instead.
+ *
+ * Lambdas are defined in the bean class with a private lookup, so they are visible
+ * from the class loader of the bean and are unloaded with it.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public abstract class BeanAccessors {
+
+    private BeanAccessors() {
+
+    }
+
+    /**
+     * Compile a setter to a {@link BiConsumer} taking the target bean and the value
+     * to set. Values of primitive properties are unboxed.
+     *
+     * @param setter to compile
+     * @return the compiled setter
+     */
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> setter(final Method setter) {
+        Class<?> beanType = setter.getDeclaringClass();
+        Class<?> valueType = wrap(setter.getParameterTypes()[0]);
+        try {
+            MethodHandles.Lookup lookup = lookup(beanType);
+            MethodHandle handle = lookup.unreflect(setter);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, beanType, valueType));
+            return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable throwable) {
+            MethodHandle handle = unreflect(setter)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (bean, value) -> {
+                try {
+                    handle.invokeExact(bean, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+    }
+
+    /**
+     * Compile a getter to a {@link Function} taking the target bean and returning the
+     * property value. Values of primitive properties are boxed.
+     *
+     * @param getter to compile
+     * @return the compiled getter
+     */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> getter(final Method getter) {
+        Class<?> beanType = getter.getDeclaringClass();
+        Class<?> valueType = wrap(getter.getReturnType());
+        try {
+            MethodHandles.Lookup lookup = lookup(beanType);
+            MethodHandle handle = lookup.unreflect(getter);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(valueType, beanType));
+            return (Function<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable throwable) {
+            MethodHandle handle = unreflect(getter)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return bean -> {
+                try {
+                    return handle.invokeExact(bean);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+    }
+
+    /**
+     * Compile the no-argument constructor of a bean type to a {@link Supplier}.
+     *
+     * @param beanType the type of beans to create
+     * @param <T> the type of beans to create
+     * @return a supplier of new beans
+     * @throws IllegalArgumentException if the type has no no-argument constructor
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> constructor(final Class<T> beanType) {
+        MethodHandle handle;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = lookup(beanType);
+            handle = lookup.findConstructor(beanType, MethodType.methodType(void.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(format("Unable to find a no-argument constructor in type %s", beanType.getName()), e);
+        }
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle,
+                    MethodType.methodType(beanType));
+            return (Supplier<T>) callSite.getTarget().invokeExact();
+        } catch (Throwable throwable) {
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return (T) generic.invokeExact();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(final Class<?> beanType) {
+        try {
+            return MethodHandles.privateLookupIn(beanType, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.publicLookup().in(beanType);
+        }
+    }
+
+    private static MethodHandle unreflect(final Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (RuntimeException | IllegalAccessException ex) {
+                throw new IllegalArgumentException(format("Method %s is not accessible", method), ex);
+            }
+        }
+    }
+
+    private static Class<?> wrap(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+}
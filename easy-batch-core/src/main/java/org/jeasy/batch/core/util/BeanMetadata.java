@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.util;
+
+import org.jeasy.batch.core.mapper.BeanIntrospectionException;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of introspection metadata of a type: bean properties, compiled
+ * accessors (see {@link BeanAccessors}) and arbitrary metadata computed by other modules
+ * (like JAXB contexts) with {@link #computeIfAbsent(Object, Function)}.
+ *
+ * Metadata is computed once per type and shared by all components and jobs. It is held
+ * in a {@link ClassValue}, so it is reclaimed with the type and does not keep its
+ * class loader alive.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class BeanMetadata {
+
+    private static final ClassValue<BeanMetadata> METADATA = new ClassValue<BeanMetadata>() {
+        @Override
+        protected BeanMetadata computeValue(Class<?> type) {
+            return new BeanMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private volatile Map<String, PropertyDescriptor> properties;
+    private volatile Supplier<?> constructor;
+    private final Map<String, BiConsumer<Object, Object>> setters = new ConcurrentHashMap<>();
+    private final Map<String, Function<Object, Object>> getters = new ConcurrentHashMap<>();
+    private final Map<Object, Object> metadata = new ConcurrentHashMap<>();
+
+    private BeanMetadata(final Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Get the metadata of a type.
+     *
+     * @param type to get metadata of
+     * @return the metadata of the type
+     */
+    public static BeanMetadata of(final Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    /**
+     * Get bean properties of the type, except the "class" property.
+     *
+     * @return an unmodifiable map of property descriptors by property name, sorted by name
+     * @throws BeanIntrospectionException if the type cannot be introspected
+     */
+    public Map<String, PropertyDescriptor> getProperties() {
+        Map<String, PropertyDescriptor> result = properties;
+        if (result == null) {
+            result = new LinkedHashMap<>();
+            try {
+                BeanInfo beanInfo = Introspector.getBeanInfo(type);
+                for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
+                    result.put(propertyDescriptor.getName(), propertyDescriptor);
+                }
+            } catch (IntrospectionException e) {
+                throw new BeanIntrospectionException("Unable to introspect type " + type.getName(), e);
+            }
+            result.remove("class");
+            result = Collections.unmodifiableMap(result);
+            properties = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the compiled setter of a property.
+     *
+     * @param property name
+     * @return the compiled setter, or null if the property has no public setter
+     */
+    public BiConsumer<Object, Object> getSetter(final String property) {
+        BiConsumer<Object, Object> setter = setters.get(property);
+        if (setter == null) {
+            Method writeMethod = getWriteMethod(property);
+            if (writeMethod == null) {
+                return null;
+            }
+            setter = setters.computeIfAbsent(property, name -> BeanAccessors.setter(writeMethod));
+        }
+        return setter;
+    }
+
+    /**
+     * Get the compiled getter of a property.
+     *
+     * @param property name
+     * @return the compiled getter, or null if the property has no public getter
+     */
+    public Function<Object, Object> getGetter(final String property) {
+        Function<Object, Object> getter = getters.get(property);
+        if (getter == null) {
+            Method readMethod = getReadMethod(property);
+            if (readMethod == null) {
+                return null;
+            }
+            getter = getters.computeIfAbsent(property, name -> BeanAccessors.getter(readMethod));
+        }
+        return getter;
+    }
+
+    /**
+     * Get the compiled no-argument constructor of the type.
+     *
+     * @param <T> the type
+     * @return a supplier of new instances
+     * @throws IllegalArgumentException if the type has no no-argument constructor
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> getConstructor() {
+        Supplier<?> result = constructor;
+        if (result == null) {
+            result = BeanAccessors.constructor(type);
+            constructor = result;
+        }
+        return (Supplier<T>) result;
+    }
+
+    /**
+     * Get metadata of the type associated with a key, computing it if absent.
+     * Keys should be unique to the module computing the metadata, like a private
+     * static final object.
+     *
+     * @param key of the metadata
+     * @param factory to compute the metadata from the type
+     * @param <V> type of the metadata
+     * @return the metadata associated with the key
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V computeIfAbsent(final Object key, final Function<Class<?>, V> factory) {
+        Object value = metadata.get(key);
+        if (value == null) {
+            value = metadata.computeIfAbsent(key, k -> factory.apply(type));
+        }
+        return (V) value;
+    }
+
+    private Method getWriteMethod(final String property) {
+        PropertyDescriptor propertyDescriptor = getProperties().get(property);
+        return propertyDescriptor == null ? null : propertyDescriptor.getWriteMethod();
+    }
+
+    private Method getReadMethod(final String property) {
+        PropertyDescriptor propertyDescriptor = getProperties().get(property);
+        return propertyDescriptor == null ? null : propertyDescriptor.getReadMethod();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Compression formats of files read and written by file readers and writers.
+ *
+ * Files are decompressed and compressed on the fly, without temporary files.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public enum Compression {
+
+    /**
+     * Uncompressed content.
+     */
+    NONE,
+    /**
+     * Gzip format (extensions {@code .gz} and {@code .gzip}).
+     */
+    GZIP,
+    /**
+     * Deflate data in zlib format (extensions {@code .deflate}, {@code .zz} and {@code .zlib}).
+     */
+    DEFLATE,
+    /**
+     * Zip archive (extension {@code .zip}). Only the first file of an archive is read,
+     * and written archives contain a single file named after the archive.
+     */
+    ZIP;
+
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * Get the compression of a file from its extension.
+     *
+     * @param path of the file
+     * @return the compression of the file, {@link #NONE} if the extension is unknown
+     */
+    public static Compression fromExtension(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz") || name.endsWith(".gzip")) {
+            return GZIP;
+        }
+        if (name.endsWith(".deflate") || name.endsWith(".zz") || name.endsWith(".zlib")) {
+            return DEFLATE;
+        }
+        if (name.endsWith(".zip")) {
+            return ZIP;
+        }
+        return NONE;
+    }
+
+    /**
+     * Detect the compression of a file from its extension, or from its first bytes
+     * if the extension is unknown. Only gzip and zip files have magic bytes reliable
+     * enough to be detected from their content.
+     *
+     * @param path of the file
+     * @return the compression of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static Compression detect(Path path) throws IOException {
+        Compression compression = fromExtension(path);
+        if (compression != NONE) {
+            return compression;
+        }
+        byte[] magic = new byte[4];
+        int length = 0;
+        try (InputStream inputStream = new FileInputStream(path.toFile())) {
+            int read;
+            while (length < magic.length && (read = inputStream.read(magic, length, magic.length - length)) > 0) {
+                length += read;
+            }
+        }
+        if (length >= 2 && magic[0] == (byte) 0x1f && magic[1] == (byte) 0x8b) {
+            return GZIP;
+        }
+        if (length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4) {
+            return ZIP;
+        }
+        return NONE;
+    }
+
+    /**
+     * Decompress an input stream.
+     *
+     * @param inputStream to decompress
+     * @return an input stream of decompressed content
+     * @throws IOException if the stream cannot be read
+     */
+    public InputStream decompress(InputStream inputStream) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPInputStream(inputStream, BUFFER_SIZE);
+            case DEFLATE:
+                return new InflaterInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+            case ZIP:
+                ZipInputStream zipInputStream = new ZipInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+                ZipEntry entry = zipInputStream.getNextEntry();
+                while (entry != null && entry.isDirectory()) {
+                    entry = zipInputStream.getNextEntry();
+                }
+                return zipInputStream;
+            default:
+                return inputStream;
+        }
+    }
+
+    /**
+     * Compress an output stream. The returned stream must be closed to complete the
+     * compressed content. Gzip and deflate streams are created with sync flush, so that
+     * flushing them writes all content written so far. Zip content is written when the
+     * stream is closed.
+     *
+     * @param outputStream to compress
+     * @param entryName name of the file in a zip archive, ignored for other formats
+     * @return an output stream compressing content to the given stream
+     * @throws IOException if the stream cannot be written
+     */
+    public OutputStream compress(OutputStream outputStream, String entryName) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(outputStream, BUFFER_SIZE, true);
+            case DEFLATE:
+                return new DeflaterOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE), true);
+            case ZIP:
+                ZipOutputStream zipOutputStream = new ZipOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+                zipOutputStream.putNextEntry(new ZipEntry(entryName));
+                return zipOutputStream;
+            default:
+                return outputStream;
+        }
+    }
+
+    /**
+     * Get the name of the file compressed in the given file, which is the name of the
+     * given file without the extension of this compression format.
+     *
+     * @param path of the compressed file
+     * @return the name of the compressed file
+     */
+    public String getEntryName(Path path) {
+        String name = path.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return this != NONE && extension > 0 ? name.substring(0, extension) : name;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static org.jeasy.batch.core.util.Utils.checkArgument;
+import static org.jeasy.batch.core.util.Utils.checkNotNull;
+
+/**
+ * An output stream that writes gzip content compressed in parallel.
+ *
+ * Content is split in blocks that are compressed independently by a pool of threads
+ * and written in order as a single gzip member. Each block but the last one ends with a
+ * sync flush, so that compressed blocks can be concatenated. Blocks do not share a
+ * dictionary, which costs a little compression ratio compared to a sequential stream.
+ *
+ * Compressed blocks are written when they are ready, so {@link #flush()} does not wait
+ * for blocks being compressed and does not compress the current partial block: writers
+ * flushing after each batch keep compressing full blocks in parallel. {@link #syncFlush()}
+ * compresses the partial block and waits for all blocks to be written, so that content
+ * written so far can be decompressed, at the cost of smaller blocks and no overlap with
+ * the writing thread. Content is completely written when the stream is closed.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final OutputStream outputStream;
+    private final ExecutorService executorService;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private byte[] block;
+    private int count;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Create a new {@link ParallelGzipOutputStream} using a thread per available processor.
+     *
+     * @param outputStream to write compressed content to
+     * @throws IOException if the gzip header cannot be written
+     */
+    public ParallelGzipOutputStream(OutputStream outputStream) throws IOException {
+        this(outputStream, Runtime.getRuntime().availableProcessors(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Create a new {@link ParallelGzipOutputStream}.
+     *
+     * @param outputStream to write compressed content to
+     * @param threads number of threads compressing blocks
+     * @param blockSize size of uncompressed blocks
+     * @throws IOException if the gzip header cannot be written
+     */
+    public ParallelGzipOutputStream(OutputStream outputStream, int threads, int blockSize) throws IOException {
+        checkNotNull(outputStream, "output stream");
+        checkArgument(threads >= 1, "threads must be >= 1");
+        checkArgument(blockSize >= 1024, "block size must be >= 1024");
+        this.outputStream = outputStream;
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = threads * 2;
+        this.block = new byte[blockSize];
+        this.executorService = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "parallel-gzip-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        outputStream.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == blockSize) {
+            submitBlock(false);
+        }
+        block[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (count == blockSize) {
+                submitBlock(false);
+            }
+            int chunk = Math.min(length, blockSize - count);
+            System.arraycopy(bytes, offset, block, count, chunk);
+            count += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Write blocks already compressed and flush the underlying stream. Blocks being
+     * compressed and the current partial block are written later.
+     *
+     * @throws IOException if compressed blocks cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peek().isDone()) {
+            writeBlock(pendingBlocks.poll());
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * Compress the current partial block, wait for all blocks to be written and flush the
+     * underlying stream, so that content written so far can be decompressed, like a
+     * {@link java.util.zip.GZIPOutputStream} created with sync flush.
+     *
+     * @throws IOException if compressed blocks cannot be written
+     */
+    public void syncFlush() throws IOException {
+        if (count > 0) {
+            submitBlock(false);
+        }
+        while (!pendingBlocks.isEmpty()) {
+            writeBlock(pendingBlocks.poll());
+        }
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            submitBlock(true);
+            while (!pendingBlocks.isEmpty()) {
+                writeBlock(pendingBlocks.poll());
+            }
+            writeInt((int) crc.getValue());
+            writeInt((int) size);
+        } finally {
+            executorService.shutdownNow();
+            outputStream.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        byte[] data = block;
+        int length = count;
+        crc.update(data, 0, length);
+        size += length;
+        pendingBlocks.add(executorService.submit(() -> compressBlock(data, length, last)));
+        block = last ? null : new byte[blockSize];
+        count = 0;
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            writeBlock(pendingBlocks.poll());
+        }
+    }
+
+    private void writeBlock(Future<byte[]> pendingBlock) throws IOException {
+        try {
+            outputStream.write(pendingBlock.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing gzip content");
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to compress gzip content", e.getCause());
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        outputStream.write(value & 0xff);
+        outputStream.write((value >> 8) & 0xff);
+        outputStream.write((value >> 16) & 0xff);
+        outputStream.write((value >> 24) & 0xff);
+    }
+
+    // compresses a block on a thread of the pool
+    byte[] compressBlock(byte[] data, int length, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(data, 0, length);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int written;
+                do {
+                    written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buffer, 0, written);
+                } while (written == buffer.length);
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -25,11 +25,10 @@ package org.jeasy.batch.core.util;
 
 import org.jeasy.batch.core.converter.TypeConverter;
 import org.jeasy.batch.core.job.JobParameters;
+import org.jeasy.batch.core.mapper.BeanIntrospectionException;
 import org.jeasy.batch.core.record.Record;
 
-import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
@@ -75,13 +74,19 @@ public abstract class Utils {
     }
 
     public static Map<String, Method> getGetters(final Class<?> type) throws IntrospectionException {
+        Map<String, PropertyDescriptor> properties;
+        try {
+            properties = BeanMetadata.of(type).getProperties();
+        } catch (BeanIntrospectionException e) {
+            if (e.getCause() instanceof IntrospectionException) {
+                throw (IntrospectionException) e.getCause();
+            }
+            throw e;
+        }
         Map<String, Method> getters = new HashMap<>();
-        BeanInfo beanInfo = Introspector.getBeanInfo(type);
-        PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
-        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+        for (PropertyDescriptor propertyDescriptor : properties.values()) {
             getters.put(propertyDescriptor.getName(), propertyDescriptor.getReadMethod());
         }
-        getters.remove("class"); //exclude property "class"
         return getters;
     }
 
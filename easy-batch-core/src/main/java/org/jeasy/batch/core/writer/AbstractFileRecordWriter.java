@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.Compression;
+import org.jeasy.batch.core.util.ParallelGzipOutputStream;
+import org.jeasy.batch.core.util.Utils;
+
+/**
+ * Abstract class for file writers writing through an output stream. Records of a batch are written to a buffered
+ * writer, each one followed by a line separator, and the buffer is flushed once
+ * the whole batch is written.
+ *
+ * Output is compressed on the fly according to the extension of the output file
+ * (see {@link Compression#fromExtension(Path)}), unless a compression is set with
+ * {@link #setCompression(Compression)}. Gzip output can be compressed in parallel
+ * with {@link #setCompressionThreads(int)}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public abstract class AbstractFileRecordWriter<P> extends AbstractTextFileRecordWriter<P> {
+
+    private Compression compression;
+    private int compressionThreads = 1;
+    private OutputStream fileOutputStream;
+    private OutputStreamWriter outputStreamWriter;
+    private Writer writer;
+
+    /**
+     * @param path of the output file
+     */
+    protected AbstractFileRecordWriter(final Path path) {
+        super(path);
+    }
+
+    /**
+     * Set the compression of the output file instead of deriving it from its extension.
+     * @param compression of the output file
+     */
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Set the number of threads compressing gzip output. With more than one thread,
+     * blocks of output are compressed in parallel with a {@link ParallelGzipOutputStream}.
+     * Blocks span several batches, so the output of a batch may be written to the file
+     * after the batch, and is completely written when the writer is closed.
+     * @param compressionThreads number of threads compressing gzip output
+     */
+    public void setCompressionThreads(int compressionThreads) {
+        Utils.checkArgument(compressionThreads >= 1, "compression threads must be >= 1");
+        this.compressionThreads = compressionThreads;
+    }
+
+    @Override
+    public void open() throws Exception {
+        Compression fileCompression = compression != null ? compression : Compression.fromExtension(path);
+        boolean append = isAppend();
+        Utils.checkArgument(!append || fileCompression == Compression.NONE || fileCompression == Compression.GZIP,
+                fileCompression + " files cannot be opened in append mode");
+        fileOutputStream = new FileOutputStream(path.toFile(), append);
+        OutputStream outputStream = fileOutputStream;
+        try {
+            if (fileCompression == Compression.GZIP && compressionThreads > 1) {
+                outputStream = new ParallelGzipOutputStream(outputStream, compressionThreads, ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE);
+            } else {
+                outputStream = fileCompression.compress(outputStream, fileCompression.getEntryName(path));
+            }
+            outputStreamWriter = new OutputStreamWriter(outputStream, getCharset());
+            writer = new BufferedWriter(outputStreamWriter);
+            writeHeader(outputStreamWriter);
+        } catch (Exception e) {
+            // release the compressor (if any) and the file before rethrowing
+            try (OutputStream file = fileOutputStream; OutputStream output = outputStream) {
+                throw e;
+            } finally {
+                release();
+            }
+        }
+    }
+
+    @Override
+    public void writeRecords(Batch<P> batch) throws Exception {
+        String lineSeparator = getLineSeparator();
+        for (Record<P> record : batch) {
+            writeRecord(record, writer);
+            writer.write(lineSeparator);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Write a record to the output file. Implementations must not write a
+     * line separator after the record, nor flush or close the writer.
+     *
+     * @param record to write
+     * @param writer to write the record to
+     * @throws Exception if an error occurs while writing the record
+     */
+    protected abstract void writeRecord(Record<P> record, Writer writer) throws Exception;
+
+    @Override
+    public void close() throws Exception {
+        if (outputStreamWriter == null) {
+            return;
+        }
+        // the output is closed even if the footer fails, and the file even if closing the output fails
+        try (OutputStream file = fileOutputStream; Writer output = outputStreamWriter) {
+            writer.flush();
+            writeFooter(outputStreamWriter);
+        } finally {
+            release();
+        }
+    }
+
+    private void release() {
+        fileOutputStream = null;
+        outputStreamWriter = null;
+        writer = null;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+import org.jeasy.batch.core.util.Utils;
+
+/**
+ * Base class of writers of text files, holding settings common to all of them: charset,
+ * line separator, header and footer callbacks and append mode.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public abstract class AbstractTextFileRecordWriter<P> implements RecordWriter<P> {
+
+    private FileRecordWriter.HeaderCallback headerCallback;
+    private FileRecordWriter.FooterCallback footerCallback;
+    private Charset charset = Charset.defaultCharset();
+    private String lineSeparator = Utils.LINE_SEPARATOR;
+    private boolean append;
+    protected Path path;
+
+    /**
+     * @param path of the output file
+     */
+    protected AbstractTextFileRecordWriter(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Set the charset of the output file
+     * @param charset of the output file
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Set the line separator
+     * @param lineSeparator to use
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Set a header callback.
+     * @param headerCallback to set
+     */
+    public void setHeaderCallback(FileRecordWriter.HeaderCallback headerCallback) {
+        this.headerCallback = headerCallback;
+    }
+
+    /**
+     * Set a footer callback.
+     * @param footerCallback to set
+     */
+    public void setFooterCallback(FileRecordWriter.FooterCallback footerCallback) {
+        this.footerCallback = footerCallback;
+    }
+
+    /**
+     * Parameter to open the writer in append mode.
+     * @param append true if the writer should be opened in append mode.
+     */
+    public void setAppend(boolean append) {
+        this.append = append;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    protected String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    protected boolean isAppend() {
+        return append;
+    }
+
+    /**
+     * Write the header, if a header callback is set, followed by a line separator.
+     *
+     * @param writer to write the header to, which is flushed afterwards
+     * @throws IOException if the header cannot be written
+     */
+    protected void writeHeader(OutputStreamWriter writer) throws IOException {
+        if (headerCallback != null) {
+            headerCallback.writeHeader(writer);
+            writer.write(lineSeparator);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Write the footer, if a footer callback is set, followed by a line separator.
+     *
+     * @param writer to write the footer to, which is flushed afterwards
+     * @throws IOException if the footer cannot be written
+     */
+    protected void writeFooter(OutputStreamWriter writer) throws IOException {
+        if (footerCallback != null) {
+            footerCallback.writeFooter(writer);
+            writer.write(lineSeparator);
+            writer.flush();
+        }
+    }
+}
@@ -23,30 +23,19 @@
  */
 package org.jeasy.batch.core.writer;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
+import java.io.Writer;
 import java.nio.file.Path;
 
-import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.Record;
-import org.jeasy.batch.core.util.Utils;
 
 /**
  * A writer that writes records to a file.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class FileRecordWriter implements RecordWriter<String> {
-
-    private HeaderCallback headerCallback;
-    private FooterCallback footerCallback;
-    private Charset charset = Charset.defaultCharset();
-    private String lineSeparator = Utils.LINE_SEPARATOR;
-    private boolean append;
-    private OutputStreamWriter outputStreamWriter;
-    private Path path;
+public class FileRecordWriter extends AbstractFileRecordWriter<String> {
 
     /**
      * Create a new {@link FileRecordWriter}.
@@ -54,78 +43,12 @@ public class FileRecordWriter implements RecordWriter<String> {
      * @param path          the output file.
      */
     public FileRecordWriter(final Path path) {
-        this.path = path;
-    }
-
-    /**
-     * Set the charset of the input file
-     * @param charset of the input file
-     */
-    public void setCharset(Charset charset) {
-        this.charset = charset;
-    }
-
-    /**
-     * Set the line separator
-     * @param lineSeparator to use
-     */
-    public void setLineSeparator(String lineSeparator) {
-        this.lineSeparator = lineSeparator;
-    }
-
-    /**
-     * Set a header callback.
-     * @param headerCallback to set
-     */
-    public void setHeaderCallback(HeaderCallback headerCallback) {
-        this.headerCallback = headerCallback;
-    }
-
-    /**
-     * Set a footer callback.
-     * @param footerCallback to set
-     */
-    public void setFooterCallback(FooterCallback footerCallback) {
-        this.footerCallback = footerCallback;
-    }
-
-    /**
-     * Parameter to open the writer in append mode.
-     * @param append true if the writer should be opened in append mode.
-     */
-    public void setAppend(boolean append) {
-        this.append = append;
-    }
-
-    @Override
-    public void open() throws Exception {
-        outputStreamWriter = new OutputStreamWriter(new FileOutputStream(path.toFile(), append), charset);
-        if (headerCallback != null) {
-            headerCallback.writeHeader(outputStreamWriter);
-            outputStreamWriter.write(lineSeparator);
-            outputStreamWriter.flush();
-        }
-    }
-
-    @Override
-    public void writeRecords(Batch<String> batch) throws Exception {
-        for (Record<String> record : batch) {
-            outputStreamWriter.write(record.getPayload());
-            outputStreamWriter.write(lineSeparator);
-        }
-        outputStreamWriter.flush();
+        super(path);
     }
 
     @Override
-    public void close() throws Exception {
-        if (footerCallback != null && outputStreamWriter != null) {
-            footerCallback.writeFooter(outputStreamWriter);
-            outputStreamWriter.write(lineSeparator);
-            outputStreamWriter.flush();
-        }
-        if (outputStreamWriter != null) {
-            outputStreamWriter.close();
-        }
+    protected void writeRecord(Record<String> record, Writer writer) throws IOException {
+        writer.write(record.getPayload());
     }
 
     /**
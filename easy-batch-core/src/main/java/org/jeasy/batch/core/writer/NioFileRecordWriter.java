@@ -0,0 +1,383 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Record;
+
+import static org.jeasy.batch.core.util.Utils.checkArgument;
+import static org.jeasy.batch.core.util.Utils.checkNotNull;
+
+/**
+ * A writer that marshals records to a file through a {@link FileChannel}.
+ *
+ * Records are encoded into a direct byte buffer (of {@link #DEFAULT_BUFFER_SIZE} bytes
+ * by default) which is written to the file channel when it is full and at the end of
+ * each batch. This writer can:
+ *
+ * <ul>
+ *     <li>roll output to a new file after a maximum number of records or bytes. Files are
+ *     then named after the output file with an index: {@code tweets.csv} is rolled to
+ *     {@code tweets-1.csv}, {@code tweets-2.csv}, etc. Header and footer callbacks are
+ *     applied to each file. Since a file is rolled once its size reaches the limit,
+ *     files can be larger than the limit by up to one record.</li>
+ *     <li>force written data to the storage device according to a {@link SyncPolicy}.</li>
+ * </ul>
+ *
+ * To write string records, use a marshaller that writes the payload as is:
+ * <pre>
+ * new NioFileRecordWriter&lt;String&gt;(path, (record, writer) -&gt; writer.write(record.getPayload()));
+ * </pre>
+ *
+ * @param <P> type of the record's payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class NioFileRecordWriter<P> extends AbstractTextFileRecordWriter<P> {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 8192;
+
+    /**
+     * Policy of forcing written data to the storage device.
+     */
+    public enum SyncPolicy {
+        /**
+         * Never force data, leave it to the operating system (except when the writer is closed).
+         */
+        NONE,
+        /**
+         * Force data at the end of each batch.
+         */
+        BATCH,
+        /**
+         * Force data at the end of a batch if the sync interval has elapsed since the last sync.
+         */
+        INTERVAL
+    }
+
+    private final StreamingRecordMarshaller<P> recordMarshaller;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private long maxRecordsPerFile;
+    private long maxBytesPerFile;
+    private SyncPolicy syncPolicy = SyncPolicy.NONE;
+    private long syncInterval;
+
+    private FileChannel channel;
+    private ByteBuffer byteBuffer;
+    private CharBuffer charBuffer;
+    private CharsetEncoder encoder;
+    private Writer writer;
+    private OutputStreamWriter callbackWriter;
+    private Path currentPath;
+    private int fileIndex;
+    private long recordsInFile;
+    private long bytesInFile;
+    private long lastSync;
+
+    /**
+     * Create a new {@link NioFileRecordWriter}.
+     *
+     * @param path             the output file
+     * @param recordMarshaller to use to marshal records to the output file
+     */
+    public NioFileRecordWriter(final Path path, final StreamingRecordMarshaller<P> recordMarshaller) {
+        super(path);
+        checkNotNull(path, "path");
+        checkNotNull(recordMarshaller, "record marshaller");
+        this.recordMarshaller = recordMarshaller;
+    }
+
+    /**
+     * Set the size of the byte buffer records are encoded into.
+     * @param bufferSize in bytes
+     */
+    public void setBufferSize(int bufferSize) {
+        checkArgument(bufferSize >= 16, "buffer size must be >= 16");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Roll output to a new file after the given number of records.
+     * @param maxRecordsPerFile maximum number of records per file, 0 for no limit
+     */
+    public void setMaxRecordsPerFile(long maxRecordsPerFile) {
+        checkArgument(maxRecordsPerFile >= 0, "max records per file must be >= 0");
+        this.maxRecordsPerFile = maxRecordsPerFile;
+    }
+
+    /**
+     * Roll output to a new file once a file reaches the given size.
+     * @param maxBytesPerFile maximum size of a file in bytes, 0 for no limit
+     */
+    public void setMaxBytesPerFile(long maxBytesPerFile) {
+        checkArgument(maxBytesPerFile >= 0, "max bytes per file must be >= 0");
+        this.maxBytesPerFile = maxBytesPerFile;
+    }
+
+    /**
+     * Set the policy of forcing written data to the storage device.
+     * @param syncPolicy to use
+     */
+    public void setSyncPolicy(SyncPolicy syncPolicy) {
+        checkNotNull(syncPolicy, "sync policy");
+        this.syncPolicy = syncPolicy;
+    }
+
+    /**
+     * Set the minimum interval between two syncs with the {@link SyncPolicy#INTERVAL} policy.
+     * @param syncInterval minimum interval between two syncs
+     * @param timeUnit of the interval
+     */
+    public void setSyncInterval(long syncInterval, TimeUnit timeUnit) {
+        checkArgument(syncInterval >= 0, "sync interval must be >= 0");
+        checkNotNull(timeUnit, "time unit");
+        this.syncInterval = timeUnit.toMillis(syncInterval);
+    }
+
+    /**
+     * Get the file currently written.
+     * @return the file currently written, or null if the writer is not opened
+     */
+    public Path getCurrentPath() {
+        return currentPath;
+    }
+
+    @Override
+    public void open() throws Exception {
+        byteBuffer = ByteBuffer.allocateDirect(bufferSize);
+        charBuffer = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        Charset charset = getCharset();
+        encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        writer = new ChannelWriter();
+        callbackWriter = new OutputStreamWriter(new BufferOutputStream(), charset);
+        fileIndex = 0;
+        openFile();
+    }
+
+    @Override
+    public void writeRecords(Batch<P> batch) throws Exception {
+        String lineSeparator = getLineSeparator();
+        for (Record<P> record : batch) {
+            if (shouldRoll()) {
+                closeFile();
+                openFile();
+            }
+            recordMarshaller.marshalRecord(record, writer);
+            writer.write(lineSeparator);
+            recordsInFile++;
+            if (maxBytesPerFile > 0) {
+                encodeChars();
+            }
+        }
+        encodeChars();
+        writeBytes();
+        if (syncPolicy == SyncPolicy.BATCH
+                || syncPolicy == SyncPolicy.INTERVAL && System.currentTimeMillis() - lastSync >= syncInterval) {
+            channel.force(false);
+            lastSync = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (channel != null) {
+            closeFile();
+        }
+    }
+
+    private boolean isRolling() {
+        return maxRecordsPerFile > 0 || maxBytesPerFile > 0;
+    }
+
+    private boolean shouldRoll() {
+        return recordsInFile > 0 && (maxRecordsPerFile > 0 && recordsInFile >= maxRecordsPerFile
+                || maxBytesPerFile > 0 && bytesInFile + byteBuffer.position() >= maxBytesPerFile);
+    }
+
+    private Path getRolledPath(int index) {
+        String name = path.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        if (extension > 0) {
+            return path.resolveSibling(name.substring(0, extension) + "-" + index + name.substring(extension));
+        }
+        return path.resolveSibling(name + "-" + index);
+    }
+
+    private void openFile() throws IOException {
+        currentPath = isRolling() ? getRolledPath(++fileIndex) : path;
+        channel = FileChannel.open(currentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                isAppend() ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        bytesInFile = channel.size();
+        recordsInFile = 0;
+        lastSync = System.currentTimeMillis();
+        writeHeader(callbackWriter);
+    }
+
+    private void closeFile() throws IOException {
+        try {
+            endEncoding();
+            writeFooter(callbackWriter);
+            writeBytes();
+            if (syncPolicy != SyncPolicy.NONE) {
+                channel.force(true);
+            }
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void encodeChars() throws IOException {
+        charBuffer.flip();
+        while (true) {
+            CoderResult result = encoder.encode(charBuffer, byteBuffer, false);
+            if (result.isOverflow()) {
+                writeBytes();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        charBuffer.compact();
+    }
+
+    private void endEncoding() throws IOException {
+        charBuffer.flip();
+        while (encoder.encode(charBuffer, byteBuffer, true).isOverflow()) {
+            writeBytes();
+        }
+        while (encoder.flush(byteBuffer).isOverflow()) {
+            writeBytes();
+        }
+        charBuffer.clear();
+        encoder.reset();
+    }
+
+    private void writeBytes() throws IOException {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            bytesInFile += channel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+
+    /*
+     * Writer handed to the record marshaller. Characters are staged in the char buffer and
+     * encoded into the byte buffer when it is full. Flushing and closing are driven by the
+     * file writer, so both are ignored here.
+     */
+    private class ChannelWriter extends Writer {
+
+        @Override
+        public void write(int c) throws IOException {
+            if (!charBuffer.hasRemaining()) {
+                encodeChars();
+            }
+            charBuffer.put((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!charBuffer.hasRemaining()) {
+                    encodeChars();
+                }
+                int count = Math.min(length, charBuffer.remaining());
+                charBuffer.put(chars, offset, count);
+                offset += count;
+                length -= count;
+            }
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!charBuffer.hasRemaining()) {
+                    encodeChars();
+                }
+                int count = Math.min(length, charBuffer.remaining());
+                charBuffer.put(string, offset, offset + count);
+                offset += count;
+                length -= count;
+            }
+        }
+
+        @Override
+        public void flush() {
+            // bytes are written to the channel at the end of each batch
+        }
+
+        @Override
+        public void close() {
+            // the channel is closed by the file writer
+        }
+    }
+
+    /*
+     * Output stream of the writer handed to header and footer callbacks, already encoded
+     * bytes are written to the byte buffer.
+     */
+    private class BufferOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!byteBuffer.hasRemaining()) {
+                writeBytes();
+            }
+            byteBuffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!byteBuffer.hasRemaining()) {
+                    writeBytes();
+                }
+                int count = Math.min(length, byteBuffer.remaining());
+                byteBuffer.put(bytes, offset, count);
+                offset += count;
+                length -= count;
+            }
+        }
+    }
+}
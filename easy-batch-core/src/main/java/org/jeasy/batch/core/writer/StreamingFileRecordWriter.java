@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import java.io.FilterWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.Utils;
+
+/**
+ * A writer that marshals records directly to a file using a {@link StreamingRecordMarshaller}.
+ *
+ * Unlike a {@link FileRecordWriter} placed after a marshalling processor, this writer
+ * does not need an intermediate string for each record: payloads are marshalled
+ * right into the buffer of the output file.
+ *
+ * @param <P> type of the record's payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class StreamingFileRecordWriter<P> extends AbstractFileRecordWriter<P> {
+
+    private final StreamingRecordMarshaller<P> recordMarshaller;
+    private Writer unclosableWriter;
+
+    /**
+     * Create a new {@link StreamingFileRecordWriter}.
+     *
+     * @param path             the output file
+     * @param recordMarshaller to use to marshal records to the output file
+     */
+    public StreamingFileRecordWriter(final Path path, final StreamingRecordMarshaller<P> recordMarshaller) {
+        super(path);
+        Utils.checkNotNull(recordMarshaller, "record marshaller");
+        this.recordMarshaller = recordMarshaller;
+    }
+
+    @Override
+    protected void writeRecord(Record<P> record, Writer writer) throws Exception {
+        if (unclosableWriter == null) {
+            unclosableWriter = new UnclosableWriter(writer);
+        }
+        recordMarshaller.marshalRecord(record, unclosableWriter);
+    }
+
+    @Override
+    public void open() throws Exception {
+        unclosableWriter = null;
+        super.open();
+    }
+
+    /*
+     * Some serialization libraries flush or close the writer they are given once done. This
+     * would defeat buffering and end the output file early, so both are ignored here.
+     */
+    private static class UnclosableWriter extends FilterWriter {
+
+        UnclosableWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        public void flush() {
+            // flushed once per batch by the file writer
+        }
+
+        @Override
+        public void close() {
+            // closed by the file writer
+        }
+    }
+}
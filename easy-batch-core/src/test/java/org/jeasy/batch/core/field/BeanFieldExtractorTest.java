@@ -31,7 +31,10 @@ import org.junit.Test;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -84,4 +87,43 @@ public class BeanFieldExtractorTest {
         assertThat(values).contains("20200120");
     }
 
+    @Test
+    public void whenExtractingFieldsToASink_thenFieldsShouldBeWrittenInOrder() throws Exception {
+        fieldExtractor = new BeanFieldExtractor<>(Person.class, "lastName", "age", "married");
+        Object[] values = new Object[3];
+
+        int count = fieldExtractor.extractFields(person, (index, value) -> values[index] = value);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(values).containsExactly(person.getLastName(), person.getAge(), person.isMarried());
+    }
+
+    @Test
+    public void whenFieldExtractorDoesNotOverrideSinkExtraction_thenFieldsShouldBeCopiedToTheSink() throws Exception {
+        FieldExtractor<Person> extractor = payload -> Arrays.asList(payload.getFirstName(), payload.getAge());
+        List<Object> values = new ArrayList<>();
+
+        int count = extractor.extractFields(person, (index, value) -> values.add(index, value));
+
+        assertThat(count).isEqualTo(2);
+        assertThat(values).containsExactly(person.getFirstName(), person.getAge());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenAFieldHasNoGetter_thenTheExtractorShouldBeRejected() {
+        new BeanFieldExtractor<>(Person.class, "lastName", "unknown");
+    }
+
+    @Test
+    public void whenGetValueIsOverridden_thenItShouldBeUsedToExtractFields() throws Exception {
+        fieldExtractor = new BeanFieldExtractor<Person>(Person.class, "lastName", "age") {
+            @Override
+            protected Object getValue(String field, Person object) {
+                return field.toUpperCase();
+            }
+        };
+        Iterable<Object> values = fieldExtractor.extractFields(person);
+        assertThat(values).containsExactly("LASTNAME", "AGE");
+    }
+
 }
@@ -0,0 +1,57 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.field;
+
+import org.jeasy.batch.core.beans.Person;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FieldValuesTest {
+
+    @Test
+    public void whenFieldCountIsKnown_thenFieldsShouldBeCollectedInASizedArray() throws Exception {
+        Person person = new Person();
+        person.setFirstName("foo");
+        person.setAge(33);
+        BeanFieldExtractor<Person> fieldExtractor = new BeanFieldExtractor<>(Person.class, "firstName", "age");
+
+        FieldValues fields = FieldValues.ofStrings(fieldExtractor);
+        fieldExtractor.extractFields(person, fields);
+
+        assertThat(fields.toStringArray()).containsExactly("foo", "33");
+    }
+
+    @Test
+    public void whenFieldCountIsUnknown_thenTheArrayShouldGrow() throws Exception {
+        FieldExtractor<String> fieldExtractor = payload -> Arrays.<Object>asList((Object[]) payload.split(","));
+
+        FieldValues fields = FieldValues.of(fieldExtractor);
+        fieldExtractor.extractFields("a,b,c", fields);
+
+        assertThat(fields.toArray()).containsExactly("a", "b", "c");
+    }
+}
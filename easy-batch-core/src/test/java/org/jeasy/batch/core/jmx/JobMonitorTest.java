@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.jmx;
+
+import org.jeasy.batch.core.job.JobMetrics;
+import org.jeasy.batch.core.job.JobParameters;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.JobStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.AttributeChangeNotification;
+import javax.management.Notification;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobMonitorTest {
+
+    private JobReport jobReport;
+    private JobParameters parameters;
+    private JobMonitor jobMonitor;
+    private List<Notification> notifications;
+
+    @Before
+    public void setUp() {
+        parameters = new JobParameters();
+        jobReport = new JobReport();
+        jobReport.setJobName("job");
+        jobReport.setParameters(parameters);
+        jobReport.setMetrics(new JobMetrics());
+        jobMonitor = new JobMonitor(jobReport);
+        notifications = new CopyOnWriteArrayList<>();
+        jobMonitor.addNotificationListener((notification, handback) -> notifications.add(notification), null, null);
+    }
+
+    @Test
+    public void whenRecordsAreProcessedWithinTheInterval_thenUpdatesShouldBeCoalesced() {
+        parameters.setJmxNotificationInterval(Duration.ofHours(1));
+        jobMonitor.startPublishing(parameters);
+
+        for (int i = 0; i < 1000; i++) {
+            jobMonitor.recordProcessed();
+        }
+        jobReport.setStatus(JobStatus.COMPLETED);
+        jobMonitor.stopPublishing();
+
+        assertThat(notifications).hasSize(1);
+        JobReport publishedReport = (JobReport) ((AttributeChangeNotification) notifications.get(0)).getNewValue();
+        assertThat(publishedReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+    }
+
+    @Test
+    public void whenNotificationRecordsIsSet_thenUpdatesShouldBePublishedEveryNRecords() {
+        parameters.setJmxNotificationInterval(Duration.ofHours(1));
+        parameters.setJmxNotificationRecords(100);
+        jobMonitor.startPublishing(parameters);
+
+        for (int i = 0; i < 1000; i++) {
+            jobMonitor.recordProcessed();
+        }
+        jobMonitor.stopPublishing();
+
+        // at most one update per 100 records (less if coalesced) + the last update
+        assertThat(notifications.size()).isBetween(2, 11);
+        assertThat(notifications.get(0).getSequenceNumber()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenIntervalElapses_thenUpdateShouldBePublished() throws Exception {
+        parameters.setJmxNotificationInterval(Duration.ofMillis(10));
+        jobMonitor.startPublishing(parameters);
+
+        jobMonitor.recordProcessed();
+        Thread.sleep(200);
+
+        assertThat(notifications).hasSize(1);
+        jobMonitor.stopPublishing();
+        assertThat(notifications).hasSize(2);
+    }
+}
@@ -33,9 +33,12 @@ import org.jeasy.batch.core.listener.RecordReaderListener;
 import org.jeasy.batch.core.listener.RecordWriterListener;
 import org.jeasy.batch.core.processor.RecordCollector;
 import org.jeasy.batch.core.processor.RecordProcessor;
+import org.jeasy.batch.core.reader.BlockingQueueRecordReader;
+import org.jeasy.batch.core.reader.CursorRecordReader;
 import org.jeasy.batch.core.reader.IterableRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
 import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.GenericRecord;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.validator.RecordValidator;
 import org.jeasy.batch.core.writer.RecordWriter;
@@ -51,11 +54,16 @@ import org.mockito.junit.MockitoJUnitRunner;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.singletonList;
@@ -789,6 +797,225 @@ public class BatchJobTest {
         Assertions.assertThat(iterator.hasNext()).isFalse();
     }
 
+    /*
+     * Parallel processing tests
+     */
+
+    @Test
+    public void whenRecordsAreProcessedInParallel_thenTheyShouldBeWrittenInTheSameOrderAsRead() {
+        List<Integer> dataSource = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            dataSource.add(i);
+        }
+        List<Integer> writtenRecords = new ArrayList<>();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .processor((RecordProcessor<Integer, Integer>) record -> record.getPayload() % 10 == 0 ? null : record)
+                .writer(batch -> batch.forEach(record -> writtenRecords.add(record.getPayload())))
+                .batchSize(100)
+                .processingThreads(4)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(1000);
+        assertThat(jobReport.getMetrics().getFilterCount()).isEqualTo(100);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(900);
+        assertThat(writtenRecords).isSorted().hasSize(900);
+    }
+
+    @Test
+    public void whenErrorThresholdIsExceededWithParallelProcessing_ThenTheJobShouldFail() throws Exception {
+        when(firstProcessor.processRecord(record1)).thenThrow(exception);
+        when(firstProcessor.processRecord(record2)).thenThrow(exception);
+        job = new JobBuilder<String, String>()
+                .reader(reader)
+                .writer(writer)
+                .processor(firstProcessor)
+                .errorThreshold(1)
+                .processingThreads(2)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getMetrics().getErrorCount()).isEqualTo(2);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(2);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(0);
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        verify(writer, never()).writeRecords(any());
+        verify(reader).close();
+        verify(writer).close();
+    }
+
+    /*
+     * Pipelining tests
+     */
+
+    @Test
+    public void whenPipeliningIsEnabled_thenAllBatchesShouldBeWrittenInOrder() {
+        List<Integer> dataSource = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            dataSource.add(i);
+        }
+        List<Integer> writtenRecords = new ArrayList<>();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .filter((RecordFilter<Integer>) record -> record.getPayload() % 10 == 0 ? null : record)
+                .writer(batch -> batch.forEach(record -> writtenRecords.add(record.getPayload())))
+                .batchSize(10)
+                .enablePipelining(true)
+                .pipelineQueueCapacity(2)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(1000);
+        assertThat(jobReport.getMetrics().getFilterCount()).isEqualTo(100);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(900);
+        assertThat(writtenRecords).isSorted().hasSize(900);
+    }
+
+    @Test
+    public void whenPipeliningIsEnabledAndNotAbleToReadNextRecord_thenTheJobShouldFail() throws Exception {
+        when(reader.readRecord()).thenReturn(record1).thenThrow(exception);
+        job = new JobBuilder<String, String>()
+                .reader(reader)
+                .writer(writer)
+                .batchSize(1)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isEqualTo(exception);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(1);
+        verify(reader).close();
+        verify(writer).close();
+    }
+
+    @Test
+    public void whenPipeliningIsEnabledAndNotAbleToWriteRecords_thenTheJobShouldFail() throws Exception {
+        doThrow(exception).when(writer).writeRecords(any());
+        job = new JobBuilder<String, String>()
+                .reader(reader)
+                .writer(writer)
+                .batchSize(1)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isEqualTo(exception);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(0);
+        verify(writer).writeRecords(new Batch<>(record1));
+        verify(reader).close();
+        verify(writer).close();
+    }
+
+    @Test
+    public void whenPipeliningIsEnabledAndErrorThresholdIsExceeded_thenTheJobShouldFail() throws Exception {
+        when(firstProcessor.processRecord(record1)).thenThrow(exception);
+        when(firstProcessor.processRecord(record2)).thenThrow(exception);
+        job = new JobBuilder<String, String>()
+                .reader(reader)
+                .writer(writer)
+                .processor(firstProcessor)
+                .errorThreshold(1)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isInstanceOf(ErrorThresholdExceededException.class);
+        assertThat(jobReport.getMetrics().getErrorCount()).isEqualTo(2);
+        verify(writer, never()).writeRecords(any());
+    }
+
+    /*
+     * Bulk reading tests
+     */
+
+    @Test
+    public void whenReaderSupportsBulkReading_thenRecordsShouldBeReadInBulk() throws Exception {
+        List<Long> batchSizes = new ArrayList<>();
+        job = new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<>(Arrays.asList("foo", "bar", "baz")))
+                .readerListener(recordReaderListener)
+                .writer(batch -> batchSizes.add(batch.size()))
+                .batchSize(2)
+                .enableBulkReading(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(3);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(3);
+        assertThat(batchSizes).containsExactly(2L, 1L);
+        verify(recordReaderListener, times(3)).beforeRecordReading(); // 2 + 1 to detect the end of data
+        verify(recordReaderListener, times(4)).afterRecordReading(any()); // 3 records + null at the end of data
+        verify(recordReaderListener).afterRecordReading(null);
+    }
+
+    @Test
+    public void whenBulkReadingIsNotEnabled_thenRecordsShouldBeReadOneByOne() throws Exception {
+        List<String> payloads = new ArrayList<>();
+        job = new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<String>(Arrays.asList("foo", "bar")) {
+                    @Override
+                    public GenericRecord<String> readRecord() {
+                        GenericRecord<String> record = super.readRecord();
+                        return record == null ? null : new GenericRecord<>(record.getHeader(), record.getPayload().toUpperCase());
+                    }
+                })
+                .readerListener(recordReaderListener)
+                .writer(batch -> batch.forEach(record -> payloads.add(record.getPayload())))
+                .build();
+
+        job.call();
+
+        assertThat(payloads).containsExactly("FOO", "BAR");
+        verify(recordReaderListener, times(3)).beforeRecordReading();
+        verify(recordReaderListener, times(3)).afterRecordReading(any());
+    }
+
+    /*
+     * Batch timeout tests
+     */
+
+    @Test
+    public void whenBatchTimeoutExpires_thenPartialBatchShouldBeWritten() throws Exception {
+        BlockingQueue<Record<String>> queue = new LinkedBlockingQueue<>();
+        queue.put(record1);
+        queue.put(record2);
+        List<Long> batchSizes = new ArrayList<>();
+        List<Long> writeTimes = new ArrayList<>();
+        job = new JobBuilder<String, String>()
+                .reader(new BlockingQueueRecordReader<>(queue, 1000))
+                .writer(batch -> {
+                    batchSizes.add(batch.size());
+                    writeTimes.add(System.nanoTime());
+                })
+                .batchSize(10)
+                .batchTimeout(Duration.ofMillis(50))
+                .build();
+
+        long startTime = System.nanoTime();
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(2);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(2);
+        assertThat(batchSizes).containsExactly(2L);
+        // the partial batch is written when the batch timeout expires, not when the reader times out
+        assertThat(Duration.ofNanos(writeTimes.get(0) - startTime)).isLessThan(Duration.ofMillis(1000));
+    }
+
     /*
      * Job Interruption tests
      *
@@ -868,4 +1095,170 @@ public class BatchJobTest {
         assertThat(recordCollector2.getRecords()).hasSize(1000000);
     }
 
+    /*
+     * Latency tracking tests
+     */
+
+    @Test
+    public void whenLatencyTrackingIsEnabled_thenLatenciesShouldBeRecorded() throws Exception {
+        job = new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<>(Arrays.asList("foo", "bar", "baz")))
+                .processor(record -> {
+                    Thread.sleep(2);
+                    return record;
+                })
+                .writer(batch -> { })
+                .batchSize(2)
+                .enableLatencyTracking(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        JobMetrics metrics = jobReport.getMetrics();
+        assertThat(metrics.getReadLatency().getCount()).isEqualTo(3);
+        assertThat(metrics.getProcessLatency().getCount()).isEqualTo(3);
+        assertThat(metrics.getProcessLatency().getPercentile(50)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(2));
+        assertThat(metrics.getWriteLatency().getCount()).isEqualTo(2);
+        assertThat(jobReport.toString()).contains("Read latency: p50 = ", "Process latency: p50 = ", "Write latency: p50 = ");
+    }
+
+    @Test
+    public void whenLatencyTrackingIsNotEnabled_thenLatenciesShouldNotBeRecorded() throws Exception {
+        job = new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<>(Arrays.asList("foo", "bar", "baz")))
+                .writer(batch -> { })
+                .build();
+
+        JobReport jobReport = job.call();
+
+        JobMetrics metrics = jobReport.getMetrics();
+        assertThat(metrics.getReadLatency().getCount()).isEqualTo(0);
+        assertThat(metrics.getProcessLatency().getCount()).isEqualTo(0);
+        assertThat(metrics.getWriteLatency().getCount()).isEqualTo(0);
+        assertThat(jobReport.toString()).doesNotContain("latency");
+    }
+
+    /*
+     * Checkpoint tests
+     */
+
+    @Test
+    public void whenJobIsRestartedAfterAFailure_thenItShouldResumeFromTheLastCheckpoint() throws Exception {
+        Path journal = Files.createTempFile("journal", ".log");
+        List<String> payloads = Arrays.asList("a", "b", "c", "d", "e");
+        List<String> written = new ArrayList<>();
+        RecordWriter<String> failingWriter = batch -> {
+            for (Record<String> record : batch) {
+                if (record.getPayload().equals("d")) {
+                    throw new Exception("Unable to write record d");
+                }
+                written.add(record.getPayload());
+            }
+        };
+
+        JobReport jobReport = new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<>(payloads))
+                .writer(failingWriter)
+                .batchSize(2)
+                .checkpointJournal(journal)
+                .build()
+                .call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(written).containsExactly("a", "b", "c");
+
+        written.clear();
+        List<Long> numbers = new ArrayList<>();
+        jobReport = new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<>(payloads))
+                .writer(batch -> batch.forEach(record -> {
+                    written.add(record.getPayload());
+                    numbers.add(record.getHeader().getNumber());
+                }))
+                .batchSize(2)
+                .checkpointJournal(journal)
+                .build()
+                .call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(3);
+        assertThat(written).containsExactly("c", "d", "e");
+        assertThat(numbers).containsExactly(3L, 4L, 5L);
+
+        written.clear();
+        new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<>(payloads))
+                .writer(batch -> batch.forEach(record -> written.add(record.getPayload())))
+                .checkpointJournal(journal)
+                .build()
+                .call();
+
+        assertThat(written).containsExactlyElementsOf(payloads);
+        Files.delete(journal);
+    }
+
+    @Test
+    public void whenReaderIsACursorRecordReader_thenProcessingThreadsAndPipeliningShouldBeRejected() {
+        CursorRecordReader<String> cursorRecordReader = () -> null;
+
+        JobReport parallelJobReport = new JobBuilder<String, String>()
+                .reader(cursorRecordReader)
+                .processingThreads(2)
+                .build()
+                .call();
+        JobReport pipelinedJobReport = new JobBuilder<String, String>()
+                .reader(cursorRecordReader)
+                .enablePipelining(true)
+                .build()
+                .call();
+        JobReport jobReport = new JobBuilder<String, String>()
+                .reader(cursorRecordReader)
+                .build()
+                .call();
+
+        assertThat(parallelJobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(parallelJobReport.getLastError()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(pipelinedJobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(pipelinedJobReport.getLastError()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+    }
+
+    @Test
+    public void whenJobIsPipelined_thenCheckpointsShouldBeCommittedAfterWrittenBatches() throws Exception {
+        Path journal = Files.createTempFile("journal", ".log");
+        List<String> payloads = Arrays.asList("a", "b", "c", "d", "e");
+
+        JobReport jobReport = new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<>(payloads))
+                .writer(batch -> {
+                    if (batch.iterator().next().getPayload().equals("c")) {
+                        throw new Exception("Unable to write batch");
+                    }
+                })
+                .batchSize(2)
+                .enablePipelining(true)
+                .pipelineQueueCapacity(2)
+                .checkpointJournal(journal)
+                .build()
+                .call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(Files.readAllLines(journal)).containsExactly("checkpoint 2");
+        Files.delete(journal);
+    }
+
+    @Test
+    public void whenReaderIsNotSeekable_thenJobWithCheckpointJournalShouldFail() throws Exception {
+        Path journal = Files.createTempFile("journal", ".log");
+
+        JobReport jobReport = new JobBuilder<String, String>()
+                .reader(reader)
+                .checkpointJournal(journal)
+                .build()
+                .call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isInstanceOf(IllegalArgumentException.class);
+        Files.delete(journal);
+    }
 }
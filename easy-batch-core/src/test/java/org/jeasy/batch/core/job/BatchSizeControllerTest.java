@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import java.time.Duration;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchSizeControllerTest {
+
+    private JobParameters parameters;
+
+    @Before
+    public void setUp() {
+        parameters = new JobParameters();
+        parameters.setBatchSize(100);
+        parameters.setMinBatchSize(10);
+        parameters.setMaxBatchSize(1000);
+        parameters.setTargetWriteLatency(Duration.ofMillis(100));
+    }
+
+    @Test
+    public void whenAdaptiveBatchSizingIsDisabled_thenBatchSizeShouldNotChange() {
+        parameters.setTargetWriteLatency(null);
+        BatchSizeController controller = new BatchSizeController(parameters);
+
+        controller.onBatchWritten(100, Duration.ofSeconds(10).toNanos());
+
+        assertThat(controller.getBatchSize()).isEqualTo(100);
+    }
+
+    @Test
+    public void whenBatchIsWrittenFasterThanTargetLatency_thenBatchSizeShouldGrow() {
+        BatchSizeController controller = new BatchSizeController(parameters);
+
+        controller.onBatchWritten(100, Duration.ofMillis(10).toNanos());
+
+        assertThat(controller.getBatchSize()).isEqualTo(200); // growth is limited to a factor of 2
+    }
+
+    @Test
+    public void whenBatchIsWrittenSlowerThanTargetLatency_thenBatchSizeShouldShrink() {
+        BatchSizeController controller = new BatchSizeController(parameters);
+
+        controller.onBatchWritten(100, Duration.ofMillis(125).toNanos());
+
+        assertThat(controller.getBatchSize()).isEqualTo(80);
+    }
+
+    @Test
+    public void batchSizeShouldStayWithinBounds() {
+        BatchSizeController controller = new BatchSizeController(parameters);
+
+        for (int i = 0; i < 10; i++) {
+            controller.onBatchWritten(controller.getBatchSize(), Duration.ofMillis(1).toNanos());
+        }
+        assertThat(controller.getBatchSize()).isEqualTo(1000);
+
+        for (int i = 0; i < 10; i++) {
+            controller.onBatchWritten(controller.getBatchSize(), Duration.ofSeconds(10).toNanos());
+        }
+        assertThat(controller.getBatchSize()).isEqualTo(10);
+    }
+
+    @Test
+    public void initialBatchSizeShouldBeWithinBounds() {
+        parameters.setBatchSize(5000);
+
+        BatchSizeController controller = new BatchSizeController(parameters);
+
+        assertThat(controller.getBatchSize()).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheckpointJournalTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path path;
+
+    @Before
+    public void setUp() throws Exception {
+        path = temporaryFolder.getRoot().toPath().resolve("journal");
+    }
+
+    @Test
+    public void whenJournalDoesNotExist_thenNoPositionShouldBeReturned() throws Exception {
+        CheckpointJournal journal = new CheckpointJournal(path, 1);
+
+        assertThat(journal.open()).isNull();
+        journal.close();
+
+        assertThat(path).exists();
+    }
+
+    @Test
+    public void whenLastRunDidNotComplete_thenLastPositionShouldBeReturned() throws Exception {
+        CheckpointJournal journal = new CheckpointJournal(path, 2);
+        journal.open();
+        journal.commit("10");
+        journal.commit("20");
+        journal.commit("30");
+        journal.close();
+
+        journal = new CheckpointJournal(path, 2);
+        assertThat(journal.open()).isEqualTo("30");
+        journal.close();
+        // the journal is compacted on open
+        assertThat(Files.readAllLines(path)).containsExactly("checkpoint 30");
+    }
+
+    @Test
+    public void whenLastRunCompleted_thenNoPositionShouldBeReturned() throws Exception {
+        CheckpointJournal journal = new CheckpointJournal(path, 1);
+        journal.open();
+        journal.commit("10");
+        journal.complete();
+        journal.close();
+
+        journal = new CheckpointJournal(path, 1);
+        assertThat(journal.open()).isNull();
+        journal.close();
+        assertThat(Files.size(path)).isEqualTo(0);
+    }
+
+    @Test
+    public void whenLastLineIsTorn_thenItShouldBeIgnored() throws Exception {
+        Files.write(path, "checkpoint 10\ncheckpoint 20\ncheckp".getBytes(StandardCharsets.UTF_8));
+
+        CheckpointJournal journal = new CheckpointJournal(path, 1);
+
+        assertThat(journal.open()).isEqualTo("20");
+        journal.close();
+    }
+
+    @Test
+    public void whenJournalIsLargerThanItsTail_thenLastPositionShouldBeReturned() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append("checkpoint ").append(i).append('\n');
+        }
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(path, "x".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        CheckpointJournal journal = new CheckpointJournal(path, 1);
+
+        assertThat(journal.open()).isEqualTo("19999");
+        journal.close();
+    }
+
+    @Test
+    public void positionsWithLineBreaksShouldBeEscaped() throws Exception {
+        String position = "a\\b\nc\rd";
+        CheckpointJournal journal = new CheckpointJournal(path, 1);
+        journal.open();
+        journal.commit(position);
+        journal.close();
+
+        journal = new CheckpointJournal(path, 1);
+        assertThat(journal.open()).isEqualTo(position);
+        journal.close();
+    }
+}
@@ -91,6 +91,11 @@ public class DefaultJobReportMergerTest {
         assertEquals(2, finalJobReport.getMetrics().getErrorCount());// sum of error records
         assertEquals(startTime1, finalJobReport.getMetrics().getStartTime());// min of start times
         assertEquals(endTime2, finalJobReport.getMetrics().getEndTime());// max of end times
+        // merged counts are not marked as processed during the rate window
+        assertThat(finalJobReport.getMetrics().getReadRate()).isZero();
+        assertThat(finalJobReport.getMetrics().getWriteRate()).isZero();
+        assertThat(finalJobReport.getMetrics().getFilterRate()).isZero();
+        assertThat(finalJobReport.getMetrics().getErrorRate()).isZero();
 
         //if one partial report has aborted, the final result should be also aborted
         assertEquals(JobStatus.FAILED, finalJobReport.getStatus());
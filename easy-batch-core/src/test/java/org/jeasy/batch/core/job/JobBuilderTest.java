@@ -25,6 +25,8 @@ package org.jeasy.batch.core.job;
 
 import org.junit.Test;
 
+import java.time.Duration;
+
 public class JobBuilderTest {
 
     @Test(expected = IllegalArgumentException.class)
@@ -36,4 +38,29 @@ public class JobBuilderTest {
     public void whenErrorThresholdIsLessThanZero_thenShouldThrowAnIllegalArgumentException() {
         new JobBuilder<Integer, Integer>().errorThreshold(-1);
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenProcessingThreadsIsLessThanOne_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().processingThreads(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPipelineQueueCapacityIsLessThanOne_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().pipelineQueueCapacity(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMaxBatchSizeIsLessThanMinBatchSize_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().adaptiveBatchSize(100, 10, Duration.ofSeconds(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenJmxNotificationIntervalIsZero_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().jmxNotificationInterval(Duration.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenJmxNotificationRecordsIsLessThanOne_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().jmxNotificationRecords(0);
+    }
 }
@@ -28,9 +28,13 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -93,4 +97,56 @@ public class JobExecutorTest {
         //then
         verify(executorService).shutdown();
     }
+
+    @Test
+    public void virtualThreadJobExecutorShouldLimitTheNumberOfConcurrentJobs() throws Exception {
+        AtomicInteger runningJobs = new AtomicInteger();
+        AtomicInteger maxRunningJobs = new AtomicInteger();
+        Answer<JobReport> answer = invocation -> {
+            maxRunningJobs.accumulateAndGet(runningJobs.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            runningJobs.decrementAndGet();
+            return report;
+        };
+        when(job.call()).thenAnswer(answer);
+        when(anotherJob.call()).thenAnswer(answer);
+        JobExecutor virtualThreadJobExecutor = JobExecutor.newVirtualThreadJobExecutor(2);
+
+        //when
+        List<Future<JobReport>> reports = virtualThreadJobExecutor.submitAll(job, anotherJob, job, anotherJob, job);
+        virtualThreadJobExecutor.shutdown();
+        virtualThreadJobExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(reports).hasSize(5);
+        for (Future<JobReport> jobReport : reports) {
+            assertThat(jobReport.get()).isEqualTo(report);
+        }
+        assertThat(maxRunningJobs.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void executeAllShouldMergeReportsOfAllJobs() {
+        JobReport anotherReport = new JobReport();
+        JobReport mergedReport = new JobReport();
+        JobReportMerger jobReportMerger = reports -> {
+            assertThat(reports).containsExactly(report, anotherReport);
+            return mergedReport;
+        };
+        when(job.call()).thenReturn(report);
+        when(anotherJob.call()).thenReturn(anotherReport);
+        JobExecutor parallelJobExecutor = new JobExecutor(2);
+
+        //when
+        JobReport actual = parallelJobExecutor.executeAll(asList(job, anotherJob), jobReportMerger);
+        parallelJobExecutor.shutdown();
+
+        //then
+        assertThat(actual).isSameAs(mergedReport);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMaxConcurrentJobsIsLessThanOne_thenShouldThrowAnIllegalArgumentException() {
+        JobExecutor.newVirtualThreadJobExecutor(0);
+    }
 }
@@ -26,6 +26,9 @@ package org.jeasy.batch.core.job;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -89,6 +92,40 @@ public class JobMetricsTest {
         assertThat(jobMetrics.getWriteCount()).isEqualTo(20);
     }
 
+    @Test
+    public void testConcurrentCountUpdates() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    jobMetrics.incrementReadCount();
+                    jobMetrics.incrementWriteCount(2);
+                }
+            });
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(jobMetrics.getReadCount()).isEqualTo(4000);
+        assertThat(jobMetrics.getWriteCount()).isEqualTo(8000);
+    }
+
+    @Test
+    public void testRates() {
+        assertThat(jobMetrics.getReadRate()).isEqualTo(0);
+        assertThat(jobMetrics.getWriteRate()).isEqualTo(0);
+        jobMetrics.incrementReadCount(20);
+        jobMetrics.incrementWriteCount(10);
+        jobMetrics.incrementFilterCount(4);
+        jobMetrics.incrementErrorCount(2);
+
+        // elapsed time is rounded up to one or two seconds depending on the clock
+        assertThat(jobMetrics.getReadRate()).isBetween(10d, 20d);
+        assertThat(jobMetrics.getWriteRate()).isBetween(5d, 10d);
+        assertThat(jobMetrics.getFilterRate()).isBetween(2d, 4d);
+        assertThat(jobMetrics.getErrorRate()).isBetween(1d, 2d);
+    }
+
     @Test
     public void testStartEndTimesAndDuration() {
         assertThat(jobMetrics.getStartTime()).isNull();
@@ -113,6 +150,8 @@ public class JobMetricsTest {
         assertThat(jobMetrics.getCustomMetrics().size()).isEqualTo(2);
         assertThat(jobMetrics.getCustomMetrics().get("metric1")).isEqualTo(987654321L);
         assertThat(jobMetrics.getCustomMetrics().get("metric2")).isEqualTo("aValue");
+        jobMetrics.addMetric("metric2", null);
+        assertThat(jobMetrics.getCustomMetrics()).containsOnlyKeys("metric1");
     }
 
 }
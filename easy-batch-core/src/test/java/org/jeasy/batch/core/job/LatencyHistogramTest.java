@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void whenNoLatencyIsRecorded_thenPercentilesShouldBeZero() {
+        assertThat(histogram.getCount()).isEqualTo(0);
+        assertThat(histogram.getPercentile(50)).isEqualTo(0);
+        assertThat(histogram.getMax()).isEqualTo(0);
+    }
+
+    @Test
+    public void percentilesShouldBeWithinBucketPrecision() {
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMax()).isEqualTo(1_000_000);
+        assertThat(histogram.getPercentile(50)).isBetween(500_000L, 535_000L);
+        assertThat(histogram.getPercentile(90)).isBetween(900_000L, 963_000L);
+        assertThat(histogram.getPercentile(99)).isBetween(990_000L, 1_000_000L);
+        assertThat(histogram.getPercentile(100)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    public void smallLatenciesShouldBeExact() {
+        histogram.record(3, 2);
+        histogram.record(7);
+
+        assertThat(histogram.getCount()).isEqualTo(3);
+        assertThat(histogram.getPercentile(50)).isEqualTo(3);
+        assertThat(histogram.getPercentile(99)).isEqualTo(7);
+    }
+
+    @Test
+    public void bucketsShouldCoverAllValues() {
+        long[] values = {0, 15, 16, 17, 31, 32, 1023, 1024, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void testMerge() {
+        LatencyHistogram other = new LatencyHistogram();
+        histogram.record(10);
+        other.record(2000, 3);
+
+        histogram.merge(other);
+
+        assertThat(histogram.getCount()).isEqualTo(4);
+        assertThat(histogram.getMax()).isEqualTo(2000);
+        assertThat(histogram.getPercentile(25)).isEqualTo(10);
+    }
+
+    @Test
+    public void testToString() {
+        histogram.record(500); // reported as the upper bound of its bucket
+        histogram.record(1_500_000);
+
+        assertThat(histogram.toString()).isEqualTo("p50 = 511ns, p90 = 1.5ms, p99 = 1.5ms, max = 1.5ms");
+    }
+}
@@ -146,7 +146,40 @@ public class ObjectMapperTest {
         assertThat(person.getAge()).isEqualTo(0);
     }
 
-}
+    @Test
+    public void whenFieldNamesAreSet_ThenValuesShouldBeMappedByIndex() throws Exception {
+
+        ObjectMapper<Person> mapper = new ObjectMapper<>(Person.class);
+        mapper.setFieldNames("firstName", null, "age", "nickName", "married");
+
+        Person person = mapper.mapObject(new String[]{"foo", "bar", "30", "FB", "true", "ignored"});
+
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getLastName()).isNull();
+        assertThat(person.getAge()).isEqualTo(30);
+        assertThat(person.isMarried()).isTrue();
+    }
+
+    @Test
+    public void whenATypeConverterIsRegisteredAfterFieldNames_ThenItShouldBeUsedToMapValuesByIndex() throws Exception {
 
+        ObjectMapper<Person> mapper = new ObjectMapper<>(Person.class);
+        mapper.setFieldNames("gender");
+        mapper.registerTypeConverter(new TypeConverter<String, Gender>() {
+            @Override
+            public Gender convert(String value) {
+                return Gender.valueOf(value.toUpperCase());
+            }
+        });
+
+        Person person = mapper.mapObject(new String[]{"female"});
+
+        assertThat(person.getGender()).isEqualTo(Gender.FEMALE);
+    }
 
+    @Test(expected = IllegalStateException.class)
+    public void whenFieldNamesAreNotSet_ThenMappingValuesByIndexShouldFail() throws Exception {
+        new ObjectMapper<>(Person.class).mapObject(new String[]{"foo"});
+    }
 
+}
@@ -25,7 +25,9 @@ package org.jeasy.batch.core.reader;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.Record;
 import org.junit.Before;
 import org.junit.Test;
@@ -61,4 +63,31 @@ public class BlockingQueueRecordReaderTest {
         assertThat(queue).isEmpty();
     }
 
+    @Test
+    public void whenNoRecordIsAvailableWithinPollTimeout_thenShouldNotSignalEndOfStream() throws Exception {
+        assertThat(blockingQueueRecordReader.pollRecord(10, TimeUnit.MILLISECONDS)).isEqualTo(record);
+        assertThat(blockingQueueRecordReader.pollRecord(10, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(blockingQueueRecordReader.isEndOfStream()).isFalse();
+    }
+
+    @Test
+    public void whenNoRecordIsAvailableWithinReaderTimeout_thenShouldSignalEndOfStream() throws Exception {
+        assertThat(blockingQueueRecordReader.pollRecord(10, TimeUnit.MILLISECONDS)).isEqualTo(record);
+        assertThat(blockingQueueRecordReader.pollRecord(1, TimeUnit.SECONDS)).isNull();
+        assertThat(blockingQueueRecordReader.isEndOfStream()).isTrue();
+    }
+
+    @Test
+    public void testReadRecords() throws Exception {
+        queue.put(record);
+        queue.put(record);
+        Batch<String> batch = new Batch<>();
+
+        assertThat(blockingQueueRecordReader.readRecords(2, batch)).isEqualTo(2);
+        assertThat(blockingQueueRecordReader.readRecords(2, batch)).isEqualTo(1);
+        assertThat(blockingQueueRecordReader.readRecords(2, batch)).isEqualTo(0);
+        assertThat(batch.size()).isEqualTo(3);
+        assertThat(queue).isEmpty();
+    }
+
 }
@@ -23,6 +23,7 @@
  */
 package org.jeasy.batch.core.reader;
 
+import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.GenericRecord;
 import org.junit.Before;
 import org.junit.Test;
@@ -30,6 +31,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -68,4 +70,30 @@ public class IterableRecordReaderTest {
         assertThat(genericRecord.getPayload()).isEqualTo(RECORD);
     }
 
+    @Test
+    public void testReadRecords() {
+        iterableRecordReader = new IterableRecordReader<>(Arrays.asList("foo", "bar", "baz"));
+        iterableRecordReader.open();
+        Batch<String> batch = new Batch<>();
+
+        assertThat(iterableRecordReader.readRecords(2, batch)).isEqualTo(2);
+        assertThat(iterableRecordReader.readRecords(2, batch)).isEqualTo(1);
+        assertThat(iterableRecordReader.readRecords(2, batch)).isEqualTo(0);
+        assertThat(batch.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSeek() {
+        iterableRecordReader = new IterableRecordReader<>(Arrays.asList("foo", "bar", "baz"));
+        iterableRecordReader.open();
+        iterableRecordReader.seek("2");
+
+        GenericRecord<String> genericRecord = iterableRecordReader.readRecord();
+        assertThat(genericRecord.getPayload()).isEqualTo("baz");
+        assertThat(genericRecord.getHeader().getNumber()).isEqualTo(3);
+        assertThat(iterableRecordReader.getPosition()).isEqualTo("3");
+        assertThat(iterableRecordReader.readRecord()).isNull();
+        assertThat(iterableRecordReader.getPosition()).isEqualTo("3");
+    }
+
 }
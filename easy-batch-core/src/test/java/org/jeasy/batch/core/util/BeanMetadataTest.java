@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.util;
+
+import org.jeasy.batch.core.beans.Person;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanMetadataTest {
+
+    @Test
+    public void metadataShouldBeComputedOncePerType() {
+        assertThat(BeanMetadata.of(Person.class)).isSameAs(BeanMetadata.of(Person.class));
+        assertThat(BeanMetadata.of(Person.class).getSetter("age")).isSameAs(BeanMetadata.of(Person.class).getSetter("age"));
+    }
+
+    @Test
+    public void propertiesShouldNotContainTheClassProperty() {
+        assertThat(BeanMetadata.of(Person.class).getProperties())
+                .containsKeys("firstName", "lastName", "age", "married")
+                .doesNotContainKey("class");
+    }
+
+    @Test
+    public void compiledAccessorsShouldReadAndWriteProperties() {
+        BeanMetadata metadata = BeanMetadata.of(Person.class);
+        Person person = metadata.<Person>getConstructor().get();
+
+        metadata.getSetter("age").accept(person, 30);
+        metadata.getSetter("firstName").accept(person, "foo");
+
+        assertThat(person.getAge()).isEqualTo(30);
+        assertThat(metadata.getGetter("age").apply(person)).isEqualTo(30);
+        assertThat(metadata.getGetter("firstName").apply(person)).isEqualTo("foo");
+        assertThat(metadata.getSetter("unknown")).isNull();
+        assertThat(metadata.getGetter("unknown")).isNull();
+    }
+
+    @Test
+    public void computedMetadataShouldBeComputedOncePerKey() {
+        Object key = new Object();
+        AtomicInteger computations = new AtomicInteger();
+
+        String first = BeanMetadata.of(Person.class).computeIfAbsent(key, type -> type.getSimpleName() + computations.incrementAndGet());
+        String second = BeanMetadata.of(Person.class).computeIfAbsent(key, type -> type.getSimpleName() + computations.incrementAndGet());
+
+        assertThat(first).isEqualTo("Person1").isSameAs(second);
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressionTest {
+
+    private static final byte[] CONTENT = "id,user,message\n1,foo,easy batch rocks!\n".getBytes(StandardCharsets.UTF_8);
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("compression");
+    }
+
+    @Test
+    public void compressionShouldBeDerivedFromExtension() {
+        assertThat(Compression.fromExtension(Paths.get("tweets.csv.gz"))).isEqualTo(Compression.GZIP);
+        assertThat(Compression.fromExtension(Paths.get("tweets.csv.GZIP"))).isEqualTo(Compression.GZIP);
+        assertThat(Compression.fromExtension(Paths.get("tweets.csv.zz"))).isEqualTo(Compression.DEFLATE);
+        assertThat(Compression.fromExtension(Paths.get("tweets.zip"))).isEqualTo(Compression.ZIP);
+        assertThat(Compression.fromExtension(Paths.get("tweets.csv"))).isEqualTo(Compression.NONE);
+    }
+
+    @Test
+    public void compressedContentShouldBeReadBack() throws Exception {
+        for (Compression compression : Compression.values()) {
+            Path file = directory.resolve("tweets-" + compression);
+            try (OutputStream outputStream = compression.compress(new FileOutputStream(file.toFile()), "tweets.csv")) {
+                outputStream.write(CONTENT);
+            }
+            try (InputStream inputStream = compression.decompress(new FileInputStream(file.toFile()))) {
+                assertThat(readAll(inputStream)).as(compression.name()).isEqualTo(CONTENT);
+            }
+        }
+    }
+
+    @Test
+    public void whenGzipStreamIsFlushed_thenContentWrittenSoFarShouldBeDecompressible() throws Exception {
+        byte[] content = "easy batch rocks!\n".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (OutputStream outputStream = Compression.GZIP.compress(compressed, "tweets.csv")) {
+            outputStream.write(content);
+            outputStream.flush();
+
+            assertThat(ParallelGzipOutputStreamTest.inflateFlushedContent(compressed.toByteArray())).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void gzipAndZipFilesShouldBeDetectedFromTheirContent() throws Exception {
+        for (Compression compression : new Compression[]{Compression.GZIP, Compression.ZIP, Compression.NONE}) {
+            Path file = directory.resolve("tweets-" + compression + ".bin");
+            try (OutputStream outputStream = compression.compress(new FileOutputStream(file.toFile()), "tweets.csv")) {
+                outputStream.write(CONTENT);
+            }
+            assertThat(Compression.detect(file)).isEqualTo(compression);
+        }
+    }
+
+    @Test
+    public void entryNameShouldBeTheFileNameWithoutCompressionExtension() {
+        assertThat(Compression.ZIP.getEntryName(Paths.get("out/tweets.csv.zip"))).isEqualTo("tweets.csv");
+        assertThat(Compression.NONE.getEntryName(Paths.get("out/tweets.csv"))).isEqualTo("tweets.csv");
+    }
+
+    static byte[] readAll(InputStream inputStream) throws Exception {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) > 0) {
+            content.write(buffer, 0, read);
+        }
+        return content.toByteArray();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
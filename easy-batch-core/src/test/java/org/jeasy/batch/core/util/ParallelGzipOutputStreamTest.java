@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelGzipOutputStreamTest {
+
+    @Test
+    public void contentCompressedInParallelShouldBeReadableAsASingleGzipStream() throws Exception {
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            text.append(i).append(",user-").append(random.nextInt(100)).append(",easy batch rocks!\n");
+        }
+        byte[] content = text.toString().getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (ParallelGzipOutputStream outputStream = new ParallelGzipOutputStream(compressed, 4, 4096)) {
+            outputStream.write(content, 0, 1000);
+            outputStream.write(content[1000]);
+            outputStream.flush();
+            outputStream.write(content, 1001, content.length - 1001);
+        }
+
+        assertThat(compressed.size()).isLessThan(content.length / 2);
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThat(CompressionTest.readAll(inputStream)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void emptyContentShouldBeAValidGzipStream() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        new ParallelGzipOutputStream(compressed).close();
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThat(inputStream.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void whenStreamIsSyncFlushed_thenContentWrittenSoFarShouldBeDecompressible() throws Exception {
+        byte[] content = "easy batch rocks!\n".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (ParallelGzipOutputStream outputStream = new ParallelGzipOutputStream(compressed, 2, 4096)) {
+            outputStream.write(content);
+            outputStream.syncFlush();
+
+            assertThat(inflateFlushedContent(compressed.toByteArray())).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void whenSmallBatchesAreFlushed_thenBlocksShouldStillBeCompressedConcurrently() throws Exception {
+        AtomicInteger compressing = new AtomicInteger();
+        AtomicInteger maxCompressing = new AtomicInteger();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] batch = new byte[500]; // smaller than a block
+
+        try (ParallelGzipOutputStream outputStream = new ParallelGzipOutputStream(compressed, 4, 1024) {
+            @Override
+            byte[] compressBlock(byte[] data, int length, boolean last) {
+                maxCompressing.accumulateAndGet(compressing.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                compressing.decrementAndGet();
+                return super.compressBlock(data, length, last);
+            }
+        }) {
+            for (int i = 0; i < 40; i++) {
+                outputStream.write(batch);
+                outputStream.flush();
+            }
+        }
+
+        assertThat(maxCompressing.get()).isGreaterThan(1);
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThat(CompressionTest.readAll(inputStream)).hasSize(40 * batch.length);
+        }
+    }
+
+    @Test
+    public void whenWritingABlockFails_thenCloseShouldStillCloseTheOutputStream() throws Exception {
+        FailingOutputStream failingOutputStream = new FailingOutputStream();
+        ParallelGzipOutputStream outputStream = new ParallelGzipOutputStream(failingOutputStream, 2, 4096);
+        outputStream.write(new byte[10000]);
+        failingOutputStream.failing = true;
+
+        assertThatThrownBy(outputStream::close).isInstanceOf(IOException.class);
+        assertThat(failingOutputStream.closed).isTrue();
+    }
+
+    /*
+     * Inflate the deflate blocks of a gzip stream which has been flushed but not closed yet.
+     */
+    static byte[] inflateFlushedContent(byte[] gzip) throws Exception {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(gzip, 10, gzip.length - 10); // skip the gzip header
+            byte[] buffer = new byte[4096];
+            int length = inflater.inflate(buffer);
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static class FailingOutputStream extends OutputStream {
+
+        private boolean failing;
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (failing) {
+                throw new IOException("Unable to write");
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -34,11 +34,21 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.zip.GZIPInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.jeasy.batch.core.util.Utils.LINE_SEPARATOR;
 
 /**
@@ -74,6 +84,79 @@ public class FileRecordWriterTest {
         assertThat(path).hasContent("foo" + LINE_SEPARATOR + "bar" + LINE_SEPARATOR);
     }
 
+    @Test
+    public void whenOutputFileHasGzipExtension_thenOutputShouldBeCompressed() throws Exception {
+        Path gzipPath = Paths.get("target/test.txt.gz");
+        FileRecordWriter gzipWriter = new FileRecordWriter(gzipPath);
+        gzipWriter.setCharset(StandardCharsets.UTF_8);
+        gzipWriter.setCompressionThreads(2);
+        gzipWriter.open();
+        for (int i = 0; i < 10; i++) {
+            Batch<String> batch = new Batch<>();
+            for (int j = 0; j < 1000; j++) {
+                batch.addRecord(new StringRecord(header, "record-" + (i * 1000 + j)));
+            }
+            gzipWriter.writeRecords(batch);
+        }
+        gzipWriter.close();
+
+        try (LineNumberReader reader = new LineNumberReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(gzipPath.toFile())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                assertThat(line).isEqualTo("record-" + (reader.getLineNumber() - 1));
+            }
+            assertThat(reader.getLineNumber()).isEqualTo(10000);
+        }
+        Files.delete(gzipPath);
+    }
+
+    @Test
+    public void whenFooterCallbackFails_thenCompressedOutputShouldStillBeClosed() throws Exception {
+        Path gzipPath = Paths.get("target/test-footer.txt.gz");
+        FileRecordWriter gzipWriter = new FileRecordWriter(gzipPath);
+        gzipWriter.setCharset(StandardCharsets.UTF_8);
+        gzipWriter.setFooterCallback(footerWriter -> {
+            throw new IOException("footer failure");
+        });
+        gzipWriter.open();
+        gzipWriter.writeRecords(new Batch<>(record1, record2));
+
+        assertThatThrownBy(gzipWriter::close).isInstanceOf(IOException.class).hasMessage("footer failure");
+
+        assertThat(readCompressed(gzipPath)).isEqualTo("foo" + LINE_SEPARATOR + "bar" + LINE_SEPARATOR);
+        Files.delete(gzipPath);
+    }
+
+    @Test
+    public void whenHeaderCallbackFails_thenCompressedOutputShouldBeClosed() throws Exception {
+        Path gzipPath = Paths.get("target/test-header.txt.gz");
+        FileRecordWriter gzipWriter = new FileRecordWriter(gzipPath);
+        gzipWriter.setCompressionThreads(2);
+        gzipWriter.setHeaderCallback(headerWriter -> {
+            throw new IOException("header failure");
+        });
+
+        assertThatThrownBy(gzipWriter::open).isInstanceOf(IOException.class).hasMessage("header failure");
+
+        // the gzip trailer is only written when the stream is closed
+        assertThat(readCompressed(gzipPath)).isEmpty();
+        gzipWriter.close(); // no-op after a failed open
+        Files.delete(gzipPath);
+    }
+
+    private static String readCompressed(Path gzipPath) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (InputStream inputStream = new GZIPInputStream(new FileInputStream(gzipPath.toFile()))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+
     @After
     public void tearDown() throws Exception {
         writer.close();
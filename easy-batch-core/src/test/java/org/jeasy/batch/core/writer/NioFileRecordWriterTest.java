@@ -0,0 +1,154 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.record.StringRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link NioFileRecordWriter}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class NioFileRecordWriterTest {
+
+    private final StreamingRecordMarshaller<String> marshaller = (record, writer) -> writer.write(record.getPayload());
+
+    @Mock
+    private Header header;
+
+    private Path directory;
+
+    private NioFileRecordWriter<String> writer;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("nio-file-record-writer");
+    }
+
+    @Test
+    public void testFileWriting() throws Exception {
+        Path path = directory.resolve("test.txt");
+        writer = new NioFileRecordWriter<>(path, marshaller);
+        writer.setLineSeparator("\n");
+        writer.setHeaderCallback(output -> output.write("header"));
+        writer.setFooterCallback(output -> output.write("footer"));
+        writer.setSyncPolicy(NioFileRecordWriter.SyncPolicy.BATCH);
+        writer.open();
+
+        writer.writeRecords(batch("foo", "bar"));
+        assertThat(path).hasContent("header\nfoo\nbar\n");
+        writer.writeRecords(batch("baz"));
+        writer.close();
+
+        assertThat(path).hasContent("header\nfoo\nbar\nbaz\nfooter\n");
+    }
+
+    @Test
+    public void whenRecordsAreLargerThanTheBuffer_thenTheyShouldBeWrittenEntirely() throws Exception {
+        Path path = directory.resolve("test.txt");
+        String large = String.join("", Collections.nCopies(20000, "é"));
+        writer = new NioFileRecordWriter<>(path, marshaller);
+        writer.setCharset(StandardCharsets.UTF_8);
+        writer.setLineSeparator("\n");
+        writer.setBufferSize(100);
+        writer.open();
+
+        writer.writeRecords(batch(large, "😀", large));
+        writer.close();
+
+        assertThat(new String(Files.readAllBytes(path), StandardCharsets.UTF_8))
+                .isEqualTo(large + "\n😀\n" + large + "\n");
+    }
+
+    @Test
+    public void whenMaxRecordsPerFileIsReached_thenOutputShouldBeRolled() throws Exception {
+        Path path = directory.resolve("test.txt");
+        writer = new NioFileRecordWriter<>(path, marshaller);
+        writer.setLineSeparator("\n");
+        writer.setHeaderCallback(output -> output.write("header"));
+        writer.setFooterCallback(output -> output.write("footer"));
+        writer.setMaxRecordsPerFile(2);
+        writer.open();
+
+        writer.writeRecords(batch("a", "b", "c"));
+        writer.writeRecords(batch("d", "e"));
+        writer.close();
+
+        assertThat(path).doesNotExist();
+        assertThat(directory.resolve("test-1.txt")).hasContent("header\na\nb\nfooter\n");
+        assertThat(directory.resolve("test-2.txt")).hasContent("header\nc\nd\nfooter\n");
+        assertThat(directory.resolve("test-3.txt")).hasContent("header\ne\nfooter\n");
+    }
+
+    @Test
+    public void whenMaxBytesPerFileIsReached_thenOutputShouldBeRolled() throws Exception {
+        Path path = directory.resolve("test");
+        writer = new NioFileRecordWriter<>(path, marshaller);
+        writer.setLineSeparator("\n");
+        writer.setMaxBytesPerFile(8);
+        writer.open();
+
+        writer.writeRecords(batch("foo", "bar", "baz", "quux", "x"));
+        writer.close();
+
+        assertThat(directory.resolve("test-1")).hasContent("foo\nbar\n");
+        assertThat(directory.resolve("test-2")).hasContent("baz\nquux\n");
+        assertThat(directory.resolve("test-3")).hasContent("x\n");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Batch<String> batch(String... payloads) {
+        Record<String>[] records = Stream.of(payloads).map(payload -> new StringRecord(header, payload)).toArray(Record[]::new);
+        return new Batch<>(records);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
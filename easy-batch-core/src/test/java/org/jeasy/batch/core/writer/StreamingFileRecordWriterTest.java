@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jeasy.batch.core.util.Utils.LINE_SEPARATOR;
+
+/**
+ * Test class for {@link StreamingFileRecordWriter}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StreamingFileRecordWriterTest {
+
+    private final Path path = Paths.get("target/test-streaming.txt");
+
+    @Mock
+    private Header header;
+
+    private StreamingFileRecordWriter<Integer> writer;
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testFileWriting() throws Exception {
+        StreamingRecordMarshaller<Integer> marshaller = (record, output) -> output.append('#').append(String.valueOf(record.getPayload()));
+        writer = new StreamingFileRecordWriter<>(path, marshaller);
+        writer.setHeaderCallback(output -> output.write("header"));
+        writer.setFooterCallback(output -> output.write("footer"));
+        writer.open();
+
+        writer.writeRecords(new Batch<>(new GenericRecord<>(header, 1), new GenericRecord<>(header, 2)));
+        writer.writeRecords(new Batch<>(new GenericRecord<>(header, 3)));
+        writer.close();
+
+        assertThat(path).hasContent("header" + LINE_SEPARATOR + "#1" + LINE_SEPARATOR + "#2" + LINE_SEPARATOR
+                + "#3" + LINE_SEPARATOR + "footer" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void whenMarshallerClosesTheWriter_thenTheFileShouldRemainOpen() throws Exception {
+        StreamingRecordMarshaller<Integer> marshaller = (record, output) -> {
+            output.write(String.valueOf(record.getPayload()));
+            output.close();
+        };
+        writer = new StreamingFileRecordWriter<>(path, marshaller);
+        writer.open();
+
+        writer.writeRecords(new Batch<>(new GenericRecord<>(header, 1), new GenericRecord<>(header, 2)));
+        writer.close();
+
+        assertThat(path).hasContent("1" + LINE_SEPARATOR + "2" + LINE_SEPARATOR);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(path);
+    }
+}
@@ -76,8 +76,8 @@ public class ApacheCommonCsvRecordMarshaller<P> implements RecordMarshaller<P, S
     public StringRecord processRecord(final Record<P> record) throws Exception {
         StringWriter stringWriter = new StringWriter();
         CSVPrinter csvPrinter = new CSVPrinter(stringWriter, csvFormat);
-        Iterable<Object> iterable = fieldExtractor.extractFields(record.getPayload());
-        csvPrinter.printRecord(iterable);
+        fieldExtractor.extractFields(record.getPayload(), (index, value) -> csvPrinter.print(value));
+        csvPrinter.println();
         csvPrinter.flush();
         csvPrinter.close();
         return new StringRecord(record.getHeader(), stringWriter.toString());
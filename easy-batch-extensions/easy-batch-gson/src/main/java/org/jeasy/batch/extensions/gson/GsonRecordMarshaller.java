@@ -25,9 +25,12 @@ package org.jeasy.batch.extensions.gson;
 
 import com.google.gson.Gson;
 import org.jeasy.batch.core.marshaller.RecordMarshaller;
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.json.JsonRecord;
 
+import java.io.Writer;
+
 import static org.jeasy.batch.core.util.Utils.checkNotNull;
 
 /**
@@ -36,7 +39,7 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
  * @param <P> Target domain object class.
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class GsonRecordMarshaller<P> implements RecordMarshaller<P, String> {
+public class GsonRecordMarshaller<P> implements RecordMarshaller<P, String>, StreamingRecordMarshaller<P> {
 
     private Gson gson;
 
@@ -62,4 +65,9 @@ public class GsonRecordMarshaller<P> implements RecordMarshaller<P, String> {
         return new JsonRecord(record.getHeader(), gson.toJson(record.getPayload()));
     }
 
+    @Override
+    public void marshalRecord(final Record<P> record, final Writer writer) {
+        gson.toJson(record.getPayload(), writer);
+    }
+
 }
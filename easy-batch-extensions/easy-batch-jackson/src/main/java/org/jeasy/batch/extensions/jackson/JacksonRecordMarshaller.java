@@ -23,11 +23,16 @@
  */
 package org.jeasy.batch.extensions.jackson;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.jeasy.batch.core.marshaller.RecordMarshaller;
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.json.JsonRecord;
 
+import java.io.Writer;
+
 import static org.jeasy.batch.core.util.Utils.checkNotNull;
 
 /**
@@ -36,15 +41,16 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
  * @param <P> Target domain object class.
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class JacksonRecordMarshaller<P> implements RecordMarshaller<P, String> {
+public class JacksonRecordMarshaller<P> implements RecordMarshaller<P, String>, StreamingRecordMarshaller<P> {
 
     private ObjectMapper mapper;
+    private ObjectWriter writer;
 
     /**
      * Create a new {@link JacksonRecordMarshaller}.
      */
     public JacksonRecordMarshaller() {
-        mapper = new ObjectMapper();
+        this(new ObjectMapper());
     }
 
     /**
@@ -55,6 +61,9 @@ public class JacksonRecordMarshaller<P> implements RecordMarshaller<P, String> {
     public JacksonRecordMarshaller(final ObjectMapper mapper) {
         checkNotNull(mapper, "object mapper");
         this.mapper = mapper;
+        this.writer = mapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
     }
 
     @Override
@@ -62,4 +71,9 @@ public class JacksonRecordMarshaller<P> implements RecordMarshaller<P, String> {
         return new JsonRecord(record.getHeader(), mapper.writeValueAsString(record.getPayload()));
     }
 
+    @Override
+    public void marshalRecord(final Record<P> record, final Writer writer) throws Exception {
+        this.writer.writeValue(writer, record.getPayload());
+    }
+
 }
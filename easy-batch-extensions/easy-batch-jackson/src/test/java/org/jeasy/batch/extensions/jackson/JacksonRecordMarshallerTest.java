@@ -34,6 +34,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.StringWriter;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -60,4 +62,16 @@ public class JacksonRecordMarshallerTest {
         assertThat(actual.getHeader()).isEqualTo(header);
         assertThat(actual.getPayload()).isEqualTo(expected);
     }
+
+    @Test
+    public void marshalToWriter() throws Exception {
+        Record<Tweet> record = new GenericRecord<>(header, new Tweet(1, "foo", "hi"));
+        StringWriter writer = new StringWriter();
+
+        marshaller.marshalRecord(record, writer);
+        marshaller.marshalRecord(record, writer);
+
+        String expected = "{\"id\":1,\"user\":\"foo\",\"message\":\"hi\"}";
+        assertThat(writer.toString()).isEqualTo(expected + expected);
+    }
 }
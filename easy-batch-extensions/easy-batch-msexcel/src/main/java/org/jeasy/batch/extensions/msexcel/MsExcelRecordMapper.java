@@ -30,9 +30,6 @@ import org.jeasy.batch.core.mapper.RecordMapper;
 import org.jeasy.batch.core.record.GenericRecord;
 import org.jeasy.batch.core.record.Record;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Mapper that unmarshal MS Excel records to Java objects.
  *
@@ -53,20 +50,21 @@ public class MsExcelRecordMapper<P> implements RecordMapper<Row, P> {
     public MsExcelRecordMapper(final Class<P> type, final String... fields) {
         this.fields = fields;
         objectMapper = new ObjectMapper<>(type);
+        objectMapper.setFieldNames(fields);
     }
 
     public Record<P> processRecord(Record<Row> msExcelRecord) throws Exception {
-        P unmarshalledObject = objectMapper.mapObject(toMap(msExcelRecord.getPayload()));
+        P unmarshalledObject = objectMapper.mapObject(toValues(msExcelRecord.getPayload()));
         return new GenericRecord<>(msExcelRecord.getHeader(), unmarshalledObject);
     }
 
-    private Map<String, String> toMap(final Row row) {
-        Map<String, String> map = new HashMap<>();
+    private String[] toValues(final Row row) {
+        String[] values = new String[fields.length];
         for (int i = 0; i < fields.length; ++i) {
             Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-            map.put(fields[i], getCellValue(cell));
+            values[i] = getCellValue(cell);
         }
-        return map;
+        return values;
     }
 
     private String getCellValue(Cell cell) {
@@ -69,12 +69,7 @@ public class MsExcelRecordMarshaller<P> implements RecordMarshaller<P, Row> {
      */
     public MsExcelRecord processRecord(Record<P> record) throws Exception {
         Row row = new MsExcelRow();
-        Iterable<Object> values = fieldExtractor.extractFields(record.getPayload());
-        int i = 0;
-        for (Object value : values) {
-            Cell cell = row.createCell(i++);
-            setValue(cell, value);
-        }
+        fieldExtractor.extractFields(record.getPayload(), (index, value) -> setValue(row.createCell(index), value));
         return new MsExcelRecord(record.getHeader(), row);
     }
 
@@ -26,14 +26,13 @@ package org.jeasy.batch.extensions.opencsv;
 import com.opencsv.CSVWriter;
 import org.jeasy.batch.core.field.BeanFieldExtractor;
 import org.jeasy.batch.core.field.FieldExtractor;
+import org.jeasy.batch.core.field.FieldValues;
 import org.jeasy.batch.core.marshaller.RecordMarshaller;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.jeasy.batch.core.util.Utils;
 
 import java.io.StringWriter;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Marshals a POJO to CSV format using <a href="http://opencsv.sourceforge.net">Open CSV</a>.
@@ -80,21 +79,16 @@ public class OpenCsvRecordMarshaller<P> implements RecordMarshaller<P, String> {
              CSVWriter csvWriter = new CSVWriter(stringWriter, delimiter, qualifier, "")) {
             // force lineEnd to empty string
             P payload = record.getPayload();
-            List<String> fields = extractFields(payload);
-            String[] items = fields.toArray(new String[0]);
-            csvWriter.writeNext(items);
+            csvWriter.writeNext(extractFields(payload));
             csvWriter.flush();
             return new StringRecord(record.getHeader(), stringWriter.toString());
         }
     }
 
-    private List<String> extractFields(P payload) throws Exception {
-        List<String> tokens = new ArrayList<>();
-        Iterable<Object> objects = fieldExtractor.extractFields(payload);
-        for (Object object : objects) {
-            tokens.add(object.toString());
-        }
-        return tokens;
+    private String[] extractFields(P payload) throws Exception {
+        FieldValues items = FieldValues.ofStrings(fieldExtractor);
+        fieldExtractor.extractFields(payload, items);
+        return items.toStringArray();
     }
 
     /**
@@ -27,14 +27,14 @@ import com.univocity.parsers.common.AbstractWriter;
 import com.univocity.parsers.common.CommonWriterSettings;
 import org.jeasy.batch.core.field.BeanFieldExtractor;
 import org.jeasy.batch.core.field.FieldExtractor;
+import org.jeasy.batch.core.field.FieldValues;
 import org.jeasy.batch.core.marshaller.RecordMarshaller;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.jeasy.batch.core.util.Utils;
 
 import java.io.StringWriter;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.Writer;
 
 /**
  * Marshals a POJO to a format supported by  <a href="http://www.univocity.com/">uniVocity</a>.
@@ -49,7 +49,6 @@ abstract class AbstractUnivocityRecordMarshaller<P, S extends CommonWriterSettin
 
     private final FieldExtractor<P> fieldExtractor;
     final S settings;
-    StringWriter stringWriter;
 
     /**
      * Create a new univocity record marshaller to marshal a POJO to a format supported by
@@ -79,8 +78,8 @@ abstract class AbstractUnivocityRecordMarshaller<P, S extends CommonWriterSettin
 
     @Override
     public StringRecord processRecord(Record<P> record) throws Exception {
-        stringWriter = new StringWriter();
-        AbstractWriter<S> writer = getWriter();
+        StringWriter stringWriter = new StringWriter();
+        AbstractWriter<S> writer = getWriter(stringWriter);
         String[] rowToWrite = extractFields(record.getPayload());
 
         writer.writeRow(rowToWrite);
@@ -91,13 +90,10 @@ abstract class AbstractUnivocityRecordMarshaller<P, S extends CommonWriterSettin
 
 
     private String[] extractFields(P payload) throws Exception {
-        List<String> resultList = new ArrayList<>();
-        Iterable<Object> iterable = fieldExtractor.extractFields(payload);
-        for (Object object : iterable) {
-            resultList.add(object.toString());
-        }
-        return resultList.toArray(new String[0]);
+        FieldValues row = FieldValues.ofStrings(fieldExtractor);
+        fieldExtractor.extractFields(payload, row);
+        return row.toStringArray();
     }
 
-    abstract AbstractWriter<S> getWriter();
+    abstract AbstractWriter<S> getWriter(Writer output);
 }
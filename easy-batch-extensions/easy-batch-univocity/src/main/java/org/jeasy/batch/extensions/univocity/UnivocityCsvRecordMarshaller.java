@@ -28,6 +28,7 @@ import com.univocity.parsers.csv.CsvWriter;
 import com.univocity.parsers.csv.CsvWriterSettings;
 
 import java.beans.IntrospectionException;
+import java.io.Writer;
 
 /**
  * Marshals a POJO to CSV format using  <a href="http://www.univocity.com/">uniVocity</a>.
@@ -51,7 +52,7 @@ public class UnivocityCsvRecordMarshaller<P> extends AbstractUnivocityRecordMars
     }
 
     @Override
-    AbstractWriter<CsvWriterSettings> getWriter() {
-        return new CsvWriter(stringWriter, settings);
+    AbstractWriter<CsvWriterSettings> getWriter(Writer output) {
+        return new CsvWriter(output, settings);
     }
 }
@@ -28,6 +28,7 @@ import com.univocity.parsers.fixed.FixedWidthWriter;
 import com.univocity.parsers.fixed.FixedWidthWriterSettings;
 
 import java.beans.IntrospectionException;
+import java.io.Writer;
 
 /**
  * Marshals a POJO to fixed width format using  <a href="http://www.univocity.com/">uniVocity</a>.
@@ -51,7 +52,7 @@ public class UnivocityFixedWidthRecordMarshaller<P> extends AbstractUnivocityRec
     }
 
     @Override
-    AbstractWriter<FixedWidthWriterSettings> getWriter() {
-        return new FixedWidthWriter(stringWriter, settings);
+    AbstractWriter<FixedWidthWriterSettings> getWriter(Writer output) {
+        return new FixedWidthWriter(output, settings);
     }
 }
@@ -28,6 +28,7 @@ import com.univocity.parsers.tsv.TsvWriter;
 import com.univocity.parsers.tsv.TsvWriterSettings;
 
 import java.beans.IntrospectionException;
+import java.io.Writer;
 
 /**
  * Marshals a POJO to TSV format using  <a href="http://www.univocity.com/">uniVocity</a>.
@@ -51,7 +52,7 @@ public class UnivocityTsvRecordMarshaller<P> extends AbstractUnivocityRecordMars
     }
 
     @Override
-    AbstractWriter<TsvWriterSettings> getWriter() {
-        return new TsvWriter(stringWriter, settings);
+    AbstractWriter<TsvWriterSettings> getWriter(Writer output) {
+        return new TsvWriter(output, settings);
     }
 }
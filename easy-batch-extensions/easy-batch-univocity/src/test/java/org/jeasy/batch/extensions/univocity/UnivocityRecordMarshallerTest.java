@@ -27,6 +27,12 @@ import com.univocity.parsers.csv.CsvWriterSettings;
 import com.univocity.parsers.fixed.FixedWidthFields;
 import com.univocity.parsers.fixed.FixedWidthWriterSettings;
 import com.univocity.parsers.tsv.TsvWriterSettings;
+import org.jeasy.batch.core.job.Job;
+import org.jeasy.batch.core.job.JobBuilder;
+import org.jeasy.batch.core.job.JobExecutor;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.JobStatus;
+import org.jeasy.batch.core.reader.IterableRecordReader;
 import org.jeasy.batch.core.record.Header;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
@@ -36,6 +42,10 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.jeasy.batch.core.util.Utils.LINE_SEPARATOR;
 import static org.mockito.Mockito.when;
@@ -110,4 +120,35 @@ public class UnivocityRecordMarshallerTest {
         assertThat(actual.getPayload()).isEqualTo(expectedPayload);
     }
 
+
+    @Test
+    public void whenRecordsAreMarshalledByProcessingThreads_thenEachRecordShouldBeMarshalledFromItsOwnPayload() throws Exception {
+        List<TestBean> beans = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            TestBean bean = new TestBean();
+            bean.setFirstName("foo" + i);
+            bean.setLastName("bar" + i);
+            bean.setAge(i);
+            beans.add(bean);
+        }
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        Job job = new JobBuilder<TestBean, String>()
+                .reader(new IterableRecordReader<>(beans))
+                .marshaller(new UnivocityCsvRecordMarshaller<>(TestBean.class, new CsvWriterSettings(), "firstName", "lastName", "age"))
+                .writer(batch -> batch.forEach(record -> lines.add(record.getPayload())))
+                .processingThreads(4)
+                .batchSize(1000)
+                .build();
+
+        JobExecutor jobExecutor = new JobExecutor();
+        JobReport report = jobExecutor.execute(job);
+        jobExecutor.shutdown();
+
+        assertThat(report.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(lines).hasSize(10000);
+        for (String line : lines) {
+            String age = line.substring(line.lastIndexOf(',') + 1).trim();
+            assertThat(line.trim()).isEqualTo("foo" + age + ",bar" + age + "," + age);
+        }
+    }
 }
@@ -26,8 +26,7 @@ package org.jeasy.batch.extensions.yaml;
 import org.jeasy.batch.core.reader.AbstractFileRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -62,7 +61,7 @@ public class YamlFileRecordReader extends AbstractFileRecordReader<String> {
 
     @Override
     public void open() throws Exception {
-        yamlRecordReader = new Reader(path, charset);
+        yamlRecordReader = new Reader(openInputStream(), path, charset);
         yamlRecordReader.open();
     }
 
@@ -81,8 +80,8 @@ public class YamlFileRecordReader extends AbstractFileRecordReader<String> {
 
         private Path path;
 
-        Reader(Path path, Charset charset) throws FileNotFoundException {
-            super(new FileInputStream(path.toFile()), charset);
+        Reader(InputStream inputStream, Path path, Charset charset) {
+            super(inputStream, charset);
             this.path = path;
         }
 
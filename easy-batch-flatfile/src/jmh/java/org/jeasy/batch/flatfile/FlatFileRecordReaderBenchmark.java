@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.reader.BulkRecordReader;
+import org.jeasy.batch.core.record.Batch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the throughput of the {@link FlatFileRecordReader} and the {@link MappedFlatFileRecordReader}.
+ *
+ * Run with: {@code mvn -pl easy-batch-flatfile -P benchmarks test-compile exec:exec -Djmh.benchmarks=FlatFileRecordReaderBenchmark}
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FlatFileRecordReaderBenchmark {
+
+    private static final int LINES = 1_000_000;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"UTF-8", "windows-1252"})
+    private String charsetName;
+
+    private Charset charset;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void createFile() throws Exception {
+        charset = Charset.forName(charsetName);
+        file = Files.createTempFile("benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, charset)) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write(i + ",user-" + (i % 1000) + ",easy batch rocks! #EasyBatch " + i);
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws Exception {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public void flatFileRecordReader(Blackhole blackhole) throws Exception {
+        FlatFileRecordReader reader = new FlatFileRecordReader(file, charset);
+        reader.open();
+        readAll(reader, blackhole);
+    }
+
+    @Benchmark
+    public void mappedFlatFileRecordReader(Blackhole blackhole) throws Exception {
+        MappedFlatFileRecordReader reader = new MappedFlatFileRecordReader(file, charset);
+        reader.open();
+        readAll(reader, blackhole);
+    }
+
+    private static void readAll(BulkRecordReader<String> reader, Blackhole blackhole) throws Exception {
+        try {
+            Batch<String> batch = new Batch<>();
+            while (reader.readRecords(BATCH_SIZE, batch) > 0) {
+                blackhole.consume(batch);
+                batch = new Batch<>();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
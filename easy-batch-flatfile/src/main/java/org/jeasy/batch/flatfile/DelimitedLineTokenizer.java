@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import java.util.Arrays;
+
+/**
+ * Single pass tokenizer of delimited lines.
+ *
+ * Tokenizing a line only records the offsets of its fields, which are materialized
+ * on demand with {@link #getField(int)}. When a qualifier is set, all fields must be
+ * enclosed with it. As in RFC 4180, qualified fields may contain delimiters, and a
+ * qualifier inside a qualified field is escaped by doubling it.
+ *
+ * A tokenizer holds the offsets of the last tokenized line, so it is not thread safe.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class DelimitedLineTokenizer {
+
+    private final String delimiter;
+    private final String qualifier;
+    private final boolean trimWhitespaces;
+    private String line;
+    private int count;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] escaped = new boolean[16];
+
+    /**
+     * Create a new {@link DelimitedLineTokenizer}.
+     *
+     * @param delimiter between fields
+     * @param qualifier enclosing fields, or an empty string if fields are not qualified
+     * @param trimWhitespaces true if whitespaces around fields should be trimmed
+     */
+    DelimitedLineTokenizer(final String delimiter, final String qualifier, final boolean trimWhitespaces) {
+        this.delimiter = delimiter;
+        this.qualifier = qualifier;
+        this.trimWhitespaces = trimWhitespaces;
+    }
+
+    /**
+     * Tokenize a line.
+     *
+     * @param line to tokenize
+     * @return the number of fields of the line
+     * @throws Exception if a field is not enclosed with the qualifier
+     */
+    int tokenize(final String line) throws Exception {
+        this.line = line;
+        count = 0;
+        int length = line.length();
+        int position = 0;
+        while (true) {
+            int start = trimWhitespaces ? skipWhitespaces(position, length) : position;
+            int end;
+            if (qualifier.isEmpty()) {
+                end = line.indexOf(delimiter, start);
+                position = end < 0 ? length : end;
+                end = trimWhitespaces ? trimTrailingWhitespaces(start, position) : position;
+                addField(start, end, false);
+            } else {
+                position = readQualifiedField(start, length);
+            }
+            if (position >= length) {
+                return count;
+            }
+            position += delimiter.length();
+        }
+    }
+
+    /**
+     * Get the content of a field of the last tokenized line, without qualifiers.
+     *
+     * @param index of the field
+     * @return the content of the field
+     */
+    String getField(final int index) {
+        String field = line.substring(starts[index], ends[index]);
+        if (escaped[index]) {
+            return field.replace(qualifier + qualifier, qualifier);
+        }
+        return field;
+    }
+
+    private int readQualifiedField(final int start, final int length) throws Exception {
+        int qualifierLength = qualifier.length();
+        if (!line.startsWith(qualifier, start)) {
+            throw notEnclosed(start);
+        }
+        int contentStart = start + qualifierLength;
+        boolean hasEscapedQualifiers = false;
+        int contentEnd = line.indexOf(qualifier, contentStart);
+        while (contentEnd >= 0 && line.startsWith(qualifier, contentEnd + qualifierLength)) {
+            hasEscapedQualifiers = true;
+            contentEnd = line.indexOf(qualifier, contentEnd + 2 * qualifierLength);
+        }
+        if (contentEnd < 0) {
+            throw notEnclosed(start);
+        }
+        int position = contentEnd + qualifierLength;
+        if (trimWhitespaces) {
+            position = skipWhitespaces(position, length);
+        }
+        if (position < length && !line.startsWith(delimiter, position)) {
+            throw notEnclosed(start);
+        }
+        addField(contentStart, contentEnd, hasEscapedQualifiers);
+        return position;
+    }
+
+    private void addField(final int start, final int end, final boolean hasEscapedQualifiers) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            escaped = Arrays.copyOf(escaped, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        escaped[count] = hasEscapedQualifiers;
+        count++;
+    }
+
+    private int skipWhitespaces(int position, final int length) {
+        while (position < length && line.charAt(position) <= ' ' && !line.startsWith(delimiter, position)) {
+            position++;
+        }
+        return position;
+    }
+
+    private int trimTrailingWhitespaces(final int start, int end) {
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private Exception notEnclosed(final int start) {
+        int end = line.indexOf(delimiter, start);
+        String field = line.substring(start, end < 0 ? line.length() : end);
+        return new Exception("field [" + field + "] is not enclosed as expected with '" + qualifier + "'");
+    }
+}
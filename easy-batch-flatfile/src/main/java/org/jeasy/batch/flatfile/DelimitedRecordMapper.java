@@ -30,13 +30,24 @@ import org.jeasy.batch.core.record.GenericRecord;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jeasy.batch.core.util.Utils.checkArgument;
 
 /**
- * DSV to Object mapper implementation. This implementation does not support
- * advanced features like detecting delimiters inside quotes or deep mapping,
- * please consider using another Mapper like {@code ApacheCommonCsvRecordMapper},
- * {@code OpenCsvRecordMapper} or {@code UnivocityCsvRecordMapper}.
+ * DSV to Object mapper implementation. Records are tokenized in a single pass, and only
+ * fields retained with {@code fieldsPositions} are extracted from the record. When a
+ * qualifier is set, qualified fields may contain delimiters and escaped qualifiers, as
+ * defined in RFC 4180. This implementation does not support advanced features like
+ * deep mapping or fields spanning multiple lines, please consider using another Mapper
+ * like {@code ApacheCommonCsvRecordMapper}, {@code OpenCsvRecordMapper} or
+ * {@code UnivocityCsvRecordMapper}.
+ *
+ * This mapper is thread safe: each record is tokenized with its own tokenizer, and field
+ * names are bound once, under a lock, when the first record is mapped. When field names are
+ * retrieved from the header record, the header record must be mapped first, so field names
+ * should be specified when records are processed by several threads.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
@@ -51,9 +62,10 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
     private boolean trimWhitespaces = DEFAULT_WHITESPACE_TRIMMING;
     private String qualifier = DEFAULT_QUALIFIER;
     private int recordExpectedLength;
-    private List<Integer> fieldsPositions;
+    private boolean[] retainedFields;
     private String[] fieldNames;
     private boolean fieldNamesRetrievedFromHeader;
+    private volatile boolean fieldNamesBound;
 
     /**
      * Create a new {@link DelimitedRecordMapper}.
@@ -101,7 +113,7 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
      */
     public DelimitedRecordMapper(final Class<P> recordClass, final Integer... fieldsPositions) {
         this(recordClass);
-        this.fieldsPositions = Arrays.asList(fieldsPositions);
+        this.retainedFields = retainedFields(fieldsPositions);
     }
 
     /**
@@ -115,7 +127,7 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
     public DelimitedRecordMapper(final Class<P> recordClass, final Integer[] fieldsPositions, final String[] fieldNames) {
         this(recordClass);
         this.fieldNames = fieldNames;
-        this.fieldsPositions = Arrays.asList(fieldsPositions);
+        this.retainedFields = retainedFields(fieldsPositions);
     }
 
     /**
@@ -133,106 +145,100 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
 
     @Override
     public Record<P> processRecord(final Record<String> record) throws Exception {
-        List<Field> fields = parseRecord(record);
-        Map<String, String> fieldsContents = new HashMap<>();
-        int index = 0;
-        for (Field field : fields) {
-            String fieldName;
-            if (fieldNamesRetrievedFromHeader) {
-                fieldName = fieldNames[field.getIndex()];
-            } else {
-                fieldName = fieldNames[index++];
+        DelimitedLineTokenizer tokenizer = newTokenizer();
+        int count = tokenize(tokenizer, record);
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            if (isRetained(i)) {
+                values[i] = tokenizer.getField(i);
             }
-            String rawContent = field.getRawContent();
-            fieldsContents.put(fieldName, rawContent);
         }
-        return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(fieldsContents));
+        return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(values));
     }
 
     protected List<Field> parseRecord(final Record<String> record) throws Exception {
-
-        String payload = record.getPayload();
-        String[] tokens = payload.split(delimiter, -1);
-
-        setRecordExpectedLength(tokens);
-        setFieldNames(tokens);
-        checkRecordLength(tokens);
-        checkQualifier(tokens);
-
+        DelimitedLineTokenizer tokenizer = newTokenizer();
+        int count = tokenize(tokenizer, record);
         List<Field> fields = new ArrayList<>();
-        int index = 0;
-        for (String token : tokens) {
-            token = trimWhitespaces(token);
-            token = removeQualifier(token);
-            fields.add(new Field(index++, token));
-        }
-        if (fieldsPositions != null) {
-            filterFields(fields);
+        for (int i = 0; i < count; i++) {
+            if (isRetained(i)) {
+                fields.add(new Field(i, tokenizer.getField(i)));
+            }
         }
         return fields;
     }
 
-    private void checkQualifier(String[] tokens) throws Exception {
-        if (qualifier.length() > 0) {
-            for (String token : tokens) {
-                if (!token.startsWith(qualifier) || !token.endsWith(qualifier)) {
-                    throw new Exception("field [" + token + "] is not enclosed as expected with '" + qualifier + "'");
-                }
-            }
+    // a tokenizer holds the offsets of the line being mapped, so it is not shared between records
+    private DelimitedLineTokenizer newTokenizer() {
+        return new DelimitedLineTokenizer(delimiter, qualifier, trimWhitespaces);
+    }
+
+    private int tokenize(final DelimitedLineTokenizer tokenizer, final Record<String> record) throws Exception {
+        int count = tokenizer.tokenize(record.getPayload());
+        if (!fieldNamesBound) {
+            bindFieldNames(tokenizer, count);
         }
+        checkRecordLength(count);
+        return count;
     }
 
-    private void checkRecordLength(String[] tokens) throws Exception {
-        if (tokens.length != recordExpectedLength) {
-            throw new Exception("record length (" + tokens.length + " fields) not equal to expected length of "
+    private void checkRecordLength(int count) throws Exception {
+        if (count != recordExpectedLength) {
+            throw new Exception("record length (" + count + " fields) not equal to expected length of "
                     + recordExpectedLength + " fields");
         }
     }
 
-    private void setFieldNames(String[] tokens) {
-        // convention over configuration : if field names are not specified, retrieve them from the header record (done only once)
+    /*
+     * Bind field names with the first record, which is the header record if field names are not specified.
+     * Binding is published to other threads by the volatile write of fieldNamesBound.
+     */
+    private synchronized void bindFieldNames(DelimitedLineTokenizer tokenizer, int count) {
+        if (fieldNamesBound) {
+            return;
+        }
+        // convention over configuration : if expected record size is not specified, calculate it from the header record
+        if (recordExpectedLength == 0) {
+            recordExpectedLength = count;
+        }
+        // convention over configuration : if field names are not specified, retrieve them from the header record
         if (fieldNames == null) {
             fieldNamesRetrievedFromHeader = true;
-            fieldNames = new String[tokens.length];
-            for (int i = 0; i < tokens.length; i++) {
-                String token = tokens[i];
-                token = trimWhitespaces(token);
-                token = removeQualifier(token);
-                fieldNames[i] = token;
+            fieldNames = new String[count];
+            for (int i = 0; i < count; i++) {
+                fieldNames[i] = tokenizer.getField(i);
             }
         }
-    }
-
-    private void setRecordExpectedLength(String[] tokens) {
-        // convention over configuration : if expected record size is not specified, calculate it from the header record
-        if (this.recordExpectedLength == 0) {
-            this.recordExpectedLength = tokens.length;
-        }
-    }
-
-    private void filterFields(List<Field> fields) {
-        Iterator<Field> iterator = fields.iterator();
-        while (iterator.hasNext()) {
-            int index = iterator.next().getIndex();
-            if (!fieldsPositions.contains(index)) {
-                iterator.remove();
+        // map retained fields to their names, by position in the record if names come from the header, or by order otherwise
+        String[] columnNames = new String[count];
+        int index = 0;
+        for (int i = 0; i < count; i++) {
+            if (isRetained(i)) {
+                if (fieldNamesRetrievedFromHeader) {
+                    columnNames[i] = fieldNames[i];
+                } else if (index < fieldNames.length) {
+                    columnNames[i] = fieldNames[index++];
+                }
             }
         }
+        objectMapper.setFieldNames(columnNames);
+        fieldNamesBound = true;
     }
 
-    private String trimWhitespaces(final String token) {
-        if (trimWhitespaces) {
-            return token.trim();
-        }
-        return token;
+    private boolean isRetained(int index) {
+        return retainedFields == null || (index < retainedFields.length && retainedFields[index]);
     }
 
-    private String removeQualifier(final String token) {
-        int qualifierLength = qualifier.length();
-        if (qualifierLength > 0) {
-            return token.substring(qualifierLength, token.length() - qualifierLength);
+    private static boolean[] retainedFields(final Integer[] fieldsPositions) {
+        int size = 0;
+        for (Integer position : fieldsPositions) {
+            size = Math.max(size, position + 1);
+        }
+        boolean[] retainedFields = new boolean[size];
+        for (Integer position : fieldsPositions) {
+            retainedFields[position] = true;
         }
-        return token;
+        return retainedFields;
     }
 
     /*
@@ -245,12 +251,8 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
      * @param delimiter the delimiter to use
      */
     public void setDelimiter(final String delimiter) {
-        String prefix = "";
-        //escape the "pipe" character used in regular expression of String.split method
-        if ("|".equals(delimiter)) {
-            prefix = "\\";
-        }
-        this.delimiter = prefix + delimiter;
+        checkArgument(delimiter != null && !delimiter.isEmpty(), "delimiter must not be empty");
+        this.delimiter = delimiter;
     }
 
     /**
@@ -25,12 +25,14 @@ package org.jeasy.batch.flatfile;
 
 import org.jeasy.batch.core.field.BeanFieldExtractor;
 import org.jeasy.batch.core.field.FieldExtractor;
+import org.jeasy.batch.core.field.FieldSink;
 import org.jeasy.batch.core.marshaller.RecordMarshaller;
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.jeasy.batch.core.util.Utils;
 
-import java.util.Iterator;
+import java.io.Writer;
 
 /**
  * Marshals a POJO to CSV format.
@@ -40,7 +42,7 @@ import java.util.Iterator;
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
-public class DelimitedRecordMarshaller<P> implements RecordMarshaller<P, String> {
+public class DelimitedRecordMarshaller<P> implements RecordMarshaller<P, String>, StreamingRecordMarshaller<P> {
 
     public static final String DEFAULT_DELIMITER = ",";
     public static final String DEFAULT_QUALIFIER = "\"";
@@ -73,21 +75,27 @@ public class DelimitedRecordMarshaller<P> implements RecordMarshaller<P, String>
 
     @Override
     public StringRecord processRecord(final Record<P> record) throws Exception {
-        Iterable<Object> values = fieldExtractor.extractFields(record.getPayload());
         StringBuilder stringBuilder = new StringBuilder();
-        Iterator<?> iterator = values.iterator();
-        while (iterator.hasNext()) {
-            Object value = iterator.next();
-            stringBuilder.append(qualifier);
-            stringBuilder.append(value);
-            stringBuilder.append(qualifier);
-            if (iterator.hasNext()) {
-                stringBuilder.append(delimiter);
-            }
-        }
+        fieldExtractor.extractFields(record.getPayload(), fieldSink(stringBuilder));
         return new StringRecord(record.getHeader(), stringBuilder.toString());
     }
 
+    @Override
+    public void marshalRecord(final Record<P> record, final Writer writer) throws Exception {
+        fieldExtractor.extractFields(record.getPayload(), fieldSink(writer));
+    }
+
+    private FieldSink fieldSink(Appendable output) {
+        return (index, value) -> {
+            if (index > 0) {
+                output.append(delimiter);
+            }
+            output.append(qualifier);
+            output.append(String.valueOf(value));
+            output.append(qualifier);
+        };
+    }
+
     /**
      * Set the delimiter to use.
      *
@@ -31,9 +31,7 @@ import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Fixed Length Record to Object mapper implementation.
@@ -63,6 +61,7 @@ public class FixedLengthRecordMapper<P> extends AbstractRecordMapper<P> implemen
         this.fieldsLength = fieldsLength.clone();
         this.fieldNames = fieldNames.clone();
         objectMapper = new ObjectMapper<>(recordClass);
+        objectMapper.setFieldNames(this.fieldNames);
         for (int fieldLength : fieldsLength) {
             recordExpectedLength += fieldLength;
         }
@@ -71,25 +70,19 @@ public class FixedLengthRecordMapper<P> extends AbstractRecordMapper<P> implemen
 
     @Override
     public Record<P> processRecord(final Record<String> record) throws Exception {
-
-        List<Field> fields = parseRecord(record);
-        Map<String, String> fieldsContents = new HashMap<>();
-        for (Field field : fields) {
-            String fieldName = fieldNames[field.getIndex()];
-            String fieldValue = field.getRawContent();
-            fieldsContents.put(fieldName, fieldValue);
+        String payload = record.getPayload();
+        checkRecordLength(payload);
+        String[] values = new String[fieldsLength.length];
+        for (int i = 0; i < fieldsLength.length; i++) {
+            values[i] = trimWhitespaces(payload.substring(fieldsOffsets[i], fieldsOffsets[i + 1]));
         }
-        return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(fieldsContents));
+        return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(values));
     }
 
     protected List<Field> parseRecord(final Record<String> record) throws Exception {
 
         String payload = record.getPayload();
-        int recordLength = payload.length();
-
-        if (recordLength != recordExpectedLength) {
-            throw new Exception("record length " + recordLength + " not equal to expected length of " + recordExpectedLength);
-        }
+        checkRecordLength(payload);
 
         List<Field> fields = new ArrayList<>();
         for (int i = 0; i < fieldsLength.length; i++) {
@@ -103,6 +96,13 @@ public class FixedLengthRecordMapper<P> extends AbstractRecordMapper<P> implemen
     }
 
 
+    private void checkRecordLength(final String payload) throws Exception {
+        int recordLength = payload.length();
+        if (recordLength != recordExpectedLength) {
+            throw new Exception("record length " + recordLength + " not equal to expected length of " + recordExpectedLength);
+        }
+    }
+
     // utility method to calculate field offsets used to extract fields from record.
     private int[] calculateOffsets(final int[] lengths) {
         int[] offsets = new int[lengths.length + 1];
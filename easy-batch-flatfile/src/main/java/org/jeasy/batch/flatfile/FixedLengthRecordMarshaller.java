@@ -25,14 +25,18 @@ package org.jeasy.batch.flatfile;
 
 import org.jeasy.batch.core.field.BeanFieldExtractor;
 import org.jeasy.batch.core.field.FieldExtractor;
+import org.jeasy.batch.core.field.FieldValues;
 import org.jeasy.batch.core.marshaller.RecordMarshaller;
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
 import org.jeasy.batch.core.record.Header;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.jeasy.batch.core.util.Utils;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Formatter;
 import java.util.Locale;
-import java.util.stream.StreamSupport;
 
 /**
  * Marshals a POJO to fixed length format using {@link String#format(Locale, String, Object...)}.
@@ -44,7 +48,7 @@ import java.util.stream.StreamSupport;
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
-public class FixedLengthRecordMarshaller<P> implements RecordMarshaller<P, String> {
+public class FixedLengthRecordMarshaller<P> implements RecordMarshaller<P, String>, StreamingRecordMarshaller<P> {
 
     private FieldExtractor<P> fieldExtractor;
     private String format;
@@ -78,11 +82,26 @@ public class FixedLengthRecordMarshaller<P> implements RecordMarshaller<P, Strin
     @Override
     public StringRecord processRecord(final Record<P> record) throws Exception {
         Header header = record.getHeader();
-        Object[] fields = toArray(fieldExtractor.extractFields(record.getPayload()));
-        String payload = String.format(locale, format, fields);
+        String payload = String.format(locale, format, extractFields(record.getPayload()));
         return new StringRecord(header, payload);
     }
 
+    @Override
+    public void marshalRecord(final Record<P> record, final Writer writer) throws Exception {
+        Formatter formatter = new Formatter(writer, locale);
+        formatter.format(format, extractFields(record.getPayload()));
+        IOException exception = formatter.ioException();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private Object[] extractFields(P payload) throws Exception {
+        FieldValues fields = FieldValues.of(fieldExtractor);
+        fieldExtractor.extractFields(payload, fields);
+        return fields.toArray();
+    }
+
     /**
      * Set the locale to use to format records.
      * @param locale to use to format records
@@ -90,9 +109,4 @@ public class FixedLengthRecordMarshaller<P> implements RecordMarshaller<P, Strin
     public void setLocale(Locale locale) {
         this.locale = locale;
     }
-
-    // SDD: https://stackoverflow.com/a/51875471/5019386
-    private Object[] toArray(Iterable<Object> iterable) {
-        return StreamSupport.stream(iterable.spliterator(), false).toArray(Object[]::new);
-    }
 }
@@ -24,29 +24,58 @@
 package org.jeasy.batch.flatfile;
 
 import org.jeasy.batch.core.reader.AbstractFileRecordReader;
+import org.jeasy.batch.core.reader.BulkRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.reader.SeekableRecordReader;
+import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.Header;
 import org.jeasy.batch.core.record.StringRecord;
+import org.jeasy.batch.core.util.Compression;
 
 import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jeasy.batch.core.util.Utils.checkArgument;
 
 /**
  * A {@link RecordReader} implementation that reads data from a flat file.
  *
  * This reader produces {@link StringRecord} instances.
  *
+ * The position of this reader is the number of the last record read and the byte
+ * offset of the next line, so a job restarted from a checkpoint resumes reading at
+ * this offset without reading previous lines again. For charsets in which line
+ * terminators are not single bytes (like UTF-16), the byte offset is not tracked and
+ * previous lines are skipped when seeking.
+ *
+ * A large file can be read in parallel by several jobs, each one reading a byte range
+ * of the file created with {@link #partition(Path, Charset, int)}.
+ *
+ * Compressed files are decompressed on the fly (see {@link AbstractFileRecordReader}). Byte
+ * offsets then refer to decompressed content, so seeking decompresses previous content again,
+ * and compressed files cannot be read by byte ranges.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class FlatFileRecordReader extends AbstractFileRecordReader<String> {
+public class FlatFileRecordReader extends AbstractFileRecordReader<String>
+        implements BulkRecordReader<String>, SeekableRecordReader<String> {
 
     private BufferedReader bufferedReader;
+    private LineReader lineReader;
     private long currentRecordNumber;
+    private String dataSourceName;
+    private Compression fileCompression;
+    private final long start;
+    private final long end;
 
     /**
      * Create a new {@link FlatFileRecordReader}.
@@ -64,35 +93,169 @@ public class FlatFileRecordReader extends AbstractFileRecordReader<String> {
      * @param charset of the input file
      */
     public FlatFileRecordReader(final Path path, final Charset charset) {
+        this(path, charset, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a new {@link FlatFileRecordReader} that reads lines starting in the byte range
+     * [{@code start}, {@code end}) of the file. A line starting in the range is read entirely,
+     * even if it ends after the range. Records are numbered from 1 in each range, and the data
+     * source name of records includes the range.
+     *
+     * @param path of the file to read records from
+     * @param charset of the input file, in which line terminators must be single bytes (like UTF-8)
+     * @param start offset of the range (inclusive)
+     * @param end offset of the range (exclusive)
+     */
+    public FlatFileRecordReader(final Path path, final Charset charset, final long start, final long end) {
         super(path, charset);
+        checkArgument(start >= 0 && start <= end, "byte range must be positive and start must be <= end");
+        checkArgument((start == 0 && end == Long.MAX_VALUE) || LineReader.supports(charset),
+                "byte ranges are not supported for charset " + charset);
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Create readers of consecutive byte ranges of a file. Ranges have the same size and are
+     * aligned to line boundaries when read, so that each line is read by exactly one reader.
+     *
+     * @param path of the file to read records from
+     * @param charset of the input file, in which line terminators must be single bytes (like UTF-8)
+     * @param partitions number of byte ranges
+     * @return a reader for each byte range
+     * @throws IOException if the size of the file cannot be determined
+     */
+    public static List<FlatFileRecordReader> partition(final Path path, final Charset charset, final int partitions) throws IOException {
+        checkArgument(partitions >= 1, "partitions must be >= 1");
+        long size = Files.size(path);
+        List<FlatFileRecordReader> readers = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            long rangeStart = size * i / partitions;
+            long rangeEnd = i == partitions - 1 ? Long.MAX_VALUE : size * (i + 1) / partitions;
+            readers.add(new FlatFileRecordReader(path, charset, rangeStart, rangeEnd));
+        }
+        return readers;
     }
 
     @Override
     public StringRecord readRecord() throws IOException {
-        Header header = new Header(++currentRecordNumber, getDataSourceName(), LocalDateTime.now());
-        String line = bufferedReader.readLine();
+        String line = readLine();
         if (line != null) {
+            Header header = new Header(++currentRecordNumber, dataSourceName, LocalDateTime.now());
             return new StringRecord(header, line);
         } else {
             return null;
         }
     }
 
+    @Override
+    public int readRecords(int maxRecords, Batch<String> batch) throws IOException {
+        LocalDateTime creationDate = LocalDateTime.now();
+        int count = 0;
+        String line;
+        while (count < maxRecords && (line = readLine()) != null) {
+            Header header = new Header(++currentRecordNumber, dataSourceName, creationDate);
+            batch.addRecord(new StringRecord(header, line));
+            count++;
+        }
+        return count;
+    }
+
     @Override
     public void open() throws Exception {
         currentRecordNumber = 0;
-        bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(path.toFile()), charset));
+        dataSourceName = getDataSourceName();
+        fileCompression = resolveCompression();
+        checkArgument(fileCompression == Compression.NONE || (start == 0 && end == Long.MAX_VALUE),
+                "byte ranges are not supported for compressed files");
+        if (start > 0) {
+            // skip the end of the line that started in the previous range
+            openAt(start - 1);
+            lineReader.readLine();
+        } else {
+            openAt(0);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The position has the form {@code recordNumber:byteOffset}, where the byte offset
+     * is -1 if it is not tracked for the charset of the file.
+     */
+    @Override
+    public String getPosition() {
+        return currentRecordNumber + ":" + (lineReader != null ? lineReader.getOffset() : -1);
+    }
+
+    @Override
+    public void seek(String position) throws IOException {
+        int separator = position.indexOf(':');
+        long recordNumber = Long.parseLong(position.substring(0, separator));
+        long offset = Long.parseLong(position.substring(separator + 1));
+        if (offset >= 0 && lineReader != null) {
+            close();
+            openAt(offset);
+            currentRecordNumber = recordNumber;
+        } else {
+            while (currentRecordNumber < recordNumber && readLine() != null) {
+                currentRecordNumber++;
+            }
+        }
     }
 
     @Override
     public void close() throws IOException {
+        if (lineReader != null) {
+            lineReader.close();
+        }
         if (bufferedReader != null) {
             bufferedReader.close();
         }
     }
 
+    private void openAt(long offset) throws IOException {
+        FileInputStream fileInputStream = new FileInputStream(path.toFile());
+        InputStream inputStream = fileCompression.decompress(fileInputStream);
+        if (LineReader.supports(charset)) {
+            if (fileCompression == Compression.NONE) {
+                fileInputStream.getChannel().position(offset);
+            } else {
+                skip(inputStream, offset);
+            }
+            lineReader = new LineReader(inputStream, charset, offset);
+        } else {
+            bufferedReader = new BufferedReader(new InputStreamReader(inputStream, charset));
+        }
+    }
+
+    private static void skip(InputStream inputStream, long count) throws IOException {
+        while (count > 0) {
+            long skipped = inputStream.skip(count);
+            if (skipped <= 0) {
+                if (inputStream.read() < 0) {
+                    throw new IOException("Unable to skip " + count + " more bytes, end of stream reached");
+                }
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+
+    private String readLine() throws IOException {
+        if (lineReader == null) {
+            return bufferedReader.readLine();
+        }
+        return lineReader.getOffset() < end ? lineReader.readLine() : null;
+    }
+
     private String getDataSourceName() {
-        return path.toAbsolutePath().toString();
+        String dataSourceName = path.toAbsolutePath().toString();
+        if (start == 0 && end == Long.MAX_VALUE) {
+            return dataSourceName;
+        }
+        return dataSourceName + " [" + start + "-" + (end == Long.MAX_VALUE ? "" : end) + ")";
     }
 
 }
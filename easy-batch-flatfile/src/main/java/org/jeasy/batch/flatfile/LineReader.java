@@ -0,0 +1,163 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Reads lines of a byte stream while keeping track of the byte offset of the next line.
+ *
+ * Like {@link java.io.BufferedReader#readLine()}, a line is considered to be terminated
+ * by a line feed, a carriage return, or a carriage return followed by a line feed.
+ * Line terminators are found in bytes before lines are decoded, so this reader only
+ * supports charsets in which line terminators are single bytes that are never part of
+ * other characters (see {@link #supports(Charset)}).
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class LineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final InputStream inputStream;
+    private final Charset charset;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private byte[] line = new byte[128];
+    private int position;
+    private int limit;
+    private long offset;
+
+    /**
+     * Create a new {@link LineReader}.
+     *
+     * @param inputStream to read lines from
+     * @param charset of the input stream
+     * @param offset of the input stream's current position in the underlying data source
+     */
+    LineReader(InputStream inputStream, Charset charset, long offset) {
+        this.inputStream = inputStream;
+        this.charset = charset;
+        this.offset = offset;
+    }
+
+    /**
+     * Check if lines of a byte stream in the given charset can be read by a {@link LineReader}.
+     *
+     * @param charset to check
+     * @return true if line terminators are encoded with a single byte in the charset
+     */
+    static boolean supports(Charset charset) {
+        return charset.canEncode()
+                && Arrays.equals("\n".getBytes(charset), new byte[]{LF})
+                && Arrays.equals("\r".getBytes(charset), new byte[]{CR})
+                && Arrays.equals("a\n".getBytes(charset), new byte[]{'a', LF});
+    }
+
+    /**
+     * Read the next line.
+     *
+     * @return the next line without its terminator, or null if the end of the stream is reached
+     * @throws IOException if an error occurs while reading the stream
+     */
+    String readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                return length == 0 ? null : new String(line, 0, length, charset);
+            }
+            int start = position;
+            while (position < limit) {
+                byte b = buffer[position];
+                if (b == LF || b == CR) {
+                    String result = toLine(start, position - start, length);
+                    position++;
+                    offset += position - start;
+                    if (b == CR) {
+                        skipLineFeed();
+                    }
+                    return result;
+                }
+                position++;
+            }
+            length = append(start, position - start, length);
+            offset += position - start;
+        }
+    }
+
+    /**
+     * Get the offset of the next line in the underlying data source.
+     *
+     * @return the offset of the next line
+     */
+    long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+    private String toLine(int start, int count, int length) {
+        if (length == 0) {
+            return new String(buffer, start, count, charset);
+        }
+        length = append(start, count, length);
+        return new String(line, 0, length, charset);
+    }
+
+    private int append(int start, int count, int length) {
+        if (length + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+        }
+        System.arraycopy(buffer, start, line, length, count);
+        return length + count;
+    }
+
+    private void skipLineFeed() throws IOException {
+        if (position == limit && !fill()) {
+            return;
+        }
+        if (buffer[position] == LF) {
+            position++;
+            offset++;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read = inputStream.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = inputStream.read(buffer, 0, buffer.length);
+        }
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
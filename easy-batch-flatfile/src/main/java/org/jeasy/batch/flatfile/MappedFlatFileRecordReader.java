@@ -0,0 +1,275 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.reader.AbstractFileRecordReader;
+import org.jeasy.batch.core.reader.BulkRecordReader;
+import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.reader.SeekableRecordReader;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.StringRecord;
+import org.jeasy.batch.core.util.Compression;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.jeasy.batch.core.util.Utils.checkArgument;
+
+/**
+ * A {@link RecordReader} implementation that reads data from a memory-mapped flat file.
+ *
+ * This reader maps the file in windows of {@link #DEFAULT_WINDOW_SIZE} bytes (so files
+ * larger than 2GB can be read), finds line terminators in the mapped bytes and decodes
+ * only the bytes of each line. Lines in UTF-8, US-ASCII and ISO-8859-1 are decoded
+ * directly to strings, while lines in other charsets are decoded with a reusable
+ * {@link CharsetDecoder}. Line terminators must be single bytes in the charset of
+ * the file, so charsets like UTF-16 are not supported by this reader.
+ *
+ * This reader produces {@link StringRecord} instances. Its positions have the same
+ * form as positions of the {@link FlatFileRecordReader}.
+ *
+ * Mapped windows are released when they are garbage collected, not when the reader is closed.
+ * Compressed files cannot be mapped, they should be read with a {@link FlatFileRecordReader}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class MappedFlatFileRecordReader extends AbstractFileRecordReader<String>
+        implements BulkRecordReader<String>, SeekableRecordReader<String> {
+
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final int windowSize;
+    private final boolean fastPath;
+    private FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowOffset;
+    private long size;
+    private byte[] lineBytes = new byte[128];
+    private CharsetDecoder decoder;
+    private CharBuffer chars;
+    private long currentRecordNumber;
+    private String dataSourceName;
+
+    /**
+     * Create a new {@link MappedFlatFileRecordReader}.
+     *
+     * @param path of the file to read records from
+     */
+    public MappedFlatFileRecordReader(final Path path) {
+        this(path, Charset.defaultCharset());
+    }
+
+    /**
+     * Create a new {@link MappedFlatFileRecordReader}.
+     *
+     * @param path of the file to read records from
+     * @param charset of the input file, in which line terminators must be single bytes (like UTF-8)
+     */
+    public MappedFlatFileRecordReader(final Path path, final Charset charset) {
+        this(path, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Create a new {@link MappedFlatFileRecordReader}.
+     *
+     * @param path of the file to read records from
+     * @param charset of the input file, in which line terminators must be single bytes (like UTF-8)
+     * @param windowSize maximum number of bytes of the file mapped at a time
+     */
+    public MappedFlatFileRecordReader(final Path path, final Charset charset, final int windowSize) {
+        super(path, charset);
+        checkArgument(windowSize >= 1, "window size must be >= 1");
+        checkArgument(LineReader.supports(charset), "charset " + charset + " is not supported, line terminators must be single bytes");
+        this.windowSize = windowSize;
+        this.fastPath = charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public void open() throws Exception {
+        currentRecordNumber = 0;
+        dataSourceName = path.toAbsolutePath().toString();
+        checkArgument(resolveCompression() == Compression.NONE, "compressed files cannot be memory-mapped");
+        channel = new FileInputStream(path.toFile()).getChannel();
+        size = channel.size();
+        if (!fastPath) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            chars = CharBuffer.allocate(lineBytes.length);
+        }
+        map(0);
+    }
+
+    @Override
+    public StringRecord readRecord() throws IOException {
+        String line = readLine();
+        if (line != null) {
+            Header header = new Header(++currentRecordNumber, dataSourceName, LocalDateTime.now());
+            return new StringRecord(header, line);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public int readRecords(int maxRecords, Batch<String> batch) throws IOException {
+        LocalDateTime creationDate = LocalDateTime.now();
+        int count = 0;
+        String line;
+        while (count < maxRecords && (line = readLine()) != null) {
+            Header header = new Header(++currentRecordNumber, dataSourceName, creationDate);
+            batch.addRecord(new StringRecord(header, line));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The position has the form {@code recordNumber:byteOffset}, where the byte offset
+     * is the offset of the next line.
+     */
+    @Override
+    public String getPosition() {
+        return currentRecordNumber + ":" + (window != null ? windowOffset + window.position() : -1);
+    }
+
+    @Override
+    public void seek(String position) throws IOException {
+        int separator = position.indexOf(':');
+        long recordNumber = Long.parseLong(position.substring(0, separator));
+        long offset = Long.parseLong(position.substring(separator + 1));
+        if (offset >= 0) {
+            checkArgument(offset <= size, "offset " + offset + " is beyond the end of file " + dataSourceName);
+            map(offset);
+            currentRecordNumber = recordNumber;
+        } else {
+            while (currentRecordNumber < recordNumber && readLine() != null) {
+                currentRecordNumber++;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private String readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (!window.hasRemaining() && !mapNextWindow()) {
+                return length == 0 ? null : decode(length);
+            }
+            int start = window.position();
+            int limit = window.limit();
+            int end = start;
+            byte b = 0;
+            while (end < limit) {
+                b = window.get(end);
+                if (b == LF || b == CR) {
+                    break;
+                }
+                end++;
+            }
+            length = append(end - start, length);
+            if (end < limit) {
+                window.position(end + 1);
+                if (b == CR) {
+                    skipLineFeed();
+                }
+                return decode(length);
+            }
+        }
+    }
+
+    private int append(int count, int length) {
+        if (length + count > lineBytes.length) {
+            lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, length + count));
+        }
+        window.get(lineBytes, length, count);
+        return length + count;
+    }
+
+    private void skipLineFeed() throws IOException {
+        if (!window.hasRemaining() && !mapNextWindow()) {
+            return;
+        }
+        if (window.get(window.position()) == LF) {
+            window.position(window.position() + 1);
+        }
+    }
+
+    private String decode(int length) {
+        if (fastPath) {
+            return new String(lineBytes, 0, length, charset);
+        }
+        int capacity = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+        if (chars.capacity() < capacity) {
+            chars = CharBuffer.allocate(capacity);
+        }
+        chars.clear();
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(lineBytes, 0, length), chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        return chars.toString();
+    }
+
+    private boolean mapNextWindow() throws IOException {
+        long next = windowOffset + window.limit();
+        if (next >= size) {
+            return false;
+        }
+        map(next);
+        return true;
+    }
+
+    private void map(long offset) throws IOException {
+        windowOffset = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, size - offset));
+    }
+
+}
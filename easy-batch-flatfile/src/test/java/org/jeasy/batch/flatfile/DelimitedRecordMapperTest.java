@@ -23,6 +23,12 @@
  */
 package org.jeasy.batch.flatfile;
 
+import org.jeasy.batch.core.job.Job;
+import org.jeasy.batch.core.job.JobBuilder;
+import org.jeasy.batch.core.job.JobExecutor;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.JobStatus;
+import org.jeasy.batch.core.reader.IterableRecordReader;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.junit.Before;
@@ -31,6 +37,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -131,6 +139,30 @@ public class DelimitedRecordMapperTest {
         validateRecord(record);
     }
 
+    @Test
+    public void testRecordParsingWithDelimitersAndEscapedQualifiersInsideQualifiedFields() throws Exception {
+        delimitedRecordMapper.setQualifier("\"");
+        delimitedRecordMapper.setTrimWhitespaces(true);
+        when(record.getPayload()).thenReturn("\"foo, jr\" , \"say \"\"bar\"\"\",\"30\",\"1990-12-12\",\" true \"");
+        List<Field> fields = delimitedRecordMapper.parseRecord(record);
+        assertThat(fields).extracting("rawContent")
+          .containsExactly("foo, jr", "say \"bar\"", "30", "1990-12-12", " true ");
+    }
+
+    @Test(expected = Exception.class)
+    public void unterminatedQualifiedFieldShouldBeRejected() throws Exception {
+        delimitedRecordMapper.setQualifier("\"");
+        when(record.getPayload()).thenReturn("\"foo\",\"bar\",\"30\",\"1990-12-12\",\"true");
+        delimitedRecordMapper.parseRecord(record);
+    }
+
+    @Test
+    public void testRecordParsingWithRegularExpressionCharacterDelimiter() throws Exception {
+        delimitedRecordMapper.setDelimiter(".");
+        when(record.getPayload()).thenReturn("foo.bar.30.1990-12-12.true");
+        validateRecord(record);
+    }
+
     @Test
     public void testFieldSubsetMapping() throws Exception {
         delimitedRecordMapper = new DelimitedRecordMapper<>(Person.class,
@@ -185,4 +217,31 @@ public class DelimitedRecordMapperTest {
         assertThat(person.isMarried()).isTrue();
     }
 
+    @Test
+    public void whenRecordsAreMappedByProcessingThreads_thenEachRecordShouldBeMappedFromItsOwnLine() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            lines.add("foo" + i + ",bar" + i + "," + i + ",1990-12-12,true");
+        }
+        List<Person> persons = Collections.synchronizedList(new ArrayList<>());
+        Job job = new JobBuilder<String, Person>()
+                .reader(new IterableRecordReader<>(lines))
+                .mapper(new DelimitedRecordMapper<>(Person.class, "firstName", "lastName", "age", "birthDate", "married"))
+                .writer(batch -> batch.forEach(record -> persons.add(record.getPayload())))
+                .processingThreads(4)
+                .batchSize(1000)
+                .build();
+
+        JobExecutor jobExecutor = new JobExecutor();
+        JobReport report = jobExecutor.execute(job);
+        jobExecutor.shutdown();
+
+        assertThat(report.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(persons).hasSize(10000);
+        for (Person person : persons) {
+            assertThat(person.getFirstName()).isEqualTo("foo" + person.getAge());
+            assertThat(person.getLastName()).isEqualTo("bar" + person.getAge());
+        }
+    }
+
 }
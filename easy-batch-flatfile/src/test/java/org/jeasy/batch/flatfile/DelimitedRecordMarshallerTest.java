@@ -32,6 +32,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.StringWriter;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -75,4 +77,17 @@ public class DelimitedRecordMarshallerTest {
         assertThat(actual.getHeader()).isEqualTo(header);
         assertThat(actual.getPayload()).isEqualTo(expectedPayload);
     }
+
+    @Test
+    public void marshalToWriter() throws Exception {
+        marshaller.setDelimiter(";");
+        StringWriter writer = new StringWriter();
+
+        marshaller.marshalRecord(record, writer);
+        writer.write('|');
+        marshaller.marshalRecord(record, writer);
+
+        assertThat(writer.toString()).isEqualTo("\"foo\";\"bar\";\"false\"|\"foo\";\"bar\";\"false\"");
+        assertThat(marshaller.processRecord(record).getPayload()).isEqualTo("\"foo\";\"bar\";\"false\"");
+    }
 }
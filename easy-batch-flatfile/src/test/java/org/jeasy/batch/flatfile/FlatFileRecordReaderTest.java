@@ -23,14 +23,24 @@
  */
 package org.jeasy.batch.flatfile;
 
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -69,6 +79,27 @@ public class FlatFileRecordReaderTest {
         assertThat(record).isNull();
     }
 
+    @Test
+    public void whenInputFileExistsAndIsNotEmpty_thenReadRecordsShouldReturnNextRecordsInBulk() throws Exception {
+        flatFileRecordReader = new FlatFileRecordReader(dataSource);
+        flatFileRecordReader.open();
+        Batch<String> batch = new Batch<>();
+
+        assertThat(flatFileRecordReader.readRecords(2, batch)).isEqualTo(2);
+        assertThat(flatFileRecordReader.readRecords(2, batch)).isEqualTo(1);
+        assertThat(flatFileRecordReader.readRecords(2, batch)).isEqualTo(0);
+
+        assertThat(batch.size()).isEqualTo(3);
+        Iterator<Record<String>> iterator = batch.iterator();
+        Record<String> record = iterator.next();
+        assertThat(record.getHeader().getNumber()).isEqualTo(1L);
+        assertThat(record.getPayload()).isEqualTo("id,user,message");
+        iterator.next();
+        record = iterator.next();
+        assertThat(record.getHeader().getNumber()).isEqualTo(3L);
+        assertThat(record.getPayload()).isEqualTo("2,bar,@foo I do confirm :-)");
+    }
+
     @Test(expected = FileNotFoundException.class)
     public void whenInputFileDoesNotExist_thenOpeningTheReaderShouldThrowFileNotFoundException() throws Exception {
         flatFileRecordReader = new FlatFileRecordReader(nonExistingDataSource);
@@ -82,9 +113,111 @@ public class FlatFileRecordReaderTest {
         assertThat(flatFileRecordReader.readRecord()).isNull();
     }
 
+    @Test
+    public void whenSeekingToAPosition_thenReadRecordShouldReturnTheRecordAfterThisPosition() throws Exception {
+        flatFileRecordReader = new FlatFileRecordReader(dataSource);
+        flatFileRecordReader.open();
+        flatFileRecordReader.readRecord();
+        flatFileRecordReader.readRecord();
+        String position = flatFileRecordReader.getPosition();
+        flatFileRecordReader.close();
+
+        flatFileRecordReader = new FlatFileRecordReader(dataSource);
+        flatFileRecordReader.open();
+        flatFileRecordReader.seek(position);
+        StringRecord record = flatFileRecordReader.readRecord();
+
+        assertThat(position).isEqualTo("2:51");
+        assertThat(record.getHeader().getNumber()).isEqualTo(3L);
+        assertThat(record.getPayload()).isEqualTo("2,bar,@foo I do confirm :-)");
+        assertThat(flatFileRecordReader.readRecord()).isNull();
+    }
+
+    @Test
+    public void whenCharsetLineTerminatorsAreNotSingleBytes_thenSeekShouldSkipPreviousLines() throws Exception {
+        Path utf16DataSource = Files.createTempFile("tweets", ".csv");
+        Files.write(utf16DataSource, "a\r\nb\nc\rd".getBytes(StandardCharsets.UTF_16));
+        flatFileRecordReader = new FlatFileRecordReader(utf16DataSource, StandardCharsets.UTF_16);
+        flatFileRecordReader.open();
+        flatFileRecordReader.readRecord();
+        String position = flatFileRecordReader.getPosition();
+        flatFileRecordReader.close();
+
+        flatFileRecordReader = new FlatFileRecordReader(utf16DataSource, StandardCharsets.UTF_16);
+        flatFileRecordReader.open();
+        flatFileRecordReader.seek(position);
+
+        assertThat(position).isEqualTo("1:-1");
+        assertThat(flatFileRecordReader.readRecord().getPayload()).isEqualTo("b");
+        assertThat(flatFileRecordReader.readRecord().getPayload()).isEqualTo("c");
+        assertThat(flatFileRecordReader.readRecord().getPayload()).isEqualTo("d");
+        flatFileRecordReader.close();
+        Files.delete(utf16DataSource);
+    }
+
+    @Test
+    public void whenFileIsPartitioned_thenEachLineShouldBeReadByExactlyOnePartition() throws Exception {
+        List<String> lines = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            String line = i % 7 == 0 ? "" : "line-" + i + "-" + String.join("", Collections.nCopies(i % 13, "x"));
+            lines.add(line);
+            content.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path file = Files.createTempFile("tweets", ".csv");
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        for (int partitions = 1; partitions <= 9; partitions++) {
+            List<String> payloads = new ArrayList<>();
+            for (FlatFileRecordReader partition : FlatFileRecordReader.partition(file, StandardCharsets.UTF_8, partitions)) {
+                partition.open();
+                StringRecord record;
+                long expectedNumber = 1;
+                while ((record = partition.readRecord()) != null) {
+                    assertThat(record.getHeader().getNumber()).isEqualTo(expectedNumber++);
+                    payloads.add(record.getPayload());
+                }
+                partition.close();
+            }
+            assertThat(payloads).as("%d partitions", partitions).isEqualTo(lines);
+        }
+        Files.delete(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenCharsetLineTerminatorsAreNotSingleBytes_thenByteRangesShouldBeRejected() {
+        flatFileRecordReader = new FlatFileRecordReader(dataSource, StandardCharsets.UTF_16, 10, 20);
+    }
+
+    @Test
+    public void whenInputFileIsCompressed_thenRecordsShouldBeReadFromDecompressedContent() throws Exception {
+        Path gzipDataSource = Files.createTempFile("tweets", ".data");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(gzipDataSource))) {
+            outputStream.write(Files.readAllBytes(dataSource));
+        }
+        flatFileRecordReader = new FlatFileRecordReader(gzipDataSource, StandardCharsets.UTF_8);
+        flatFileRecordReader.open();
+        flatFileRecordReader.readRecord();
+        flatFileRecordReader.readRecord();
+        String position = flatFileRecordReader.getPosition();
+        flatFileRecordReader.close();
+
+        flatFileRecordReader = new FlatFileRecordReader(gzipDataSource, StandardCharsets.UTF_8);
+        flatFileRecordReader.open();
+        flatFileRecordReader.seek(position);
+
+        assertThat(position).isEqualTo("2:51");
+        assertThat(flatFileRecordReader.readRecord().getPayload()).isEqualTo("2,bar,@foo I do confirm :-)");
+        assertThat(flatFileRecordReader.readRecord()).isNull();
+        flatFileRecordReader.close();
+        Files.delete(gzipDataSource);
+    }
+
     @After
     public void tearDown() throws Exception {
-        flatFileRecordReader.close();
+        if (flatFileRecordReader != null) {
+            flatFileRecordReader.close();
+        }
     }
 
 }
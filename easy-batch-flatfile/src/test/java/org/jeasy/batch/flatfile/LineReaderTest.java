@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LineReaderTest {
+
+    @Test
+    public void linesShouldBeSplitLikeBufferedReaderDoes() throws Exception {
+        LineReader lineReader = lineReader("a\nb\r\nc\rd\n\ne", StandardCharsets.UTF_8);
+
+        assertThat(lineReader.readLine()).isEqualTo("a");
+        assertThat(lineReader.getOffset()).isEqualTo(2);
+        assertThat(lineReader.readLine()).isEqualTo("b");
+        assertThat(lineReader.getOffset()).isEqualTo(5);
+        assertThat(lineReader.readLine()).isEqualTo("c");
+        assertThat(lineReader.readLine()).isEqualTo("d");
+        assertThat(lineReader.readLine()).isEqualTo("");
+        assertThat(lineReader.readLine()).isEqualTo("e");
+        assertThat(lineReader.getOffset()).isEqualTo(11);
+        assertThat(lineReader.readLine()).isNull();
+    }
+
+    @Test
+    public void linesLongerThanTheBufferShouldBeRead() throws Exception {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            longLine.append("é");
+        }
+        LineReader lineReader = lineReader(longLine + "\r\nfoo", StandardCharsets.UTF_8);
+
+        assertThat(lineReader.readLine()).isEqualTo(longLine.toString());
+        assertThat(lineReader.getOffset()).isEqualTo(20002);
+        assertThat(lineReader.readLine()).isEqualTo("foo");
+        assertThat(lineReader.readLine()).isNull();
+    }
+
+    @Test
+    public void testSupportedCharsets() {
+        assertThat(LineReader.supports(StandardCharsets.UTF_8)).isTrue();
+        assertThat(LineReader.supports(StandardCharsets.ISO_8859_1)).isTrue();
+        assertThat(LineReader.supports(StandardCharsets.US_ASCII)).isTrue();
+        assertThat(LineReader.supports(StandardCharsets.UTF_16)).isFalse();
+        assertThat(LineReader.supports(StandardCharsets.UTF_16LE)).isFalse();
+    }
+
+    private LineReader lineReader(String content, Charset charset) {
+        return new LineReader(new ByteArrayInputStream(content.getBytes(charset)), charset, 0);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.record.StringRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedFlatFileRecordReaderTest {
+
+    private MappedFlatFileRecordReader recordReader;
+
+    private Path dataSource;
+    private Path emptyDataSource;
+    private Path nonExistingDataSource;
+
+    @Before
+    public void setUp() {
+        dataSource = Paths.get("src/test/resources/tweets.csv");
+        emptyDataSource = Paths.get("src/test/resources/empty-file.txt");
+        nonExistingDataSource = Paths.get("src/test/resources/foo.bar");
+    }
+
+    @Test
+    public void whenInputFileExistsAndIsNotEmpty_thenReadRecordShouldReturnNextRecords() throws Exception {
+        recordReader = new MappedFlatFileRecordReader(dataSource);
+        recordReader.open();
+        StringRecord record = recordReader.readRecord();
+        assertThat(record.getHeader().getNumber()).isEqualTo(1L);
+        assertThat(record.getHeader().getSource()).isEqualTo(dataSource.toAbsolutePath().toString());
+        assertThat(record.getPayload()).isEqualTo("id,user,message");
+
+        record = recordReader.readRecord();
+        assertThat(record.getHeader().getNumber()).isEqualTo(2L);
+        assertThat(record.getPayload()).isEqualTo("1,foo,easy batch rocks! #EasyBatch");
+
+        record = recordReader.readRecord();
+        assertThat(record.getHeader().getNumber()).isEqualTo(3L);
+        assertThat(record.getPayload()).isEqualTo("2,bar,@foo I do confirm :-)");
+
+        record = recordReader.readRecord();
+        assertThat(record).isNull();
+    }
+
+    @Test
+    public void whenInputFileExistsAndIsNotEmpty_thenReadRecordsShouldReturnNextRecordsInBulk() throws Exception {
+        recordReader = new MappedFlatFileRecordReader(dataSource);
+        recordReader.open();
+        Batch<String> batch = new Batch<>();
+
+        assertThat(recordReader.readRecords(2, batch)).isEqualTo(2);
+        assertThat(recordReader.readRecords(2, batch)).isEqualTo(1);
+        assertThat(recordReader.readRecords(2, batch)).isEqualTo(0);
+
+        assertThat(batch.size()).isEqualTo(3);
+        Iterator<Record<String>> iterator = batch.iterator();
+        Record<String> record = iterator.next();
+        assertThat(record.getHeader().getNumber()).isEqualTo(1L);
+        assertThat(record.getPayload()).isEqualTo("id,user,message");
+        iterator.next();
+        record = iterator.next();
+        assertThat(record.getHeader().getNumber()).isEqualTo(3L);
+        assertThat(record.getPayload()).isEqualTo("2,bar,@foo I do confirm :-)");
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void whenInputFileDoesNotExist_thenOpeningTheReaderShouldThrowFileNotFoundException() throws Exception {
+        recordReader = new MappedFlatFileRecordReader(nonExistingDataSource);
+        recordReader.open();
+    }
+
+    @Test
+    public void whenInputFileIsEmpty_thenReadRecordShouldReturnNull() throws Exception {
+        recordReader = new MappedFlatFileRecordReader(emptyDataSource);
+        recordReader.open();
+        assertThat(recordReader.readRecord()).isNull();
+    }
+
+    @Test
+    public void whenLinesSpanSeveralWindows_thenLinesShouldBeReadLikeWithFlatFileRecordReader() throws Exception {
+        String content = "a\r\nbb\n\nccc\rdddd\r\r\neeeee\nété €\r\n\r\nlast";
+        Path file = Files.createTempFile("tweets", ".csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        List<String> expected = readLines(new FlatFileRecordReader(file, StandardCharsets.UTF_8));
+
+        for (int windowSize = 1; windowSize <= content.length() + 1; windowSize++) {
+            List<String> lines = readLines(new MappedFlatFileRecordReader(file, StandardCharsets.UTF_8, windowSize));
+            assertThat(lines).as("window size %d", windowSize).isEqualTo(expected);
+        }
+        assertThat(expected).containsExactly("a", "bb", "", "ccc", "dddd", "", "eeeee", "été €", "", "last");
+        Files.delete(file);
+    }
+
+    @Test
+    public void whenCharsetIsNotDecodedDirectly_thenLinesShouldBeDecodedWithACharsetDecoder() throws Exception {
+        Charset charset = Charset.forName("windows-1252");
+        Path file = Files.createTempFile("tweets", ".csv");
+        Files.write(file, "café\r\n€ 10\n".getBytes(charset));
+
+        List<String> lines = readLines(new MappedFlatFileRecordReader(file, charset, 4));
+
+        assertThat(lines).containsExactly("café", "€ 10");
+        Files.delete(file);
+    }
+
+    @Test
+    public void whenSeekingToAPositionOfAFlatFileRecordReader_thenReadRecordShouldReturnTheRecordAfterThisPosition() throws Exception {
+        FlatFileRecordReader flatFileRecordReader = new FlatFileRecordReader(dataSource);
+        flatFileRecordReader.open();
+        flatFileRecordReader.readRecord();
+        flatFileRecordReader.readRecord();
+        String position = flatFileRecordReader.getPosition();
+        flatFileRecordReader.close();
+
+        recordReader = new MappedFlatFileRecordReader(dataSource, StandardCharsets.UTF_8, 16);
+        recordReader.open();
+        recordReader.seek(position);
+        StringRecord record = recordReader.readRecord();
+
+        assertThat(record.getHeader().getNumber()).isEqualTo(3L);
+        assertThat(record.getPayload()).isEqualTo("2,bar,@foo I do confirm :-)");
+        assertThat(recordReader.readRecord()).isNull();
+        assertThat(recordReader.getPosition()).isEqualTo("3:" + Files.size(dataSource));
+    }
+
+    @Test
+    public void whenReadingRecords_thenPositionShouldBeTheSameAsWithFlatFileRecordReader() throws Exception {
+        recordReader = new MappedFlatFileRecordReader(dataSource);
+        recordReader.open();
+        recordReader.readRecord();
+        recordReader.readRecord();
+
+        assertThat(recordReader.getPosition()).isEqualTo("2:51");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenCharsetLineTerminatorsAreNotSingleBytes_thenTheReaderShouldBeRejected() {
+        recordReader = new MappedFlatFileRecordReader(dataSource, StandardCharsets.UTF_16);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (recordReader != null) {
+            recordReader.close();
+        }
+    }
+
+    private static List<String> readLines(FlatFileRecordReader reader) throws Exception {
+        List<String> lines = new ArrayList<>();
+        reader.open();
+        StringRecord record;
+        while ((record = reader.readRecord()) != null) {
+            lines.add(record.getPayload());
+        }
+        reader.close();
+        return lines;
+    }
+
+    private static List<String> readLines(MappedFlatFileRecordReader reader) throws Exception {
+        List<String> lines = new ArrayList<>();
+        reader.open();
+        StringRecord record;
+        while ((record = reader.readRecord()) != null) {
+            lines.add(record.getPayload());
+        }
+        reader.close();
+        return lines;
+    }
+
+}
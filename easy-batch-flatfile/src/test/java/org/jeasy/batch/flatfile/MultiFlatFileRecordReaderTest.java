@@ -27,12 +27,17 @@ import org.jeasy.batch.core.job.Job;
 import org.jeasy.batch.core.job.JobBuilder;
 import org.jeasy.batch.core.job.JobExecutor;
 import org.jeasy.batch.core.processor.RecordCollector;
+import org.jeasy.batch.core.reader.AbstractFileRecordReader;
 import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.record.StringRecord;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -67,4 +72,88 @@ public class MultiFlatFileRecordReaderTest {
         assertThat(records).hasSize(6);
 
     }
+
+    @Test
+    public void whenPrefetchIsEnabled_thenAllRecordsShouldBeReadInOrder() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("multi-flat-file");
+        List<Path> files = new ArrayList<>();
+        List<String> expectedPayloads = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Path file = directory.resolve("file-" + i + ".txt");
+            StringBuilder content = new StringBuilder();
+            for (int j = 0; j < i % 4; j++) { // some files are empty
+                content.append(i).append('-').append(j).append('\n');
+                expectedPayloads.add(i + "-" + j);
+            }
+            Files.write(file, content.toString().getBytes());
+            files.add(file);
+        }
+        MultiFlatFileRecordReader multiFileRecordReader = new MultiFlatFileRecordReader(files);
+        multiFileRecordReader.setPrefetch(3);
+
+        // when
+        List<String> payloads = new ArrayList<>();
+        multiFileRecordReader.open();
+        Record<String> record;
+        while ((record = multiFileRecordReader.readRecord()) != null) {
+            String fileNumber = record.getPayload().substring(0, record.getPayload().indexOf('-'));
+            assertThat(record.getHeader().getSource()).endsWith("file-" + fileNumber + ".txt");
+            payloads.add(record.getPayload());
+        }
+        multiFileRecordReader.close();
+
+        // then
+        assertThat(payloads).isEqualTo(expectedPayloads);
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void whenReadingAPrefetchedFileFails_thenItsReaderShouldBeClosed() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("multi-flat-file");
+        List<Path> files = new ArrayList<>();
+        for (String name : new String[]{"a.txt", "b.txt", "c.txt"}) {
+            Path file = directory.resolve(name);
+            Files.write(file, (name + "\n").getBytes());
+            files.add(file);
+        }
+        List<Path> closedFiles = Collections.synchronizedList(new ArrayList<>());
+        MultiFlatFileRecordReader multiFileRecordReader = new MultiFlatFileRecordReader(files) {
+            @Override
+            protected AbstractFileRecordReader<String> createReader() {
+                Path file = currentFile;
+                return new FlatFileRecordReader(file) {
+                    @Override
+                    public StringRecord readRecord() throws IOException {
+                        if (file.endsWith("b.txt")) {
+                            throw new IOException("Unable to read " + file);
+                        }
+                        return super.readRecord();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        closedFiles.add(file);
+                    }
+                };
+            }
+        };
+        multiFileRecordReader.setPrefetch(2);
+
+        // when
+        multiFileRecordReader.open();
+        multiFileRecordReader.close();
+
+        // then
+        assertThat(closedFiles).containsExactlyInAnyOrderElementsOf(files);
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.test.common.AbstractDatabaseTest;
+import org.jeasy.batch.test.common.Tweet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the time to write batches of tweets to the embedded HSQLDB database used by tests,
+ * with single-row and multi-row insert statements.
+ *
+ * Run with: {@code mvn -pl easy-batch-jdbc -P benchmarks test-compile exec:exec -Djmh.benchmarks=JdbcRecordWriterBenchmark}
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JdbcRecordWriterBenchmark extends AbstractDatabaseTest {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1", "10", "50"})
+    public int rowsPerStatement;
+
+    private JdbcRecordWriter<Tweet> writer;
+    private Batch<Tweet> batch;
+    private int nextId;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        super.setUp();
+        writer = new JdbcRecordWriter<>(embeddedDatabase, "INSERT INTO tweet VALUES (?,?,?)",
+                new BeanPropertiesPreparedStatementProvider(Tweet.class, "id", "user", "message"));
+        writer.setRowsPerStatement(rowsPerStatement);
+        writer.open();
+    }
+
+    @Setup(Level.Invocation)
+    public void createBatch() {
+        Header header = new Header(1L, "benchmark", LocalDateTime.now());
+        batch = new Batch<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.addRecord(new GenericRecord<>(header, new Tweet(nextId++, "user", "easy batch rocks!")));
+        }
+    }
+
+    @Benchmark
+    public void writeBatch() throws Exception {
+        writer.writeRecords(batch);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        writer.close();
+        super.tearDown();
+    }
+}
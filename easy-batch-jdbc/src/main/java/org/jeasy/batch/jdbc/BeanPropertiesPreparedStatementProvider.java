@@ -24,12 +24,9 @@
 package org.jeasy.batch.jdbc;
 
 import org.jeasy.batch.core.mapper.BeanIntrospectionException;
+import org.jeasy.batch.core.util.BeanMetadata;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.PreparedStatement;
@@ -37,15 +34,20 @@ import java.sql.SQLException;
 import java.sql.Types;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 import static java.lang.String.format;
-import java.lang.reflect.Method;
+import static org.jeasy.batch.core.util.Utils.checkArgument;
 
 /**
  * A prepared statement provider that prepares a statement by introspecting record fields.
  * The record's payload is expected to be a JavaBean as this prepared statement provider
  * uses JavaBean naming conventions to introspect fields.
  *
+ * Properties are bound with compiled getters and, for common types, with typed setters
+ * of the statement (like {@link PreparedStatement#setLong(int, long)}). Null values are
+ * bound with the SQL type of the property (see {@link #javaTypesToSqlTypes}).
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class BeanPropertiesPreparedStatementProvider implements PreparedStatementProvider {
@@ -86,6 +88,8 @@ public class BeanPropertiesPreparedStatementProvider implements PreparedStatemen
         put(StringBuffer.class, Types.VARCHAR);
         put(StringBuilder.class, Types.VARCHAR);
     }};
+    private final BeanMetadata metadata;
+    private ParameterBinder[] binders;
 
     /**
      * Create a new {@link BeanPropertiesPreparedStatementProvider}.
@@ -96,36 +100,112 @@ public class BeanPropertiesPreparedStatementProvider implements PreparedStatemen
      */
     public BeanPropertiesPreparedStatementProvider(Class<?> type, String... properties) throws BeanIntrospectionException {
         this.properties = properties;
-        BeanInfo beanInfo;
-        try {
-            beanInfo = Introspector.getBeanInfo(type);
-            propertyDescriptors = beanInfo.getPropertyDescriptors();
-        } catch (IntrospectionException e) {
-            throw new BeanIntrospectionException("Unable to introspect type " + type, e);
+        this.metadata = BeanMetadata.of(type);
+        propertyDescriptors = metadata.getProperties().values().toArray(new PropertyDescriptor[0]);
+        for (String property : properties) {
+            checkArgument(metadata.getGetter(property) != null, format("No getter found for property %s in type %s", property, type.getName()));
         }
     }
 
     @Override
     public void prepareStatement(PreparedStatement preparedStatement, Object record) throws SQLException {
-        int index = 1;
-        for (String property: properties) {
+        if (binders == null) {
+            binders = compileBinders();
+        }
+        for (int i = 0; i < binders.length; i++) {
+            ParameterBinder binder = binders[i];
+            Object value;
             try {
-                for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-                    if (propertyDescriptor.getName().equals(property)) {
-                        Method readMethod = propertyDescriptor.getReadMethod();
-                        Integer sqlType = javaTypesToSqlTypes.get(readMethod.getReturnType());
-                        Object value = readMethod.invoke(record);
-                        if (sqlType != null) {
-                            preparedStatement.setObject(index++, value, sqlType);
-                        } else {
-                            preparedStatement.setObject(index++, value);
-                        }
-                        break;
-                    }
-                }
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new BeanIntrospectionException(format("Unable to get property %s from type %s", property, record.getClass().getName()), e);
+                value = binder.getter.apply(record);
+            } catch (RuntimeException e) {
+                throw new BeanIntrospectionException(format("Unable to get property %s from type %s", binder.property, record.getClass().getName()), e);
             }
+            binder.setter.setParameter(preparedStatement, i + 1, value);
+        }
+    }
+
+    // compiled on first use so that subclasses can customize SQL types in their constructor
+    private ParameterBinder[] compileBinders() {
+        ParameterBinder[] parameterBinders = new ParameterBinder[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            String property = properties[i];
+            Class<?> type = metadata.getProperties().get(property).getPropertyType();
+            parameterBinders[i] = new ParameterBinder(property, metadata.getGetter(property), getParameterSetter(type));
+        }
+        return parameterBinders;
+    }
+
+    private ParameterSetter getParameterSetter(Class<?> type) {
+        Integer sqlType = javaTypesToSqlTypes.get(type);
+        if (sqlType == null) {
+            return PreparedStatement::setObject;
+        }
+        int nullType = sqlType;
+        ParameterSetter typedSetter = getTypedSetter(type, nullType);
+        ParameterSetter setter = typedSetter != null ? typedSetter
+                : (preparedStatement, index, value) -> preparedStatement.setObject(index, value, nullType);
+        return (preparedStatement, index, value) -> {
+            if (value == null) {
+                preparedStatement.setNull(index, nullType);
+            } else {
+                setter.setParameter(preparedStatement, index, value);
+            }
+        };
+    }
+
+    // typed setters are used only when the SQL type of a java type is the natural one
+    private static ParameterSetter getTypedSetter(Class<?> type, int sqlType) {
+        if (sqlType == Types.INTEGER && (type == int.class || type == Integer.class)) {
+            return (preparedStatement, index, value) -> preparedStatement.setInt(index, (Integer) value);
+        }
+        if (sqlType == Types.BIGINT && (type == long.class || type == Long.class)) {
+            return (preparedStatement, index, value) -> preparedStatement.setLong(index, (Long) value);
+        }
+        if (sqlType == Types.SMALLINT && (type == short.class || type == Short.class)) {
+            return (preparedStatement, index, value) -> preparedStatement.setShort(index, (Short) value);
+        }
+        if (sqlType == Types.TINYINT && (type == byte.class || type == Byte.class)) {
+            return (preparedStatement, index, value) -> preparedStatement.setByte(index, (Byte) value);
+        }
+        if (sqlType == Types.BOOLEAN && (type == boolean.class || type == Boolean.class)) {
+            return (preparedStatement, index, value) -> preparedStatement.setBoolean(index, (Boolean) value);
+        }
+        if (sqlType == Types.DOUBLE && (type == double.class || type == Double.class)) {
+            return (preparedStatement, index, value) -> preparedStatement.setDouble(index, (Double) value);
+        }
+        if (sqlType == Types.VARCHAR && type == String.class) {
+            return (preparedStatement, index, value) -> preparedStatement.setString(index, (String) value);
+        }
+        if (sqlType == Types.DECIMAL && type == BigDecimal.class) {
+            return (preparedStatement, index, value) -> preparedStatement.setBigDecimal(index, (BigDecimal) value);
+        }
+        if (sqlType == Types.TIMESTAMP && type == java.sql.Timestamp.class) {
+            return (preparedStatement, index, value) -> preparedStatement.setTimestamp(index, (java.sql.Timestamp) value);
+        }
+        if (sqlType == Types.DATE && type == java.sql.Date.class) {
+            return (preparedStatement, index, value) -> preparedStatement.setDate(index, (java.sql.Date) value);
+        }
+        if (sqlType == Types.TIME && type == java.sql.Time.class) {
+            return (preparedStatement, index, value) -> preparedStatement.setTime(index, (java.sql.Time) value);
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface ParameterSetter {
+        void setParameter(PreparedStatement preparedStatement, int index, Object value) throws SQLException;
+    }
+
+    private static class ParameterBinder {
+
+        private final String property;
+        private final Function<Object, Object> getter;
+        private final ParameterSetter setter;
+
+        ParameterBinder(String property, Function<Object, Object> getter, ParameterSetter setter) {
+            this.property = property;
+            this.getter = getter;
+            this.setter = setter;
         }
     }
 }
@@ -0,0 +1,366 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import org.jeasy.batch.core.listener.BatchListener;
+import org.jeasy.batch.core.reader.CursorRecordReader;
+import org.jeasy.batch.core.reader.PollableRecordReader;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import static org.jeasy.batch.core.util.Utils.checkArgument;
+import static org.jeasy.batch.core.util.Utils.checkNotNull;
+
+/**
+ * A reader that reads only rows added or updated since its last run, using a high-watermark
+ * column: a column whose values only grow, like a sequence-generated id or a last update
+ * timestamp. The query must have a single parameter, the watermark, and return rows having
+ * a greater watermark ordered by the watermark column. For example:
+ *
+ * <pre>
+ * select * from orders where updated_at &gt; ? order by updated_at
+ * </pre>
+ *
+ * The watermark is stored in a file, in a typed form like {@code timestamp:2020-01-01T10:00:00.123456}
+ * that is bound back to the query with the setter of its type. It is committed after each batch
+ * is written with the listener returned by {@link #watermarkListener()}, which must be registered
+ * in the job:
+ *
+ * <pre>
+ * new JobBuilder&lt;ResultSet, Order&gt;()
+ *     .reader(reader)
+ *     .batchListener(reader.watermarkListener())
+ *     ...
+ * </pre>
+ *
+ * The watermark of a batch is the one of its last record, identified by its header number,
+ * so processors should keep headers of records. If the job fails, the next run reads again
+ * rows of batches that have not been written (at-least-once semantics). Since rows are
+ * selected by a strictly greater watermark, rows sharing the watermark of the last committed
+ * row must not be added after it was read, which is not guaranteed by timestamps of
+ * concurrent transactions.
+ *
+ * When a poll interval is set with {@link #setPollInterval(Duration)}, this reader does not
+ * stop at the last row: it runs the query again every poll interval to read rows added in
+ * the meantime, until the job is interrupted. Combined with a batch timeout, new rows are
+ * written as they arrive instead of when a batch is full.
+ *
+ * This reader produces {@link JdbcRecord} instances, whose payload is the result set positioned
+ * on the current row, so records must be processed as soon as they are read (see
+ * {@link CursorRecordReader}).
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class IncrementalJdbcRecordReader implements PollableRecordReader<ResultSet>, CursorRecordReader<ResultSet> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalJdbcRecordReader.class.getSimpleName());
+    private static final Object NO_WATERMARK = new Object();
+
+    private final DataSource dataSource;
+    private final String query;
+    private final String watermarkColumn;
+    private final Path watermarkFile;
+    private Object initialWatermark;
+    private Duration pollInterval;
+    private int fetchSize;
+    private int queryTimeout;
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private String dataSourceName;
+    private int watermarkColumnIndex;
+    private int watermarkType;
+    private Object lastWatermark;
+    private long currentRecordNumber;
+    private boolean endOfStream;
+
+    // watermarks of records read but not written yet, the first one being the watermark of record number firstPendingNumber
+    private final Deque<Object> pendingWatermarks = new ArrayDeque<>();
+    private long firstPendingNumber;
+
+    /**
+     * Create a new {@link IncrementalJdbcRecordReader}.
+     *
+     * @param dataSource to read data from
+     * @param query to fetch rows having a watermark greater than the query's single parameter
+     * @param watermarkColumn name of the watermark column, which must be part of the query's result set
+     * @param watermarkFile file where the watermark is stored between runs
+     */
+    public IncrementalJdbcRecordReader(final DataSource dataSource, final String query,
+                                       final String watermarkColumn, final Path watermarkFile) {
+        checkNotNull(dataSource, "data source");
+        checkNotNull(query, "query");
+        checkNotNull(watermarkColumn, "watermark column");
+        checkNotNull(watermarkFile, "watermark file");
+        this.dataSource = dataSource;
+        this.query = query;
+        this.watermarkColumn = watermarkColumn;
+        this.watermarkFile = watermarkFile;
+    }
+
+    @Override
+    public void open() throws Exception {
+        currentRecordNumber = 0;
+        endOfStream = false;
+        synchronized (pendingWatermarks) {
+            pendingWatermarks.clear();
+        }
+        LOGGER.debug("Opening JDBC connection");
+        connection = dataSource.getConnection();
+        dataSourceName = "Connection URL: " + connection.getMetaData().getURL() + " | Query string: " + query;
+        String storedWatermark = loadWatermark();
+        lastWatermark = storedWatermark == null ? null : JdbcKeys.parse(storedWatermark);
+        if (lastWatermark == null) {
+            checkArgument(initialWatermark != null, "No watermark stored in " + watermarkFile + " and no initial watermark set");
+        }
+        LOGGER.debug("Reading rows after watermark {}", lastWatermark == null ? initialWatermark : lastWatermark);
+        executeQuery();
+    }
+
+    @Override
+    public JdbcRecord readRecord() throws Exception {
+        return nextRecord(Long.MAX_VALUE);
+    }
+
+    @Override
+    public JdbcRecord pollRecord(long timeout, TimeUnit unit) throws Exception {
+        return nextRecord(unit.toNanos(timeout));
+    }
+
+    @Override
+    public boolean isEndOfStream() {
+        return endOfStream;
+    }
+
+    private JdbcRecord nextRecord(long timeout) throws Exception {
+        long start = System.nanoTime();
+        while (!resultSet.next()) {
+            if (pollInterval == null) {
+                endOfStream = true;
+                return null;
+            }
+            long remaining = timeout - (System.nanoTime() - start);
+            if (remaining <= 0) {
+                return null;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, pollInterval.toNanos()));
+            } catch (InterruptedException e) {
+                LOGGER.debug("Interrupted while waiting for new rows");
+                Thread.currentThread().interrupt();
+                endOfStream = true;
+                return null;
+            }
+            closeQuery();
+            executeQuery();
+        }
+        Object watermark = JdbcKeys.read(resultSet, watermarkColumnIndex, watermarkType);
+        if (watermark != null) {
+            lastWatermark = watermark;
+        }
+        long number = ++currentRecordNumber;
+        synchronized (pendingWatermarks) {
+            if (pendingWatermarks.isEmpty()) {
+                firstPendingNumber = number;
+            }
+            pendingWatermarks.add(lastWatermark == null ? NO_WATERMARK : lastWatermark);
+        }
+        Header header = new Header(number, dataSourceName, LocalDateTime.now());
+        return new JdbcRecord(header, resultSet);
+    }
+
+    private void executeQuery() throws SQLException {
+        if (statement == null) {
+            statement = prepareStatement();
+        }
+        if (lastWatermark == null) {
+            statement.setObject(1, initialWatermark);
+        } else {
+            JdbcKeys.bind(statement, 1, lastWatermark);
+        }
+        resultSet = statement.executeQuery();
+        watermarkColumnIndex = resultSet.findColumn(watermarkColumn);
+        watermarkType = resultSet.getMetaData().getColumnType(watermarkColumnIndex);
+    }
+
+    private PreparedStatement prepareStatement() throws SQLException {
+        PreparedStatement preparedStatement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (fetchSize >= 1) {
+            preparedStatement.setFetchSize(fetchSize);
+        }
+        if (queryTimeout >= 1) {
+            preparedStatement.setQueryTimeout(queryTimeout);
+        }
+        return preparedStatement;
+    }
+
+    private void closeQuery() throws SQLException {
+        if (resultSet != null) {
+            resultSet.close();
+            resultSet = null;
+        }
+    }
+
+    /**
+     * Get a listener committing the watermark of each written batch. It must be registered
+     * in the job reading records with this reader.
+     *
+     * @param <P> type of the job's output records
+     * @return a listener committing watermarks
+     */
+    public <P> BatchListener<P> watermarkListener() {
+        return new BatchListener<P>() {
+            @Override
+            public void afterBatchWriting(Batch<P> batch) {
+                Long lastNumber = null;
+                for (Record<P> record : batch) {
+                    lastNumber = record.getHeader().getNumber();
+                }
+                if (lastNumber != null) {
+                    commit(lastNumber);
+                }
+            }
+        };
+    }
+
+    private void commit(long recordNumber) {
+        Object watermark = null;
+        synchronized (pendingWatermarks) {
+            while (!pendingWatermarks.isEmpty() && firstPendingNumber <= recordNumber) {
+                watermark = pendingWatermarks.poll();
+                firstPendingNumber++;
+            }
+        }
+        if (watermark != null && watermark != NO_WATERMARK) {
+            try {
+                storeWatermark(JdbcKeys.format(watermark));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to store watermark in " + watermarkFile, e);
+            }
+        }
+    }
+
+    private String loadWatermark() throws IOException {
+        if (!Files.exists(watermarkFile)) {
+            return null;
+        }
+        String watermark = new String(Files.readAllBytes(watermarkFile), StandardCharsets.UTF_8);
+        return watermark.isEmpty() ? null : watermark;
+    }
+
+    // the watermark is written to a temporary file, forced to the storage device and then moved atomically
+    private void storeWatermark(String watermark) throws IOException {
+        Path tmp = watermarkFile.resolveSibling(watermarkFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(watermark.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(tmp, watermarkFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.debug("Committed watermark {}", watermark);
+    }
+
+    @Override
+    public void close() throws Exception {
+        closeQuery();
+        if (statement != null) {
+            statement.close();
+            statement = null;
+        }
+        if (connection != null) {
+            LOGGER.debug("Closing JDBC connection");
+            connection.close();
+            connection = null;
+        }
+    }
+
+    /**
+     * Set the watermark from which rows are read when no watermark is stored yet,
+     * like 0 for ids or {@code new Timestamp(0)} for timestamps.
+     *
+     * @param initialWatermark the initial watermark
+     */
+    public void setInitialWatermark(final Object initialWatermark) {
+        checkNotNull(initialWatermark, "initial watermark");
+        this.initialWatermark = initialWatermark;
+    }
+
+    /**
+     * Set the interval at which the query is run again to read new rows once all rows
+     * have been read. By default, this reader stops at the last row.
+     *
+     * @param pollInterval the poll interval
+     */
+    public void setPollInterval(final Duration pollInterval) {
+        checkNotNull(pollInterval, "poll interval");
+        checkArgument(!pollInterval.isNegative() && !pollInterval.isZero(), "poll interval must be > 0");
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Set the statement fetch size.
+     *
+     * @param fetchSize the fetch size to set
+     */
+    public void setFetchSize(final int fetchSize) {
+        checkArgument(fetchSize >= 1, "fetch size parameter must be greater than or equal to 1");
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Set the statement query timeout.
+     *
+     * @param queryTimeout the query timeout in seconds
+     */
+    public void setQueryTimeout(final int queryTimeout) {
+        checkArgument(queryTimeout >= 1, "query timeout parameter must be greater than or equal to 1");
+        this.queryTimeout = queryTimeout;
+    }
+}
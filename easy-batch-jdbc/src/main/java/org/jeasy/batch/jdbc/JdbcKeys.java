@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+/**
+ * Typed key values (checkpoint keys, watermarks) persisted between runs. Values are read
+ * with the getter of their SQL type (dates and times as {@code java.time} values, as
+ * defined by JDBC 4.2) and stored in a canonical form {@code kind:value} (for
+ * example {@code timestamp:2020-01-01T10:00:00.123456}), which is bound back with the setter
+ * of the same type. This does not depend on how drivers convert strings to dates or numbers.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class JdbcKeys {
+
+    private static final String LONG = "long";
+    private static final String DECIMAL = "decimal";
+    private static final String DATE = "date";
+    private static final String TIME = "time";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String OFFSET_TIMESTAMP = "offset_timestamp";
+    private static final String STRING = "string";
+
+    private JdbcKeys() {
+    }
+
+    /**
+     * Read a key from the current row of a result set.
+     *
+     * @param resultSet positioned on the row
+     * @param index of the key column
+     * @param sqlType of the key column
+     * @return the key as a Long, BigDecimal, java.time value or String, or null if the column is null
+     * @throws SQLException if the key cannot be read
+     */
+    static Object read(ResultSet resultSet, int index, int sqlType) throws SQLException {
+        Object key;
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                key = resultSet.getLong(index);
+                break;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                key = resultSet.getBigDecimal(index);
+                break;
+            case Types.DATE:
+                key = resultSet.getObject(index, LocalDate.class);
+                break;
+            case Types.TIME:
+                key = resultSet.getObject(index, LocalTime.class);
+                break;
+            case Types.TIMESTAMP:
+                key = resultSet.getObject(index, LocalDateTime.class);
+                break;
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                key = resultSet.getObject(index, OffsetDateTime.class);
+                break;
+            default:
+                key = resultSet.getString(index);
+        }
+        return resultSet.wasNull() ? null : key;
+    }
+
+    /**
+     * Format a key read with {@link #read(ResultSet, int, int)} in its canonical form.
+     *
+     * @param key to format
+     * @return the canonical form of the key
+     */
+    static String format(Object key) {
+        if (key instanceof Long) {
+            return LONG + ":" + key;
+        }
+        if (key instanceof BigDecimal) {
+            return DECIMAL + ":" + ((BigDecimal) key).toPlainString();
+        }
+        if (key instanceof LocalDate) {
+            return DATE + ":" + key;
+        }
+        if (key instanceof LocalTime) {
+            return TIME + ":" + key;
+        }
+        if (key instanceof LocalDateTime) {
+            return TIMESTAMP + ":" + key;
+        }
+        if (key instanceof OffsetDateTime) {
+            return OFFSET_TIMESTAMP + ":" + key;
+        }
+        return STRING + ":" + key;
+    }
+
+    /**
+     * Parse the canonical form of a key.
+     *
+     * @param key in canonical form
+     * @return the typed key
+     */
+    static Object parse(String key) {
+        int separator = key.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        String kind = key.substring(0, separator);
+        String value = key.substring(separator + 1);
+        switch (kind) {
+            case LONG:
+                return Long.valueOf(value);
+            case DECIMAL:
+                return new BigDecimal(value);
+            case DATE:
+                return LocalDate.parse(value);
+            case TIME:
+                return LocalTime.parse(value);
+            case TIMESTAMP:
+                return LocalDateTime.parse(value);
+            case OFFSET_TIMESTAMP:
+                return OffsetDateTime.parse(value);
+            case STRING:
+                return value;
+            default:
+                throw new IllegalArgumentException("Invalid key type: " + kind);
+        }
+    }
+
+    /**
+     * Bind a key read with {@link #read(ResultSet, int, int)} or {@link #parse(String)}
+     * to a statement parameter, with the setter of its type. Dates and times are bound as
+     * {@code java.time} values, which keeps the precision of timestamps unlike
+     * {@link Timestamp} with some drivers.
+     *
+     * @param statement to bind the key to
+     * @param index of the parameter
+     * @param key to bind
+     * @throws SQLException if the key cannot be bound
+     */
+    static void bind(PreparedStatement statement, int index, Object key) throws SQLException {
+        if (key instanceof Long) {
+            statement.setLong(index, (Long) key);
+        } else if (key instanceof BigDecimal) {
+            statement.setBigDecimal(index, (BigDecimal) key);
+        } else if (key instanceof String) {
+            statement.setString(index, (String) key);
+        } else {
+            statement.setObject(index, key);
+        }
+    }
+}
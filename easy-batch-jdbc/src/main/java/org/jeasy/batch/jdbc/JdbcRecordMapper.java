@@ -30,8 +30,6 @@ import org.jeasy.batch.core.record.Record;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * A {@link RecordMapper} that maps database rows to domain objects.
@@ -42,6 +40,7 @@ import java.util.Map;
 public class JdbcRecordMapper<P> extends AbstractRecordMapper<P> implements RecordMapper<ResultSet, P> {
 
     private String[] fields;
+    private volatile boolean fieldNamesBound;
 
     /**
      * Create a new {@link JdbcRecordMapper}. Column names will be fetched from the jdbc result set meta data
@@ -67,14 +66,29 @@ public class JdbcRecordMapper<P> extends AbstractRecordMapper<P> implements Reco
     @Override
     public Record<P> processRecord(final Record<ResultSet> record) throws Exception {
         ResultSet resultSet = record.getPayload();
-        initFieldNames(resultSet);
-        Map<String, String> values = new HashMap<>();
+        if (!fieldNamesBound) {
+            bindFieldNames(resultSet);
+        }
+        String[] values = new String[fields.length];
         for (int i = 0; i < fields.length; i++) {
-            values.put(fields[i], resultSet.getString(i + 1));
+            values[i] = resultSet.getString(i + 1);
         }
         return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(values));
     }
 
+    /*
+     * Field names are bound once from the first record, and published to other
+     * threads by the volatile write of fieldNamesBound.
+     */
+    private synchronized void bindFieldNames(final ResultSet resultSet) throws SQLException {
+        if (fieldNamesBound) {
+            return;
+        }
+        initFieldNames(resultSet);
+        objectMapper.setFieldNames(fields);
+        fieldNamesBound = true;
+    }
+
     private void initFieldNames(final ResultSet resultSet) throws SQLException {
         int columnCount = resultSet.getMetaData().getColumnCount();
         if (fields == null) {
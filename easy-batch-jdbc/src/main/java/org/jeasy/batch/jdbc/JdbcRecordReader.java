@@ -23,17 +23,27 @@
  */
 package org.jeasy.batch.jdbc;
 
+import org.jeasy.batch.core.reader.CursorRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.reader.SeekableRecordReader;
 import org.jeasy.batch.core.record.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 
 import static org.jeasy.batch.core.util.Utils.checkArgument;
 import static org.jeasy.batch.core.util.Utils.checkNotNull;
@@ -41,11 +51,23 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
 /**
  * A {@link RecordReader} that reads records from a database using the JDBC API.
  *
- * This reader produces {@link JdbcRecord} instances.
+ * This reader produces {@link JdbcRecord} instances, whose payload is the result set positioned
+ * on the current row. To get records that are detached from the result set, use a
+ * {@link JdbcRowRecordReader}, which is required to process records with several threads or to
+ * enable pipelining.
+ *
+ * When restarted from a checkpoint, this reader skips the rows it has already read.
+ * To resume reading directly at the last row read, set a checkpoint key with
+ * {@link #setCheckpointKey(String, String)}.
+ *
+ * A query can be split into key ranges read in parallel, each on its own connection,
+ * with {@link #partition(DataSource, String, String, int)}. Each reader can then be
+ * used in a separate job, and jobs can be executed with
+ * {@link org.jeasy.batch.core.job.JobExecutor#executeAll(List, org.jeasy.batch.core.job.JobReportMerger)}.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class JdbcRecordReader implements RecordReader<ResultSet> {
+public class JdbcRecordReader implements SeekableRecordReader<ResultSet>, CursorRecordReader<ResultSet> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JdbcRecordReader.class.getSimpleName());
 
@@ -56,6 +78,12 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
     private String query;
     private String dataSourceName;
     private long currentRecordNumber;
+    private String keyColumn;
+    private String seekQuery;
+    private int keyColumnIndex;
+    private int keyType;
+    private Object lastKey;
+    private Object[] queryParameters;
 
     // parameters
     private int maxRows;
@@ -75,12 +103,138 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
         this.query = query;
     }
 
+    /**
+     * Split a query into {@code partitions} ranges of values of a numeric or date column,
+     * and create a reader for each range. Ranges are computed from the minimum and maximum
+     * values of the split column, so they are balanced only if values are evenly distributed.
+     * Use {@link #partition(DataSource, String, String, List)} to set boundaries explicitly.
+     * Rows where the split column is null are read by the first reader.
+     *
+     * Each reader gets its own connection from the data source when opened.
+     *
+     * @param dataSource to read data from
+     * @param query to fetch data, which must be usable as a derived table
+     * @param splitColumn numeric or date column of the query's result set
+     * @param partitions number of ranges
+     * @return a reader for each range
+     * @throws SQLException if the minimum and maximum values of the split column cannot be fetched
+     */
+    public static List<JdbcRecordReader> partition(final DataSource dataSource, final String query,
+                                                   final String splitColumn, final int partitions) throws SQLException {
+        checkArgument(partitions >= 1, "partitions must be >= 1");
+        checkNotNull(dataSource, "data source");
+        checkNotNull(query, "query");
+        checkNotNull(splitColumn, "split column");
+        String rangeQuery = "select min(" + splitColumn + "), max(" + splitColumn + ") from (" + query + ") partitioned_query";
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet range = statement.executeQuery(rangeQuery)) {
+            range.next();
+            Object min = range.getObject(1);
+            Object max = range.getObject(2);
+            List<Object> boundaries = new ArrayList<>();
+            for (int i = 1; i < partitions && min != null; i++) {
+                Object boundary = interpolate(min, max, i, partitions);
+                if (boundaries.isEmpty() || compare(boundary, boundaries.get(boundaries.size() - 1)) > 0) {
+                    boundaries.add(boundary);
+                }
+            }
+            return partition(dataSource, query, splitColumn, boundaries);
+        }
+    }
+
+    /**
+     * Split a query into ranges of values of a column, and create a reader for each range.
+     * For boundaries {@code b1 < b2 < ... < bn}, readers read rows where the split column is
+     * {@code < b1}, {@code >= b1 and < b2}, ... and {@code >= bn}. Rows where the split column
+     * is null are read by the first reader.
+     *
+     * Each reader gets its own connection from the data source when opened.
+     *
+     * @param dataSource to read data from
+     * @param query to fetch data, which must be usable as a derived table
+     * @param splitColumn column of the query's result set
+     * @param boundaries of ranges in ascending order
+     * @return a reader for each range
+     */
+    public static List<JdbcRecordReader> partition(final DataSource dataSource, final String query,
+                                                   final String splitColumn, final List<?> boundaries) {
+        checkNotNull(dataSource, "data source");
+        checkNotNull(query, "query");
+        checkNotNull(splitColumn, "split column");
+        checkNotNull(boundaries, "boundaries");
+        List<JdbcRecordReader> readers = new ArrayList<>(boundaries.size() + 1);
+        if (boundaries.isEmpty()) {
+            readers.add(new JdbcRecordReader(dataSource, query));
+            return readers;
+        }
+        String partitionQuery = "select * from (" + query + ") partitioned_query where " + splitColumn;
+        int last = boundaries.size() - 1;
+        readers.add(partition(dataSource, partitionQuery + " < ? or " + splitColumn + " is null", boundaries.get(0)));
+        for (int i = 0; i < last; i++) {
+            readers.add(partition(dataSource, partitionQuery + " >= ? and " + splitColumn + " < ?", boundaries.get(i), boundaries.get(i + 1)));
+        }
+        readers.add(partition(dataSource, partitionQuery + " >= ?", boundaries.get(last)));
+        return readers;
+    }
+
+    private static JdbcRecordReader partition(DataSource dataSource, String query, Object... parameters) {
+        JdbcRecordReader reader = new JdbcRecordReader(dataSource, query);
+        reader.setQueryParameters(parameters);
+        return reader;
+    }
+
+    private static Object interpolate(Object min, Object max, int i, int partitions) {
+        if (min instanceof Number) {
+            BigDecimal low = new BigDecimal(min.toString());
+            BigDecimal high = new BigDecimal(max.toString());
+            BigDecimal value = high.subtract(low).multiply(BigDecimal.valueOf(i))
+                    .divide(BigDecimal.valueOf(partitions), Math.max(low.scale(), high.scale()), RoundingMode.FLOOR)
+                    .add(low);
+            boolean integral = min instanceof Integer || min instanceof Long || min instanceof Short || min instanceof Byte;
+            return integral ? (Object) value.longValue() : value;
+        }
+        if (min instanceof Date) {
+            long low = ((Date) min).getTime();
+            long high = ((Date) max).getTime();
+            long value = low + (long) ((double) (high - low) * i / partitions);
+            if (min instanceof Timestamp) {
+                return new Timestamp(value);
+            }
+            return min instanceof java.sql.Date ? new java.sql.Date(value) : new Date(value);
+        }
+        throw new IllegalArgumentException("Unable to compute ranges of split column values of type " + min.getClass().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object value, Object other) {
+        return ((Comparable<Object>) value).compareTo(other);
+    }
+
     @Override
     public void open() throws Exception {
         currentRecordNumber = 0;
         LOGGER.debug("Opening JDBC connection");
         connection = dataSource.getConnection();
-        statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (queryParameters == null) {
+            statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            configure(statement);
+            resultSet = statement.executeQuery(query);
+        } else {
+            PreparedStatement preparedStatement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement = preparedStatement;
+            configure(preparedStatement);
+            for (int i = 0; i < queryParameters.length; i++) {
+                preparedStatement.setObject(i + 1, queryParameters[i]);
+            }
+            resultSet = preparedStatement.executeQuery();
+        }
+        dataSourceName = getDataSourceName();
+        lastKey = null;
+        resolveKeyColumn();
+    }
+
+    private void configure(Statement statement) throws SQLException {
         if (maxRows >= 1) {
             statement.setMaxRows(maxRows);
         }
@@ -90,8 +244,13 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
         if (queryTimeout >= 1) {
             statement.setQueryTimeout(queryTimeout);
         }
-        resultSet = statement.executeQuery(query);
-        dataSourceName = getDataSourceName();
+    }
+
+    private void resolveKeyColumn() throws SQLException {
+        if (keyColumn != null) {
+            keyColumnIndex = resultSet.findColumn(keyColumn);
+            keyType = resultSet.getMetaData().getColumnType(keyColumnIndex);
+        }
     }
 
     private boolean hasNextRecord() {
@@ -104,8 +263,11 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
     }
 
     @Override
-    public JdbcRecord readRecord() {
+    public JdbcRecord readRecord() throws SQLException {
         if (hasNextRecord()) {
+            if (keyColumn != null) {
+                lastKey = JdbcKeys.read(resultSet, keyColumnIndex, keyType);
+            }
             Header header = new Header(++currentRecordNumber, dataSourceName, LocalDateTime.now());
             return new JdbcRecord(header, resultSet);
         } else {
@@ -113,9 +275,56 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The position has the form {@code recordNumber} or, when a checkpoint key is set,
+     * {@code recordNumber:kind:key} where key is the value of the key column of the last row read,
+     * in a typed form bound back with the setter of its type (for example {@code 2:long:2}).
+     */
+    @Override
+    public String getPosition() {
+        if (lastKey == null) {
+            return String.valueOf(currentRecordNumber);
+        }
+        return currentRecordNumber + ":" + JdbcKeys.format(lastKey);
+    }
+
+    @Override
+    public void seek(String position) throws SQLException {
+        String[] parts = position.split(":", 2);
+        long recordNumber = Long.parseLong(parts[0]);
+        if (parts.length == 2 && seekQuery != null) {
+            Object key = JdbcKeys.parse(parts[1]);
+            LOGGER.debug("Resuming reading after key {}", key);
+            resultSet.close();
+            statement.close();
+            PreparedStatement preparedStatement = connection.prepareStatement(seekQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement = preparedStatement;
+            configure(preparedStatement);
+            int index = 1;
+            if (queryParameters != null) {
+                for (Object queryParameter : queryParameters) {
+                    preparedStatement.setObject(index++, queryParameter);
+                }
+            }
+            JdbcKeys.bind(preparedStatement, index, key);
+            resultSet = preparedStatement.executeQuery();
+            resolveKeyColumn();
+            lastKey = key;
+            currentRecordNumber = recordNumber;
+        } else {
+            LOGGER.debug("Skipping {} rows", recordNumber);
+            while (currentRecordNumber < recordNumber && resultSet.next()) {
+                currentRecordNumber++;
+            }
+        }
+    }
+
     private String getDataSourceName() {
         try {
-            return "Connection URL: " + connection.getMetaData().getURL() + " | Query string: " + query;
+            String name = "Connection URL: " + connection.getMetaData().getURL() + " | Query string: " + query;
+            return queryParameters == null ? name : name + " | Query parameters: " + Arrays.toString(queryParameters);
         } catch (SQLException e) {
             LOGGER.error("Unable to get data source name", e);
             return "N/A";
@@ -136,6 +345,45 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
         }
     }
 
+    /**
+     * Set the key used to resume reading when the reader is restarted from a checkpoint.
+     * The seek query must return the same rows as the query of this reader, but only those
+     * having a key greater than the query's single parameter, and both queries must be
+     * ordered by the key. For example:
+     *
+     * <pre>
+     * query:      select * from tweet order by id
+     * seek query: select * from tweet where id &gt; ? order by id
+     * </pre>
+     *
+     * When query parameters are set (as for readers created by {@code partition}), the seek
+     * query takes the same parameters followed by the key, so that it reads the same range:
+     *
+     * <pre>
+     * query:      select * from (select * from tweet) partitioned_query where id &gt;= ? and id &lt; ?
+     * seek query: select * from (select * from tweet) partitioned_query where id &gt;= ? and id &lt; ? and id &gt; ? order by id
+     * </pre>
+     *
+     * @param keyColumn name of the key column, which must be unique and part of the query's result set
+     * @param seekQuery query returning rows after a given key
+     */
+    public void setCheckpointKey(final String keyColumn, final String seekQuery) {
+        checkNotNull(keyColumn, "key column");
+        checkNotNull(seekQuery, "seek query");
+        this.keyColumn = keyColumn;
+        this.seekQuery = seekQuery;
+    }
+
+    /**
+     * Set parameters of the query, which is then executed as a prepared statement.
+     *
+     * @param queryParameters values of the query's parameters, in order
+     */
+    public void setQueryParameters(final Object... queryParameters) {
+        checkNotNull(queryParameters, "query parameters");
+        this.queryParameters = queryParameters.clone();
+    }
+
     /**
      * Set the maximum number of rows to fetch.
      *
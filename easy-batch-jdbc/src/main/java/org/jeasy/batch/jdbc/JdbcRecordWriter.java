@@ -30,26 +30,55 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import static org.jeasy.batch.core.util.Utils.checkArgument;
 import static org.jeasy.batch.core.util.Utils.checkNotNull;
 
 /**
  * Write records to a relational database using the JDBC API.
  *
+ * The prepared statement is created when the writer is opened and reused for all batches.
+ * Each batch is written in a single transaction, and can be sent to the database in
+ * several JDBC batches of a given size with {@link #setSubBatchSize(int)}.
+ *
+ * For drivers that do not rewrite JDBC batches themselves, a single-row insert query
+ * like {@code INSERT INTO tweet VALUES (?, ?, ?)} can be rewritten to insert several
+ * rows per statement with {@link #setRowsPerStatement(int)}. The prepared statement
+ * provider is then called once per row, with parameter indexes shifted for each row.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
 public class JdbcRecordWriter<P> implements RecordWriter<P> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JdbcRecordWriter.class.getSimpleName());
+    private static final Pattern INSERT_VALUES = Pattern.compile("^(\\s*INSERT\\s.*\\bVALUES\\s*)(\\(.*\\))\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
     private DataSource dataSource;
     private Connection connection;
     private String query;
     private PreparedStatementProvider preparedStatementProvider;
+    private PreparedStatement preparedStatement;
+    private int subBatchSize;
+    private int rowsPerStatement = 1;
+    private String insertPrefix;
+    private String rowValues;
+    private int parametersPerRow;
+    private Map<Integer, PreparedStatement> partialStatements;
+    private ShiftedParameters shiftedParameters;
+    private PreparedStatement shiftedStatement;
 
     /**
      * Create a new {@link JdbcRecordWriter}.
@@ -67,35 +96,217 @@ public class JdbcRecordWriter<P> implements RecordWriter<P> {
         this.preparedStatementProvider = preparedStatementProvider;
     }
 
+    /**
+     * Set the maximum number of records sent to the database in a single JDBC batch.
+     * Larger batches are split in several JDBC batches committed in the same transaction.
+     *
+     * @param subBatchSize maximum number of records per JDBC batch, 0 (the default) for no limit
+     */
+    public void setSubBatchSize(final int subBatchSize) {
+        checkArgument(subBatchSize >= 0, "sub-batch size must be >= 0");
+        this.subBatchSize = subBatchSize;
+    }
+
+    /**
+     * Set the number of rows inserted by each statement. With more than one row, the
+     * query must be a single-row insert query ending with a {@code VALUES (...)} clause,
+     * which is rewritten to insert the given number of rows at once. Note that databases
+     * limit the number of parameters of a statement.
+     *
+     * @param rowsPerStatement number of rows inserted by each statement, 1 by default
+     */
+    public void setRowsPerStatement(final int rowsPerStatement) {
+        checkArgument(rowsPerStatement >= 1, "rows per statement must be >= 1");
+        if (rowsPerStatement > 1) {
+            Matcher matcher = INSERT_VALUES.matcher(query);
+            checkArgument(matcher.matches(), "query must be an insert query ending with a VALUES clause to insert several rows per statement");
+            insertPrefix = matcher.group(1);
+            rowValues = matcher.group(2);
+            parametersPerRow = countParameters(rowValues);
+            checkArgument(parametersPerRow > 0, "query must have parameters to insert several rows per statement");
+        }
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
     @Override
     public void open() throws Exception {
         LOGGER.debug("Opening JDBC connection");
         connection = dataSource.getConnection();
         connection.setAutoCommit(false);
+        if (rowsPerStatement > 1) {
+            preparedStatement = connection.prepareStatement(getMultiRowQuery(rowsPerStatement));
+            partialStatements = new HashMap<>();
+            shiftedParameters = new ShiftedParameters();
+            shiftedStatement = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, shiftedParameters);
+        } else {
+            preparedStatement = connection.prepareStatement(query);
+        }
     }
 
     @Override
     public void writeRecords(Batch<P> batch) throws Exception {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            for (Record<P> record : batch) {
-                preparedStatementProvider.prepareStatement(preparedStatement, record.getPayload());
-                preparedStatement.addBatch();
+        try {
+            if (rowsPerStatement > 1) {
+                writeMultiRowStatements(batch);
+            } else {
+                writeSingleRowStatements(batch);
             }
-            preparedStatement.executeBatch();
             connection.commit();
             LOGGER.debug("Transaction committed");
-        } catch (SQLException e) {
+        } catch (Exception e) {
             LOGGER.error("Unable to commit transaction", e);
+            clearBatch();
             connection.rollback();
             throw e;
         }
     }
 
+    private void writeSingleRowStatements(Batch<P> batch) throws SQLException {
+        int pendingRecords = 0;
+        for (Record<P> record : batch) {
+            preparedStatementProvider.prepareStatement(preparedStatement, record.getPayload());
+            preparedStatement.addBatch();
+            if (++pendingRecords == subBatchSize) {
+                preparedStatement.executeBatch();
+                pendingRecords = 0;
+            }
+        }
+        if (pendingRecords > 0) {
+            preparedStatement.executeBatch();
+        }
+    }
+
+    private void writeMultiRowStatements(Batch<P> batch) throws SQLException {
+        long fullStatementRecords = batch.size() - batch.size() % rowsPerStatement;
+        long recordNumber = 0;
+        int row = 0;
+        int pendingRecords = 0;
+        shiftedParameters.statement = preparedStatement;
+        for (Record<P> record : batch) {
+            if (recordNumber++ == fullStatementRecords) { // remaining records are inserted by a statement with less rows
+                shiftedParameters.statement = getPartialStatement((int) (batch.size() - fullStatementRecords));
+            }
+            shiftedParameters.offset = row * parametersPerRow;
+            preparedStatementProvider.prepareStatement(shiftedStatement, record.getPayload());
+            if (++row == rowsPerStatement) {
+                preparedStatement.addBatch();
+                row = 0;
+                pendingRecords += rowsPerStatement;
+                if (subBatchSize > 0 && pendingRecords >= subBatchSize) {
+                    preparedStatement.executeBatch();
+                    pendingRecords = 0;
+                }
+            }
+        }
+        if (pendingRecords > 0) {
+            preparedStatement.executeBatch();
+        }
+        if (row > 0) {
+            shiftedParameters.statement.executeUpdate();
+        }
+    }
+
+    private PreparedStatement getPartialStatement(int rows) throws SQLException {
+        PreparedStatement partialStatement = partialStatements.get(rows);
+        if (partialStatement == null) {
+            partialStatement = connection.prepareStatement(getMultiRowQuery(rows));
+            partialStatements.put(rows, partialStatement);
+        }
+        return partialStatement;
+    }
+
+    private String getMultiRowQuery(int rows) {
+        StringBuilder multiRowQuery = new StringBuilder(insertPrefix.length() + (rowValues.length() + 2) * rows);
+        multiRowQuery.append(insertPrefix).append(rowValues);
+        for (int i = 1; i < rows; i++) {
+            multiRowQuery.append(", ").append(rowValues);
+        }
+        return multiRowQuery.toString();
+    }
+
+    private static int countParameters(String values) {
+        int parameters = 0;
+        boolean quoted = false;
+        for (int i = 0; i < values.length(); i++) {
+            char c = values.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                parameters++;
+            }
+        }
+        return parameters;
+    }
+
+    private void clearBatch() {
+        try {
+            preparedStatement.clearBatch();
+        } catch (SQLException e) {
+            LOGGER.debug("Unable to clear JDBC batch", e);
+        }
+    }
+
     @Override
     public void close() throws Exception {
-        if (connection != null) {
-            LOGGER.debug("Closing JDBC connection");
-            connection.close();
+        try {
+            closeStatements();
+        } finally {
+            if (connection != null) {
+                LOGGER.debug("Closing JDBC connection");
+                connection.close();
+            }
+        }
+    }
+
+    private void closeStatements() throws SQLException {
+        SQLException exception = null;
+        if (partialStatements != null) {
+            for (PreparedStatement partialStatement : partialStatements.values()) {
+                exception = closeStatement(partialStatement, exception);
+            }
+            partialStatements.clear();
+        }
+        if (preparedStatement != null) {
+            exception = closeStatement(preparedStatement, exception);
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private static SQLException closeStatement(PreparedStatement statement, SQLException exception) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            if (exception == null) {
+                return e;
+            }
+            exception.addSuppressed(e);
+        }
+        return exception;
+    }
+
+    /*
+     * Shifts indexes of parameters set by the prepared statement provider
+     * to the parameters of the current row of a multi-row statement.
+     */
+    private static class ShiftedParameters implements InvocationHandler {
+
+        private PreparedStatement statement;
+        private int offset;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (args != null && args.length >= 2 && method.getName().startsWith("set")
+                    && method.getParameterTypes()[0] == int.class) {
+                args[0] = (Integer) args[0] + offset;
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
         }
     }
 }
@@ -0,0 +1,194 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static org.jeasy.batch.core.util.Utils.checkArgument;
+import static org.jeasy.batch.core.util.Utils.checkNotNull;
+
+/**
+ * A snapshot of a database row, with typed values indexed by column. Unlike a
+ * {@link java.sql.ResultSet}, a row is detached from the cursor it was read from, so
+ * records of rows can be buffered, batched, or processed by other threads.
+ *
+ * Like in JDBC, columns are indexed from 1. Column metadata is shared by all rows
+ * read with the same query (see {@link Columns}).
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class JdbcRow {
+
+    private final Columns columns;
+    private final Object[] values;
+
+    /**
+     * Create a new {@link JdbcRow}.
+     *
+     * @param columns of the row
+     * @param values of the row, in the same order as columns
+     */
+    public JdbcRow(final Columns columns, final Object[] values) {
+        checkNotNull(columns, "columns");
+        checkNotNull(values, "values");
+        checkArgument(values.length == columns.getCount(), "the number of values must be equal to the number of columns");
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Get the columns of this row.
+     *
+     * @return the columns of this row
+     */
+    public Columns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get the value of a column.
+     *
+     * @param index of the column, starting from 1
+     * @return the value of the column, which may be null
+     */
+    public Object getObject(final int index) {
+        return values[index - 1];
+    }
+
+    /**
+     * Get the value of a column.
+     *
+     * @param label of the column, case insensitive
+     * @return the value of the column, which may be null
+     * @throws IllegalArgumentException if there is no column with this label
+     */
+    public Object getObject(final String label) {
+        return values[columns.indexOf(label) - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(columns.labels[i]).append('=').append(values[i]);
+        }
+        return stringBuilder.append('}').toString();
+    }
+
+    /**
+     * Metadata of the columns of a row: labels, SQL types (as defined in {@link java.sql.Types})
+     * and java types of values. It is resolved once per query and shared by all rows.
+     */
+    public static final class Columns {
+
+        private final String[] labels;
+        private final int[] sqlTypes;
+        private final Class<?>[] javaTypes;
+        private final Map<String, Integer> indexes;
+
+        /**
+         * Create a new {@link Columns}.
+         *
+         * @param labels of columns
+         * @param sqlTypes of columns
+         * @param javaTypes of column values
+         */
+        public Columns(final String[] labels, final int[] sqlTypes, final Class<?>[] javaTypes) {
+            checkNotNull(labels, "labels");
+            checkNotNull(sqlTypes, "SQL types");
+            checkNotNull(javaTypes, "java types");
+            checkArgument(labels.length == sqlTypes.length && labels.length == javaTypes.length,
+                    "labels, SQL types and java types must have the same length");
+            this.labels = labels.clone();
+            this.sqlTypes = sqlTypes.clone();
+            this.javaTypes = javaTypes.clone();
+            this.indexes = new HashMap<>();
+            for (int i = labels.length - 1; i >= 0; i--) {
+                indexes.put(labels[i].toUpperCase(Locale.ROOT), i + 1);
+            }
+        }
+
+        /**
+         * Get the number of columns.
+         *
+         * @return the number of columns
+         */
+        public int getCount() {
+            return labels.length;
+        }
+
+        /**
+         * Get the label of a column.
+         *
+         * @param index of the column, starting from 1
+         * @return the label of the column
+         */
+        public String getLabel(final int index) {
+            return labels[index - 1];
+        }
+
+        /**
+         * Get the SQL type of a column.
+         *
+         * @param index of the column, starting from 1
+         * @return the SQL type of the column
+         */
+        public int getSqlType(final int index) {
+            return sqlTypes[index - 1];
+        }
+
+        /**
+         * Get the java type of values of a column.
+         *
+         * @param index of the column, starting from 1
+         * @return the java type of values of the column
+         */
+        public Class<?> getJavaType(final int index) {
+            return javaTypes[index - 1];
+        }
+
+        /**
+         * Get the index of a column. If several columns have the same label, the index
+         * of the first one is returned.
+         *
+         * @param label of the column, case insensitive
+         * @return the index of the column, starting from 1
+         * @throws IllegalArgumentException if there is no column with this label
+         */
+        public int indexOf(final String label) {
+            Integer index = indexes.get(label.toUpperCase(Locale.ROOT));
+            if (index == null) {
+                throw new IllegalArgumentException(format("No column with label %s in %s", label, Arrays.toString(labels)));
+            }
+            return index;
+        }
+    }
+}
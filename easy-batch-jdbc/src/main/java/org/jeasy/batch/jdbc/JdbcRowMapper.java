@@ -0,0 +1,256 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import org.jeasy.batch.core.mapper.RecordMapper;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.BeanMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.beans.PropertyDescriptor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static org.jeasy.batch.core.util.Utils.checkNotNull;
+
+/**
+ * A {@link RecordMapper} that maps {@link JdbcRow}s (see {@link JdbcRowRecordReader}) to
+ * domain objects. Unlike {@link JdbcRecordMapper}, typed values of rows are set directly
+ * on fields, without converting them to strings and back.
+ *
+ * Binders are compiled when the first row is mapped: values are set as they are when
+ * their type is assignable to the field type, and converted otherwise between numeric
+ * types, from SQL date and time types to {@code java.time} types, or to strings. Null
+ * values are ignored, so fields keep their default value.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public class JdbcRowMapper<P> implements RecordMapper<JdbcRow, P> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcRowMapper.class.getSimpleName());
+
+    private final BeanMetadata metadata;
+    private final Supplier<P> constructor;
+    private String[] fields;
+    private volatile FieldBinder[] binders;
+
+    /**
+     * Create a new {@link JdbcRowMapper}. Columns are mapped to fields having the
+     * same name as their label, ignoring case.
+     *
+     * @param recordClass the target domain object class
+     */
+    public JdbcRowMapper(final Class<P> recordClass) {
+        checkNotNull(recordClass, "record class");
+        this.metadata = BeanMetadata.of(recordClass);
+        this.constructor = metadata.getConstructor();
+    }
+
+    /**
+     * Create a new {@link JdbcRowMapper}. The supplied field names will be used to map columns to the target object fields.
+     *
+     * @param recordClass the target domain object class
+     * @param fields      the list of fields names, in the same order as columns
+     */
+    public JdbcRowMapper(final Class<P> recordClass, final String... fields) {
+        this(recordClass);
+        checkNotNull(fields, "fields");
+        this.fields = fields.clone();
+    }
+
+    @Override
+    public Record<P> processRecord(final Record<JdbcRow> record) throws Exception {
+        JdbcRow row = record.getPayload();
+        FieldBinder[] binders = this.binders;
+        if (binders == null) {
+            binders = getBinders(row.getColumns());
+        }
+        P result = constructor.get();
+        for (int i = 0; i < binders.length; i++) {
+            FieldBinder binder = binders[i];
+            Object value;
+            if (binder != null && (value = row.getObject(i + 1)) != null) {
+                binder.bind(result, value);
+            }
+        }
+        return new GenericRecord<>(record.getHeader(), result);
+    }
+
+    /*
+     * Binders are compiled once from the columns of the first row. They are published
+     * to processing threads by the volatile write of the binders field.
+     */
+    private synchronized FieldBinder[] getBinders(JdbcRow.Columns columns) {
+        if (binders == null) {
+            binders = compileBinders(columns);
+        }
+        return binders;
+    }
+
+    private FieldBinder[] compileBinders(JdbcRow.Columns columns) {
+        Map<String, String> properties = new HashMap<>();
+        for (String property : metadata.getProperties().keySet()) {
+            properties.putIfAbsent(property.toUpperCase(Locale.ROOT), property);
+        }
+        int count = fields == null ? columns.getCount() : Math.min(fields.length, columns.getCount());
+        FieldBinder[] fieldBinders = new FieldBinder[count];
+        for (int i = 0; i < count; i++) {
+            String field = fields == null ? properties.get(columns.getLabel(i + 1).toUpperCase(Locale.ROOT)) : fields[i];
+            if (field == null) {
+                LOGGER.warn("No field found for column {}, this column will be ignored", columns.getLabel(i + 1));
+                continue;
+            }
+            PropertyDescriptor propertyDescriptor = metadata.getProperties().get(field);
+            if (propertyDescriptor == null || propertyDescriptor.getWriteMethod() == null) {
+                LOGGER.warn("No public setter found for field {}, this field will be set to null (if object type) or default value (if primitive type)", field);
+                continue;
+            }
+            Class<?> type = propertyDescriptor.getPropertyType();
+            fieldBinders[i] = new FieldBinder(field, type, metadata.getSetter(field), getConverter(columns.getJavaType(i + 1), type));
+        }
+        return fieldBinders;
+    }
+
+    private static Function<Object, Object> getConverter(Class<?> source, Class<?> target) {
+        Class<?> boxedTarget = box(target);
+        if (boxedTarget.isAssignableFrom(source) || source == Object.class) {
+            return Function.identity();
+        }
+        if (Number.class.isAssignableFrom(source)) {
+            Function<Object, Object> converter = getNumberConverter(boxedTarget);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        if (source == java.sql.Date.class && target == java.time.LocalDate.class) {
+            return value -> ((java.sql.Date) value).toLocalDate();
+        }
+        if (source == java.sql.Time.class && target == java.time.LocalTime.class) {
+            return value -> ((java.sql.Time) value).toLocalTime();
+        }
+        if (source == java.sql.Timestamp.class && target == java.time.LocalDateTime.class) {
+            return value -> ((java.sql.Timestamp) value).toLocalDateTime();
+        }
+        if (source == java.sql.Timestamp.class && target == java.time.LocalDate.class) {
+            return value -> ((java.sql.Timestamp) value).toLocalDateTime().toLocalDate();
+        }
+        if (target == String.class) {
+            return String::valueOf;
+        }
+        throw new IllegalArgumentException(format("Unable to convert values of type %s to type %s", source.getName(), target.getName()));
+    }
+
+    private static Function<Object, Object> getNumberConverter(Class<?> target) {
+        if (target == Integer.class) {
+            return value -> ((Number) value).intValue();
+        }
+        if (target == Long.class) {
+            return value -> ((Number) value).longValue();
+        }
+        if (target == Short.class) {
+            return value -> ((Number) value).shortValue();
+        }
+        if (target == Byte.class) {
+            return value -> ((Number) value).byteValue();
+        }
+        if (target == Double.class) {
+            return value -> ((Number) value).doubleValue();
+        }
+        if (target == Float.class) {
+            return value -> ((Number) value).floatValue();
+        }
+        if (target == BigDecimal.class) {
+            return value -> new BigDecimal(value.toString());
+        }
+        if (target == BigInteger.class) {
+            return value -> new BigDecimal(value.toString()).toBigInteger();
+        }
+        return null;
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    /**
+     * Converts a typed value and sets it on a target object with a compiled setter.
+     */
+    private static class FieldBinder {
+
+        private final String field;
+        private final Class<?> type;
+        private final BiConsumer<Object, Object> setter;
+        private final Function<Object, Object> converter;
+
+        FieldBinder(String field, Class<?> type, BiConsumer<Object, Object> setter, Function<Object, Object> converter) {
+            this.field = field;
+            this.type = type;
+            this.setter = setter;
+            this.converter = converter;
+        }
+
+        void bind(Object result, Object value) throws Exception {
+            try {
+                setter.accept(result, converter.apply(value));
+            } catch (RuntimeException e) {
+                throw new Exception(format("Unable to set value %s of type %s to field %s of type %s",
+                        value, value.getClass().getName(), field, type.getName()), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import org.jeasy.batch.core.reader.BulkRecordReader;
+import org.jeasy.batch.core.reader.SeekableRecordReader;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.GenericRecord;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.jeasy.batch.core.util.Utils.checkNotNull;
+
+/**
+ * A reader that reads database rows with a {@link JdbcRecordReader} and copies each of
+ * them into a {@link JdbcRow}. Records are therefore detached from the result set and
+ * can be buffered, batched or processed in parallel, at the cost of copying all values.
+ *
+ * Values are read with the getter matching the JDBC type of their column (like
+ * {@link ResultSet#getLong(int)} for {@link Types#BIGINT} columns), and column metadata
+ * is resolved once when the first row is read. Values of large object columns are read
+ * entirely, as strings for character objects and byte arrays for binary objects. Values
+ * of other types not listed in {@link #readValue(ResultSet, int, int)} are read with
+ * {@link ResultSet#getObject(int)} and may not be detached from the result set, depending
+ * on the driver.
+ *
+ * Positions are those of the underlying reader, so this reader can be restarted from a
+ * checkpoint in the same way.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class JdbcRowRecordReader implements BulkRecordReader<JdbcRow>, SeekableRecordReader<JdbcRow> {
+
+    private final JdbcRecordReader delegate;
+    private JdbcRow.Columns columns;
+    private int[] sqlTypes;
+
+    /**
+     * Create a new {@link JdbcRowRecordReader}.
+     *
+     * @param dataSource to read data from
+     * @param query      to fetch data
+     */
+    public JdbcRowRecordReader(final DataSource dataSource, final String query) {
+        this(new JdbcRecordReader(dataSource, query));
+    }
+
+    /**
+     * Create a new {@link JdbcRowRecordReader} reading rows with the given reader, which
+     * can be configured beforehand (fetch size, checkpoint key, etc), or created with
+     * {@link JdbcRecordReader#partition(DataSource, String, String, int)}.
+     *
+     * @param delegate reader of rows
+     */
+    public JdbcRowRecordReader(final JdbcRecordReader delegate) {
+        checkNotNull(delegate, "delegate");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void open() throws Exception {
+        columns = null;
+        delegate.open();
+    }
+
+    @Override
+    public GenericRecord<JdbcRow> readRecord() throws SQLException {
+        JdbcRecord record = delegate.readRecord();
+        if (record == null) {
+            return null;
+        }
+        ResultSet resultSet = record.getPayload();
+        if (columns == null) {
+            resolveColumns(resultSet.getMetaData());
+        }
+        Object[] values = new Object[sqlTypes.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readValue(resultSet, i + 1, sqlTypes[i]);
+        }
+        return new GenericRecord<>(record.getHeader(), new JdbcRow(columns, values));
+    }
+
+    @Override
+    public int readRecords(int maxRecords, Batch<JdbcRow> batch) throws SQLException {
+        int count = 0;
+        GenericRecord<JdbcRow> record;
+        while (count < maxRecords && (record = readRecord()) != null) {
+            batch.addRecord(record);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public String getPosition() {
+        return delegate.getPosition();
+    }
+
+    @Override
+    public void seek(String position) throws SQLException {
+        delegate.seek(position);
+    }
+
+    @Override
+    public void close() throws Exception {
+        delegate.close();
+    }
+
+    private void resolveColumns(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        Class<?>[] javaTypes = new Class<?>[columnCount];
+        sqlTypes = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            sqlTypes[i] = metaData.getColumnType(i + 1);
+            javaTypes[i] = getJavaType(sqlTypes[i]);
+        }
+        columns = new JdbcRow.Columns(labels, sqlTypes, javaTypes);
+    }
+
+    /**
+     * Read the value of a column of the current row.
+     *
+     * @param resultSet to read the value from
+     * @param index of the column
+     * @param sqlType of the column
+     * @return the value, or null if it is SQL NULL
+     * @throws SQLException if the value cannot be read
+     */
+    protected Object readValue(ResultSet resultSet, int index, int sqlType) throws SQLException {
+        Object value;
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                value = resultSet.getBoolean(index);
+                break;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                value = resultSet.getInt(index);
+                break;
+            case Types.BIGINT:
+                value = resultSet.getLong(index);
+                break;
+            case Types.REAL:
+                value = resultSet.getFloat(index);
+                break;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                value = resultSet.getDouble(index);
+                break;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return resultSet.getBigDecimal(index);
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return resultSet.getString(index);
+            case Types.DATE:
+                return resultSet.getDate(index);
+            case Types.TIME:
+                return resultSet.getTime(index);
+            case Types.TIMESTAMP:
+                return resultSet.getTimestamp(index);
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return resultSet.getBytes(index);
+            default:
+                return resultSet.getObject(index);
+        }
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * Get the java type of values read by {@link #readValue(ResultSet, int, int)} for a SQL type.
+     *
+     * @param sqlType of a column
+     * @return the java type of values of the column
+     */
+    protected Class<?> getJavaType(int sqlType) {
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return Boolean.class;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return Integer.class;
+            case Types.BIGINT:
+                return Long.class;
+            case Types.REAL:
+                return Float.class;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return Double.class;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return BigDecimal.class;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return String.class;
+            case Types.DATE:
+                return java.sql.Date.class;
+            case Types.TIME:
+                return java.sql.Time.class;
+            case Types.TIMESTAMP:
+                return java.sql.Timestamp.class;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return byte[].class;
+            default:
+                return Object.class;
+        }
+    }
+}
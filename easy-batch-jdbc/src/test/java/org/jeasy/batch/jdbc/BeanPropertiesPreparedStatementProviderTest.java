@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import org.jeasy.batch.test.common.Tweet;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.inOrder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BeanPropertiesPreparedStatementProviderTest {
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Test
+    public void propertiesShouldBeBoundInOrderWithTypedSetters() throws Exception {
+        BeanPropertiesPreparedStatementProvider provider = new BeanPropertiesPreparedStatementProvider(Tweet.class, "message", "id", "user");
+
+        provider.prepareStatement(preparedStatement, new Tweet(1, "foo", "hello"));
+
+        InOrder inOrder = inOrder(preparedStatement);
+        inOrder.verify(preparedStatement).setString(1, "hello");
+        inOrder.verify(preparedStatement).setInt(2, 1);
+        inOrder.verify(preparedStatement).setString(3, "foo");
+    }
+
+    @Test
+    public void nullValuesShouldBeBoundWithTheSqlTypeOfTheProperty() throws Exception {
+        BeanPropertiesPreparedStatementProvider provider = new BeanPropertiesPreparedStatementProvider(Order.class, "id", "amount", "date", "note");
+        Order order = new Order();
+        order.setAmount(BigDecimal.TEN);
+
+        provider.prepareStatement(preparedStatement, order);
+
+        InOrder inOrder = inOrder(preparedStatement);
+        inOrder.verify(preparedStatement).setNull(1, Types.BIGINT);
+        inOrder.verify(preparedStatement).setBigDecimal(2, BigDecimal.TEN);
+        inOrder.verify(preparedStatement).setNull(3, Types.DATE);
+        inOrder.verify(preparedStatement).setObject(4, null);
+    }
+
+    @Test
+    public void typesWithoutTypedSetterShouldBeBoundAsObjectsWithTheirSqlType() throws Exception {
+        BeanPropertiesPreparedStatementProvider provider = new BeanPropertiesPreparedStatementProvider(Order.class, "date");
+        Order order = new Order();
+        order.setDate(LocalDate.of(2020, 1, 1));
+
+        provider.prepareStatement(preparedStatement, order);
+
+        inOrder(preparedStatement).verify(preparedStatement).setObject(1, LocalDate.of(2020, 1, 1), Types.DATE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPropertyHasNoGetter_thenProviderShouldBeRejected() {
+        new BeanPropertiesPreparedStatementProvider(Tweet.class, "id", "unknown");
+    }
+
+    public static class Order {
+
+        private Long id;
+        private BigDecimal amount;
+        private LocalDate date;
+        private Object note;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+
+        public Object getNote() {
+            return note;
+        }
+
+        public void setNote(Object note) {
+            this.note = note;
+        }
+    }
+}
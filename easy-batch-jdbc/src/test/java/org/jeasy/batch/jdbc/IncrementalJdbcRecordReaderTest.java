@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import org.jeasy.batch.core.job.Job;
+import org.jeasy.batch.core.job.JobBuilder;
+import org.jeasy.batch.core.job.JobExecutor;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.JobStatus;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.test.common.AbstractDatabaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalJdbcRecordReaderTest extends AbstractDatabaseTest {
+
+    private static final String QUERY = "select * from tweet where id > ? order by id";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path watermarkFile;
+    private IncrementalJdbcRecordReader reader;
+
+    @Before
+    public void setUp() throws Exception {
+        addScript("data.sql");
+        super.setUp();
+        watermarkFile = temporaryFolder.getRoot().toPath().resolve("tweets.watermark");
+        reader = newReader();
+    }
+
+    @Test
+    public void whenJobIsRunAgain_thenOnlyNewRowsShouldBeRead() throws Exception {
+        assertThat(run(reader, -1)).containsExactly(1, 2);
+        assertThat(new String(Files.readAllBytes(watermarkFile), StandardCharsets.UTF_8)).isEqualTo("long:2");
+
+        jdbcTemplate.update("insert into tweet values (3, 'baz', 'hello')");
+
+        assertThat(run(newReader(), -1)).containsExactly(3);
+        assertThat(run(newReader(), -1)).isEmpty();
+    }
+
+    @Test
+    public void whenWritingFails_thenNextRunShouldReadRowsOfBatchesNotWritten() throws Exception {
+        List<Integer> ids = run(reader, 2);
+
+        assertThat(ids).containsExactly(1);
+        assertThat(run(newReader(), -1)).containsExactly(2);
+    }
+
+    @Test
+    public void whenWatermarkIsATimestamp_thenItShouldBeStoredAndBoundWithoutLosingPrecision() throws Exception {
+        jdbcTemplate.execute("create table event (id integer not null primary key, updated_at timestamp(6) not null)");
+        jdbcTemplate.update("insert into event values (1, '2020-01-01 10:00:00.123456')");
+        jdbcTemplate.update("insert into event values (2, '2020-01-01 10:00:00.123457')");
+        String query = "select * from event where updated_at > ? order by updated_at";
+        reader = new IncrementalJdbcRecordReader(embeddedDatabase, query, "updated_at", watermarkFile);
+        reader.setInitialWatermark(new Timestamp(0));
+
+        assertThat(run(reader, -1)).containsExactly(1, 2);
+        assertThat(new String(Files.readAllBytes(watermarkFile), StandardCharsets.UTF_8)).isEqualTo("timestamp:2020-01-01T10:00:00.123457");
+
+        jdbcTemplate.update("insert into event values (3, '2020-01-01 10:00:00.123458')");
+
+        reader = new IncrementalJdbcRecordReader(embeddedDatabase, query, "updated_at", watermarkFile);
+        assertThat(run(reader, -1)).containsExactly(3);
+        assertThat(run(new IncrementalJdbcRecordReader(embeddedDatabase, query, "updated_at", watermarkFile), -1)).isEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenNoWatermarkIsStoredAndNoInitialWatermarkIsSet_thenOpenShouldFail() throws Exception {
+        reader = new IncrementalJdbcRecordReader(embeddedDatabase, QUERY, "id", watermarkFile);
+        reader.open();
+    }
+
+    @Test
+    public void whenPollIntervalIsSet_thenNewRowsShouldBeReadAfterTheLastRow() throws Exception {
+        reader.setPollInterval(Duration.ofMillis(10));
+        reader.open();
+        assertThat(reader.readRecord().getPayload().getInt("id")).isEqualTo(1);
+        assertThat(reader.readRecord().getPayload().getInt("id")).isEqualTo(2);
+        assertThat(reader.pollRecord(50, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(reader.isEndOfStream()).isFalse();
+
+        jdbcTemplate.update("insert into tweet values (3, 'baz', 'hello')");
+
+        assertThat(reader.readRecord().getPayload().getInt("id")).isEqualTo(3);
+    }
+
+    private IncrementalJdbcRecordReader newReader() {
+        IncrementalJdbcRecordReader incrementalReader = new IncrementalJdbcRecordReader(embeddedDatabase, QUERY, "id", watermarkFile);
+        incrementalReader.setInitialWatermark(0);
+        return incrementalReader;
+    }
+
+    /*
+     * Run a job with batches of one record, whose writer fails on the given record number (-1 to never fail).
+     */
+    private List<Integer> run(IncrementalJdbcRecordReader incrementalReader, long failingRecordNumber) {
+        List<Integer> ids = new ArrayList<>();
+        Job job = new JobBuilder<ResultSet, Integer>()
+                .reader(incrementalReader)
+                .processor((Record<ResultSet> record) -> new GenericRecord<>(record.getHeader(), record.getPayload().getInt("id")))
+                .writer(batch -> {
+                    for (Record<Integer> record : batch) {
+                        if (record.getHeader().getNumber() == failingRecordNumber) {
+                            throw new Exception("Unable to write record " + failingRecordNumber);
+                        }
+                        ids.add(record.getPayload());
+                    }
+                })
+                .batchListener(incrementalReader.watermarkListener())
+                .batchSize(1)
+                .build();
+        JobExecutor jobExecutor = new JobExecutor();
+        JobReport report = jobExecutor.execute(job);
+        jobExecutor.shutdown();
+        assertThat(report.getStatus()).isEqualTo(failingRecordNumber == -1 ? JobStatus.COMPLETED : JobStatus.FAILED);
+        return ids;
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        reader.close();
+        super.tearDown();
+    }
+
+}
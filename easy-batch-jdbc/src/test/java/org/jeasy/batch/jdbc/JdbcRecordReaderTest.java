@@ -23,12 +23,22 @@
  */
 package org.jeasy.batch.jdbc;
 
+import org.jeasy.batch.core.job.DefaultJobReportMerger;
+import org.jeasy.batch.core.job.Job;
+import org.jeasy.batch.core.job.JobBuilder;
+import org.jeasy.batch.core.job.JobExecutor;
+import org.jeasy.batch.core.job.JobReport;
 import org.jeasy.batch.test.common.AbstractDatabaseTest;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -67,6 +77,168 @@ public class JdbcRecordReaderTest extends AbstractDatabaseTest {
         assertThat(jdbcRecordReader.readRecord()).isNull();
     }
 
+    @Test
+    public void whenCheckpointKeyIsSet_thenSeekShouldResumeAfterTheKey() throws Exception {
+        jdbcRecordReader = new JdbcRecordReader(embeddedDatabase, sqlQuery + " order by id");
+        jdbcRecordReader.setCheckpointKey("id", "select * from tweet where id > ? order by id");
+        jdbcRecordReader.open();
+        jdbcRecordReader.readRecord();
+        String position = jdbcRecordReader.getPosition();
+        jdbcRecordReader.close();
+
+        jdbcRecordReader.open();
+        jdbcRecordReader.seek(position);
+        JdbcRecord record = jdbcRecordReader.readRecord();
+
+        assertThat(position).isEqualTo("1:long:1");
+        assertThat(record.getHeader().getNumber()).isEqualTo(2);
+        assertThat(record.getPayload().getString("user")).isEqualTo("bar");
+        assertThat(jdbcRecordReader.getPosition()).isEqualTo("2:long:2");
+        assertThat(jdbcRecordReader.readRecord()).isNull();
+    }
+
+    @Test
+    public void whenCheckpointKeyIsATimestamp_thenSeekShouldResumeAfterTheExactKey() throws Exception {
+        jdbcTemplate.execute("create table event (id integer not null primary key, updated_at timestamp(6) not null)");
+        jdbcTemplate.update("insert into event values (1, '2020-01-01 10:00:00.123456')");
+        jdbcTemplate.update("insert into event values (2, '2020-01-01 10:00:00.123457')");
+        jdbcRecordReader = new JdbcRecordReader(embeddedDatabase, "select * from event order by updated_at");
+        jdbcRecordReader.setCheckpointKey("updated_at", "select * from event where updated_at > ? order by updated_at");
+        jdbcRecordReader.open();
+        jdbcRecordReader.readRecord();
+        String position = jdbcRecordReader.getPosition();
+        jdbcRecordReader.close();
+
+        jdbcRecordReader.open();
+        jdbcRecordReader.seek(position);
+
+        assertThat(position).isEqualTo("1:timestamp:2020-01-01T10:00:00.123456");
+        assertThat(jdbcRecordReader.readRecord().getPayload().getInt("id")).isEqualTo(2);
+        assertThat(jdbcRecordReader.readRecord()).isNull();
+    }
+
+    @Test
+    public void whenCheckpointKeyIsNotSet_thenSeekShouldSkipRowsAlreadyRead() throws Exception {
+        jdbcRecordReader.open();
+        jdbcRecordReader.readRecord();
+        String position = jdbcRecordReader.getPosition();
+        jdbcRecordReader.close();
+
+        jdbcRecordReader.open();
+        jdbcRecordReader.seek(position);
+        JdbcRecord record = jdbcRecordReader.readRecord();
+
+        assertThat(position).isEqualTo("1");
+        assertThat(record.getHeader().getNumber()).isEqualTo(2);
+        assertThat(record.getPayload().getString("user")).isEqualTo("bar");
+    }
+
+    @Test
+    public void whenQueryIsPartitioned_thenEachRowShouldBeReadByExactlyOnePartition() throws Exception {
+        insertTweets(3, 100);
+        for (int partitions = 1; partitions <= 7; partitions++) {
+            List<Integer> ids = new ArrayList<>();
+            List<JdbcRecordReader> readers = JdbcRecordReader.partition(embeddedDatabase, sqlQuery, "id", partitions);
+            assertThat(readers).hasSize(partitions);
+            for (JdbcRecordReader reader : readers) {
+                ids.addAll(readIds(reader));
+            }
+            assertThat(ids).as("%d partitions", partitions).hasSize(100).doesNotHaveDuplicates().allMatch(id -> id >= 1 && id <= 100);
+        }
+    }
+
+    @Test
+    public void whenBoundariesAreSet_thenPartitionsShouldReadRowsInRanges() throws Exception {
+        insertTweets(3, 100);
+        List<JdbcRecordReader> readers = JdbcRecordReader.partition(embeddedDatabase, sqlQuery, "id", Arrays.asList(10, 50));
+
+        assertThat(readers).hasSize(3);
+        assertThat(readIds(readers.get(0))).hasSize(9).allMatch(id -> id < 10);
+        assertThat(readIds(readers.get(1))).hasSize(40).allMatch(id -> id >= 10 && id < 50);
+        assertThat(readIds(readers.get(2))).hasSize(51).allMatch(id -> id >= 50);
+    }
+
+    @Test
+    public void whenSplitColumnIsNull_thenRowsShouldBeReadByTheFirstPartition() throws Exception {
+        insertTweets(3, 100);
+        String query = "select id, case when id > 2 then id end as split_id from tweet"; // split_id is null for ids 1 and 2
+
+        List<JdbcRecordReader> readers = JdbcRecordReader.partition(embeddedDatabase, query, "split_id", 4);
+        List<Integer> ids = new ArrayList<>();
+        for (JdbcRecordReader reader : readers) {
+            ids.addAll(readIds(reader));
+        }
+
+        assertThat(ids).hasSize(100).doesNotHaveDuplicates();
+        assertThat(readIds(readers.get(0))).contains(1, 2);
+        assertThat(readIds(JdbcRecordReader.partition(embeddedDatabase, query, "split_id", Arrays.asList(10, 50)).get(0)))
+                .hasSize(9).contains(1, 2);
+    }
+
+    @Test
+    public void whenPartitionedReaderIsRestartedFromACheckpoint_thenItShouldOnlyReadRowsOfItsRange() throws Exception {
+        insertTweets(3, 100);
+        String query = "select * from tweet order by id";
+        String seekQuery = "select * from (" + query + ") partitioned_query where id >= ? and id < ? and id > ? order by id";
+        jdbcRecordReader = JdbcRecordReader.partition(embeddedDatabase, query, "id", Arrays.asList(10, 50)).get(1);
+        jdbcRecordReader.setCheckpointKey("id", seekQuery);
+        jdbcRecordReader.open();
+        for (int i = 0; i < 5; i++) {
+            jdbcRecordReader.readRecord();
+        }
+        String position = jdbcRecordReader.getPosition();
+        jdbcRecordReader.close();
+
+        jdbcRecordReader.open();
+        jdbcRecordReader.seek(position);
+        List<Integer> ids = new ArrayList<>();
+        JdbcRecord record;
+        while ((record = jdbcRecordReader.readRecord()) != null) {
+            ids.add(record.getPayload().getInt("id"));
+        }
+
+        assertThat(position).isEqualTo("5:long:14");
+        assertThat(ids).hasSize(35).allMatch(id -> id >= 15 && id < 50);
+    }
+
+    @Test
+    public void whenPartitionsAreReadBySubJobs_thenMergedReportShouldCountAllRows() throws Exception {
+        insertTweets(3, 100);
+        List<Job> jobs = new ArrayList<>();
+        for (JdbcRecordReader reader : JdbcRecordReader.partition(embeddedDatabase, sqlQuery, "id", 4)) {
+            jobs.add(new JobBuilder<ResultSet, ResultSet>().reader(reader).build());
+        }
+
+        JobExecutor jobExecutor = new JobExecutor(4);
+        JobReport report = jobExecutor.executeAll(jobs, new DefaultJobReportMerger());
+        jobExecutor.shutdown();
+
+        assertThat(report.getMetrics().getReadCount()).isEqualTo(100);
+        assertThat(report.getMetrics().getWriteCount()).isEqualTo(100);
+    }
+
+    private void insertTweets(int from, int to) throws Exception {
+        try (Connection connection = embeddedDatabase.getConnection();
+             PreparedStatement statement = connection.prepareStatement("insert into tweet values (?, 'baz', 'hello')")) {
+            for (int id = from; id <= to; id++) {
+                statement.setInt(1, id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private List<Integer> readIds(JdbcRecordReader reader) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        reader.open();
+        JdbcRecord record;
+        while ((record = reader.readRecord()) != null) {
+            ids.add(record.getPayload().getInt("id"));
+        }
+        reader.close();
+        return ids;
+    }
+
     @After
     public void tearDown() throws Exception {
         jdbcRecordReader.close();
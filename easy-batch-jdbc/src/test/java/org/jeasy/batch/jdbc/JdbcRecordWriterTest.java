@@ -28,16 +28,28 @@ import org.jeasy.batch.core.job.JobBuilder;
 import org.jeasy.batch.core.job.JobExecutor;
 import org.jeasy.batch.core.job.JobReport;
 import org.jeasy.batch.core.reader.IterableRecordReader;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
 import org.jeasy.batch.test.common.AbstractDatabaseTest;
 import org.jeasy.batch.test.common.Tweet;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class JdbcRecordWriterTest extends AbstractDatabaseTest {
 
@@ -98,6 +110,116 @@ public class JdbcRecordWriterTest extends AbstractDatabaseTest {
         assertThat(nbTweetsInDatabase).isEqualTo(3);
     }
 
+    @Test
+    public void testRecordWritingInSubBatches() {
+        int nbTweetsToInsert = 25;
+        jdbcRecordWriter.setSubBatchSize(4);
+
+        Job job = new JobBuilder<Tweet, Tweet>()
+                .batchSize(10)
+                .reader(new IterableRecordReader<>(createTweets(nbTweetsToInsert)))
+                .writer(jdbcRecordWriter)
+                .build();
+
+        JobReport jobReport = jobExecutor.execute(job);
+
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(nbTweetsToInsert);
+        assertThat(countRowsIn("tweet")).isEqualTo(nbTweetsToInsert);
+    }
+
+    @Test
+    public void testRecordWritingWithMultiRowStatements() {
+        int nbTweetsToInsert = 23;
+        jdbcRecordWriter.setRowsPerStatement(3);
+        jdbcRecordWriter.setSubBatchSize(4);
+
+        Job job = new JobBuilder<Tweet, Tweet>()
+                .batchSize(10) // batches of 10, 10 and 3 records, each one with a partial statement of 1 row or 0 rows
+                .reader(new IterableRecordReader<>(createTweets(nbTweetsToInsert)))
+                .writer(jdbcRecordWriter)
+                .build();
+
+        JobReport jobReport = jobExecutor.execute(job);
+
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(nbTweetsToInsert);
+        assertThat(countRowsIn("tweet")).isEqualTo(nbTweetsToInsert);
+        assertThat(jdbcTemplate.queryForObject("select message from tweet where id = 23", String.class)).isEqualTo("hello 23");
+        assertThat(jdbcTemplate.queryForObject("select message from tweet where id = 11", String.class)).isEqualTo("hello 11");
+    }
+
+    @Test
+    public void testRecordWritingWithMultiRowStatementsWhenError() {
+        jdbcRecordWriter.setRowsPerStatement(2);
+        List<Tweet> tweets = createTweets(5);
+        tweets.get(4).setUser("ThisIsAVeryLongUsernameThatWillCauseAnError");
+
+        Job job = new JobBuilder<Tweet, Tweet>()
+                .batchSize(3)
+                .reader(new IterableRecordReader<>(tweets))
+                .writer(jdbcRecordWriter)
+                .build();
+
+        JobReport jobReport = jobExecutor.execute(job);
+
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(3L);
+        assertThat(countRowsIn("tweet")).isEqualTo(3);
+    }
+
+    @Test
+    public void whenPreparingAStatementFails_thenTheTransactionShouldBeRolledBackAndTheJdbcBatchCleared() throws Exception {
+        PreparedStatementProvider provider = new BeanPropertiesPreparedStatementProvider(Tweet.class, "id", "user", "message");
+        jdbcRecordWriter = new JdbcRecordWriter<>(embeddedDatabase, "INSERT INTO tweet VALUES (?,?,?);", (statement, record) -> {
+            if (((Tweet) record).getId() == 4) {
+                throw new IllegalStateException("Unable to prepare statement");
+            }
+            provider.prepareStatement(statement, record);
+        });
+        jdbcRecordWriter.setSubBatchSize(2); // tweets 1 and 2 are sent to the database, tweet 3 is pending in the JDBC batch
+        List<Tweet> tweets = createTweets(5);
+        jdbcRecordWriter.open();
+
+        try {
+            jdbcRecordWriter.writeRecords(createBatch(tweets.subList(0, 4)));
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            jdbcRecordWriter.writeRecords(createBatch(tweets.subList(4, 5)));
+        } finally {
+            jdbcRecordWriter.close();
+        }
+
+        assertThat(countRowsIn("tweet")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select id from tweet", Integer.class)).isEqualTo(5);
+    }
+
+    @Test
+    public void whenWriterIsClosed_thenStatementsShouldBeClosedBeforeTheConnection() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        PreparedStatement partialStatement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("INSERT INTO tweet VALUES (?,?,?), (?,?,?)")).thenReturn(statement);
+        when(connection.prepareStatement("INSERT INTO tweet VALUES (?,?,?)")).thenReturn(partialStatement);
+        jdbcRecordWriter = new JdbcRecordWriter<>(dataSource, "INSERT INTO tweet VALUES (?,?,?)",
+                new BeanPropertiesPreparedStatementProvider(Tweet.class, "id", "user", "message"));
+        jdbcRecordWriter.setRowsPerStatement(2);
+
+        jdbcRecordWriter.open();
+        jdbcRecordWriter.writeRecords(createBatch(createTweets(3)));
+        jdbcRecordWriter.close();
+
+        InOrder inOrder = inOrder(partialStatement, statement, connection);
+        inOrder.verify(partialStatement).close();
+        inOrder.verify(statement).close();
+        inOrder.verify(connection).close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenQueryIsNotAnInsertQuery_thenMultiRowStatementsShouldBeRejected() {
+        new JdbcRecordWriter<Tweet>(embeddedDatabase, "UPDATE tweet SET message = ? WHERE id = ?",
+                new BeanPropertiesPreparedStatementProvider(Tweet.class, "message", "id")).setRowsPerStatement(2);
+    }
+
     private List<Tweet> createTweets(int nbTweetsToInsert) {
         List<Tweet> tweets = new ArrayList<>();
         for (int i = 1; i <= nbTweetsToInsert; i++) {
@@ -106,6 +228,14 @@ public class JdbcRecordWriterTest extends AbstractDatabaseTest {
         return tweets;
     }
 
+    private Batch<Tweet> createBatch(List<Tweet> tweets) {
+        Batch<Tweet> batch = new Batch<>();
+        for (Tweet tweet : tweets) {
+            batch.addRecord(new GenericRecord<>(new Header((long) tweet.getId(), "test", LocalDateTime.now()), tweet));
+        }
+        return batch;
+    }
+
     @After
     public void tearDown() throws Exception {
         jobExecutor.shutdown();
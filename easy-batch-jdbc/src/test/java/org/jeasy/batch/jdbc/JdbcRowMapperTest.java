@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.test.common.Tweet;
+import org.junit.Test;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JdbcRowMapperTest {
+
+    private final JdbcRow.Columns columns = new JdbcRow.Columns(
+            new String[]{"ID", "USER", "MESSAGE"},
+            new int[]{Types.BIGINT, Types.VARCHAR, Types.VARCHAR},
+            new Class<?>[]{Long.class, String.class, String.class});
+
+    @Test
+    public void testMapRecordWithDefaultMapping() throws Exception {
+        JdbcRowMapper<Tweet> tweetMapper = new JdbcRowMapper<>(Tweet.class);
+
+        Tweet tweet = tweetMapper.processRecord(record(1L, "foo", "Hello!")).getPayload();
+
+        assertThat(tweet).isEqualTo(new Tweet(1, "foo", "Hello!"));
+    }
+
+    @Test
+    public void testMapRecordWithCustomMapping() throws Exception {
+        JdbcRowMapper<Tweet> tweetMapper = new JdbcRowMapper<>(Tweet.class, "id", "message", "user");
+
+        Tweet tweet = tweetMapper.processRecord(record(1L, "foo", "Hello!")).getPayload();
+
+        assertThat(tweet).isEqualTo(new Tweet(1, "Hello!", "foo"));
+    }
+
+    @Test
+    public void whenValueIsNull_thenFieldShouldKeepItsDefaultValue() throws Exception {
+        JdbcRowMapper<Tweet> tweetMapper = new JdbcRowMapper<>(Tweet.class);
+
+        Tweet tweet = tweetMapper.processRecord(record(null, "foo", null)).getPayload();
+
+        assertThat(tweet).isEqualTo(new Tweet(0, "foo", null));
+    }
+
+    private GenericRecord<JdbcRow> record(Object... values) {
+        return new GenericRecord<>(new Header(1L, "test", LocalDateTime.now()), new JdbcRow(columns, values));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.jdbc;
+
+import org.jeasy.batch.core.job.JobBuilder;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.JobStatus;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.test.common.AbstractDatabaseTest;
+import org.jeasy.batch.test.common.Tweet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JdbcRowRecordReaderTest extends AbstractDatabaseTest {
+
+    private JdbcRowRecordReader jdbcRowRecordReader;
+
+    @Before
+    public void setUp() throws Exception {
+        addScript("data.sql");
+        super.setUp();
+        jdbcRowRecordReader = new JdbcRowRecordReader(embeddedDatabase, "select * from tweet order by id");
+    }
+
+    @Test
+    public void whenRowsAreReadInBulk_thenRecordsShouldBeDetachedFromTheResultSet() throws Exception {
+        jdbcRowRecordReader.open();
+        Batch<JdbcRow> batch = new Batch<>();
+        assertThat(jdbcRowRecordReader.readRecords(10, batch)).isEqualTo(2);
+        jdbcRowRecordReader.close();
+
+        Iterator<Record<JdbcRow>> iterator = batch.iterator();
+        Record<JdbcRow> record = iterator.next();
+        JdbcRow row = record.getPayload();
+        assertThat(record.getHeader().getNumber()).isEqualTo(1);
+        assertThat(row.getObject(1)).isEqualTo(1);
+        assertThat(row.getObject("user")).isEqualTo("foo");
+        assertThat(row.getObject("MESSAGE")).isEqualTo("easy batch rocks! #EasyBatch");
+        assertThat(iterator.next().getPayload().getObject("id")).isEqualTo(2);
+
+        JdbcRow.Columns columns = row.getColumns();
+        assertThat(columns.getCount()).isEqualTo(3);
+        assertThat(columns.getSqlType(1)).isEqualTo(Types.INTEGER);
+        assertThat(columns.getJavaType(1)).isEqualTo(Integer.class);
+        assertThat(columns.getJavaType(2)).isEqualTo(String.class);
+    }
+
+    @Test
+    public void whenCheckpointKeyIsSet_thenSeekShouldResumeAfterTheKey() throws Exception {
+        JdbcRecordReader jdbcRecordReader = new JdbcRecordReader(embeddedDatabase, "select * from tweet order by id");
+        jdbcRecordReader.setCheckpointKey("id", "select * from tweet where id > ? order by id");
+        jdbcRowRecordReader = new JdbcRowRecordReader(jdbcRecordReader);
+        jdbcRowRecordReader.open();
+        jdbcRowRecordReader.readRecord();
+        String position = jdbcRowRecordReader.getPosition();
+        jdbcRowRecordReader.close();
+
+        jdbcRowRecordReader.open();
+        jdbcRowRecordReader.seek(position);
+        Record<JdbcRow> record = jdbcRowRecordReader.readRecord();
+
+        assertThat(record.getHeader().getNumber()).isEqualTo(2);
+        assertThat(record.getPayload().getObject("user")).isEqualTo("bar");
+        assertThat(jdbcRowRecordReader.readRecord()).isNull();
+    }
+
+    @Test
+    public void whenRowsAreMapped_thenTypedValuesShouldBeSetOnFields() throws Exception {
+        JdbcRowMapper<Tweet> mapper = new JdbcRowMapper<>(Tweet.class);
+        jdbcRowRecordReader.open();
+
+        Tweet tweet = mapper.processRecord(jdbcRowRecordReader.readRecord()).getPayload();
+
+        assertThat(tweet).isEqualTo(new Tweet(1, "foo", "easy batch rocks! #EasyBatch"));
+    }
+
+    @Test
+    public void whenRowsAreProcessedByProcessingThreads_thenEachRecordShouldBeMappedFromItsOwnRow() {
+        List<Tweet> tweets = Collections.synchronizedList(new ArrayList<>());
+        JobReport report = new JobBuilder<JdbcRow, Tweet>()
+                .reader(jdbcRowRecordReader)
+                .mapper(new JdbcRowMapper<>(Tweet.class))
+                .writer(batch -> batch.forEach(record -> tweets.add(record.getPayload())))
+                .processingThreads(2)
+                .enablePipelining(true)
+                .build()
+                .call();
+
+        assertThat(report.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(tweets).containsExactly(new Tweet(1, "foo", "easy batch rocks! #EasyBatch"), new Tweet(2, "bar", "@foo I do confirm :-)"));
+    }
+
+    @Test
+    public void whenRecordsShareTheResultSet_thenProcessingThreadsShouldBeRejected() {
+        JobReport report = new JobBuilder<ResultSet, ResultSet>()
+                .reader(new JdbcRecordReader(embeddedDatabase, "select * from tweet"))
+                .processingThreads(2)
+                .build()
+                .call();
+
+        assertThat(report.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(report.getLastError()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        jdbcRowRecordReader.close();
+        super.tearDown();
+    }
+
+}
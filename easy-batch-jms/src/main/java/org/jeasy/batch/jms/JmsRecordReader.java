@@ -24,6 +24,7 @@
 package org.jeasy.batch.jms;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
@@ -32,7 +33,8 @@ import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
-import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.reader.PollableRecordReader;
+import org.jeasy.batch.core.reader.SeekableRecordReader;
 import org.jeasy.batch.core.record.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,10 +48,14 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
  * This reader produces {@link JmsRecord} instances with a payload of type {@link Message}.
  *
  * It will stop reading records after a given timeout (defaults to {@link #DEFAULT_TIMEOUT}).
+ * When polled, the end of data is reached when no message has been received for this timeout.
+ *
+ * Messages are acknowledged when received, so the broker keeps track of the reading
+ * position: when restarted from a checkpoint, this reader only resumes record numbering.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class JmsRecordReader implements RecordReader<Message> {
+public class JmsRecordReader implements PollableRecordReader<Message>, SeekableRecordReader<Message> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JmsRecordReader.class.getSimpleName());
 
@@ -60,6 +66,8 @@ public class JmsRecordReader implements RecordReader<Message> {
     private MessageConsumer messageConsumer;
     private Destination destination;
     private long timeout;
+    private long lastRecordTime;
+    private boolean endOfStream;
 
     /**
      * Default timeout after which the reader will return {@code null}.
@@ -99,14 +107,51 @@ public class JmsRecordReader implements RecordReader<Message> {
         session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
         messageConsumer = session.createConsumer(destination);
         connection.start();
+        lastRecordTime = System.nanoTime();
+        endOfStream = false;
     }
 
     @Override
     public JmsRecord readRecord() throws Exception {
         Message message = messageConsumer.receive(timeout); // return null when timed out (See its javadoc)
+        return toRecord(message, true);
+    }
+
+    @Override
+    public JmsRecord pollRecord(long timeout, TimeUnit unit) throws Exception {
+        long idleTime = TimeUnit.MILLISECONDS.toNanos(this.timeout) - (System.nanoTime() - lastRecordTime);
+        long waitTime = TimeUnit.NANOSECONDS.toMillis(Math.min(unit.toNanos(timeout), idleTime));
+        // receive(0) blocks indefinitely, so receiveNoWait is used when there is no time left
+        Message message = waitTime > 0 ? messageConsumer.receive(waitTime) : messageConsumer.receiveNoWait();
+        return toRecord(message, unit.toNanos(timeout) >= idleTime);
+    }
+
+    @Override
+    public boolean isEndOfStream() {
+        return endOfStream;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The position is the number of the last record read.
+     */
+    @Override
+    public String getPosition() {
+        return String.valueOf(currentRecordNumber);
+    }
+
+    @Override
+    public void seek(String position) {
+        currentRecordNumber = Long.parseLong(position);
+    }
+
+    private JmsRecord toRecord(Message message, boolean idleTimeoutExpired) {
         if (message == null) {
+            endOfStream = idleTimeoutExpired;
             return null;
         }
+        lastRecordTime = System.nanoTime();
         Header header = new Header(++currentRecordNumber, getDataSourceName(), LocalDateTime.now());
         return new JmsRecord(header, message);
     }
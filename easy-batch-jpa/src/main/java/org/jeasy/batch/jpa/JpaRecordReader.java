@@ -23,7 +23,9 @@
  */
 package org.jeasy.batch.jpa;
 
-import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.reader.BulkRecordReader;
+import org.jeasy.batch.core.reader.SeekableRecordReader;
+import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.GenericRecord;
 import org.jeasy.batch.core.record.Header;
 import org.slf4j.Logger;
@@ -46,10 +48,13 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
  *
  * This reader produces {@link GenericRecord} instances with JPA entities as payload.
  *
+ * When restarted from a checkpoint, this reader fetches the first page right after
+ * the last record read. The query should have a stable order for this to be reliable.
+ *
  * @param <T> the type of objects this reader will read.
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class JpaRecordReader<T> implements RecordReader<T> {
+public class JpaRecordReader<T> implements BulkRecordReader<T>, SeekableRecordReader<T> {
 
     public static final int DEFAULT_MAX_RESULT = 1000;
     private static final Logger LOGGER = LoggerFactory.getLogger(JpaRecordReader.class.getSimpleName());
@@ -108,14 +113,47 @@ public class JpaRecordReader<T> implements RecordReader<T> {
 
     @Override
     public GenericRecord<T> readRecord() {
-        Header header = new Header(++currentRecordNumber, getDataSourceName(), LocalDateTime.now());
         if (hasNextRecord()) {
+            Header header = new Header(++currentRecordNumber, getDataSourceName(), LocalDateTime.now());
             return new GenericRecord<>(header, iterator.next());
         } else {
             return null;
         }
     }
 
+    @Override
+    public int readRecords(int maxRecords, Batch<T> batch) {
+        String dataSourceName = getDataSourceName();
+        LocalDateTime creationDate = LocalDateTime.now();
+        int count = 0;
+        while (count < maxRecords && hasNextRecord()) {
+            Header header = new Header(++currentRecordNumber, dataSourceName, creationDate);
+            batch.addRecord(new GenericRecord<>(header, iterator.next()));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The position is the number of the last record read.
+     */
+    @Override
+    public String getPosition() {
+        return String.valueOf(currentRecordNumber);
+    }
+
+    @Override
+    public void seek(String position) {
+        currentRecordNumber = Long.parseLong(position);
+        offset = Math.toIntExact(currentRecordNumber);
+        LOGGER.debug("Resuming reading at offset {}", offset);
+        typedQuery.setFirstResult(offset);
+        records = typedQuery.getResultList();
+        iterator = records.iterator();
+    }
+
     private String getDataSourceName() {
         return "Result of JPA query: " + query;
     }
@@ -70,6 +70,17 @@ public class JpaRecordReaderTest extends AbstractDatabaseTest {
         assertThat(nbRecords).isEqualTo(2);
     }
 
+    @Test
+    public void testSeek() {
+        jpaRecordReader.seek("1");
+        Record<Tweet> record = jpaRecordReader.readRecord();
+
+        assertThat(record.getHeader().getNumber()).isEqualTo(2);
+        assertThat(record.getPayload()).isEqualTo(new Tweet(2, "bar", "@foo I do confirm :-)"));
+        assertThat(jpaRecordReader.getPosition()).isEqualTo("2");
+        assertThat(jpaRecordReader.readRecord()).isNull();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void maxResultsParameterMustBeGreaterThanOrEqualToOne() {
         jpaRecordReader.setMaxResults(0);
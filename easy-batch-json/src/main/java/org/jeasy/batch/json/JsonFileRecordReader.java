@@ -25,8 +25,7 @@ package org.jeasy.batch.json;
 
 import org.jeasy.batch.core.reader.AbstractFileRecordReader;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -71,7 +70,7 @@ public class JsonFileRecordReader extends AbstractFileRecordReader<String> {
 
     @Override
     public void open() throws Exception {
-        jsonRecordReader = new Reader(path, charset);
+        jsonRecordReader = new Reader(openInputStream(), path, charset);
         jsonRecordReader.open();
     }
 
@@ -90,8 +89,8 @@ public class JsonFileRecordReader extends AbstractFileRecordReader<String> {
 
         private Path path;
 
-        Reader(Path path, Charset charset) throws FileNotFoundException {
-            super(new FileInputStream(path.toFile()), charset);
+        Reader(InputStream inputStream, Path path, Charset charset) {
+            super(inputStream, charset);
             this.path = path;
         }
 
@@ -23,10 +23,13 @@
  */
 package org.jeasy.batch.json;
 
+import java.io.Writer;
+
 import javax.json.bind.Jsonb;
 import javax.json.bind.JsonbBuilder;
 
 import org.jeasy.batch.core.marshaller.RecordMarshaller;
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
 import org.jeasy.batch.core.record.Record;
 
 import static org.jeasy.batch.core.util.Utils.checkNotNull;
@@ -37,7 +40,7 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
  * @param <P> Target domain object class.
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class JsonRecordMarshaller<P> implements RecordMarshaller<P, String> {
+public class JsonRecordMarshaller<P> implements RecordMarshaller<P, String>, StreamingRecordMarshaller<P> {
 
 	private Jsonb jsonb;
 
@@ -64,4 +67,9 @@ public class JsonRecordMarshaller<P> implements RecordMarshaller<P, String> {
 		return new JsonRecord(record.getHeader(), payload);
 	}
 
+	@Override
+	public void marshalRecord(final Record<P> record, final Writer writer) {
+		jsonb.toJson(record.getPayload(), writer);
+	}
+
 }
@@ -27,9 +27,13 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import java.util.zip.GZIPOutputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class JsonFileRecordReaderTest {
@@ -67,6 +71,23 @@ public class JsonFileRecordReaderTest {
         assertThat(jsonRecord).isNull();
     }
 
+    @Test
+    public void testCompressedJsonRecordReading() throws Exception {
+        Path gzipDataSource = Files.createTempFile("persons", ".json.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(gzipDataSource))) {
+            outputStream.write(Files.readAllBytes(dataSource));
+        }
+        JsonFileRecordReader reader = new JsonFileRecordReader(gzipDataSource);
+        reader.open();
+
+        assertThat(reader.readRecord().getPayload()).isEqualTo("{\"id\":1,\"name\":\"foo\"}");
+        assertThat(reader.readRecord().getPayload()).isEqualTo("{\"id\":2,\"name\":\"bar\"}");
+        assertThat(reader.readRecord().getPayload()).isEqualTo("{\"id\":3,\"name\":\"toto\"}");
+        assertThat(reader.readRecord()).isNull();
+        reader.close();
+        Files.delete(gzipDataSource);
+    }
+
     @After
     public void tearDown() throws Exception {
         jsonFileRecordReader.close();
@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.batch.tutorials.advanced.parallel;
+
+import org.jeasy.batch.core.filter.HeaderRecordFilter;
+import org.jeasy.batch.core.job.DefaultJobReportMerger;
+import org.jeasy.batch.core.job.Job;
+import org.jeasy.batch.core.job.JobBuilder;
+import org.jeasy.batch.core.job.JobExecutor;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.writer.StandardOutputRecordWriter;
+import org.jeasy.batch.flatfile.DelimitedRecordMapper;
+import org.jeasy.batch.flatfile.FlatFileRecordReader;
+import org.jeasy.batch.tutorials.common.Tweet;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ByteRangePartitions {
+
+    private static final int THREAD_POOL_SIZE = 2;
+
+    public static void main(String[] args) throws Exception {
+
+        // Input file tweets.csv
+        Path tweets = Paths.get(args.length != 0 ? args[0] : "easy-batch-tutorials/src/main/resources/data/tweets.csv");
+
+        // Build a worker job for each byte range of the file
+        List<FlatFileRecordReader> partitions = FlatFileRecordReader.partition(tweets, StandardCharsets.UTF_8, THREAD_POOL_SIZE);
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            jobs.add(buildJob(partitions.get(i), "worker-job" + (i + 1), i == 0));
+        }
+
+        //create a job executor with 2 worker threads, run jobs in parallel and merge their reports
+        JobExecutor jobExecutor = new JobExecutor(THREAD_POOL_SIZE);
+        JobReport finalReport = jobExecutor.executeAll(jobs, new DefaultJobReportMerger());
+        System.out.println(finalReport);
+
+        jobExecutor.shutdown();
+
+    }
+
+    private static Job buildJob(FlatFileRecordReader partition, String jobName, boolean firstPartition) {
+        JobBuilder<String, Tweet> jobBuilder = new JobBuilder<String, Tweet>()
+                .named(jobName)
+                .reader(partition);
+        if (firstPartition) {
+            // only the first partition contains the header record
+            jobBuilder.filter(new HeaderRecordFilter<>());
+        }
+        return jobBuilder
+                .mapper(new DelimitedRecordMapper<>(Tweet.class, "id", "user", "message"))
+                .writer(new StandardOutputRecordWriter<>())
+                .build();
+    }
+
+}
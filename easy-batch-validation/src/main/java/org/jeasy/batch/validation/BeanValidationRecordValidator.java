@@ -45,11 +45,11 @@ public class BeanValidationRecordValidator<P> implements RecordValidator<P> {
     private Validator validator;
 
     /**
-     * Create a new {@link BeanValidationRecordValidator}.
+     * Create a new {@link BeanValidationRecordValidator}. Validators share a default
+     * validator, which is thread safe and caches constraints metadata of validated types.
      */
     public BeanValidationRecordValidator() {
-        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-        validator = factory.getValidator();
+        validator = DefaultValidator.INSTANCE;
     }
 
     @Override
@@ -68,4 +68,17 @@ public class BeanValidationRecordValidator<P> implements RecordValidator<P> {
         }
         return record;
     }
+
+    /**
+     * Holder of the default validator, built once when first used.
+     */
+    private static class DefaultValidator {
+
+        private static final Validator INSTANCE = buildDefaultValidator();
+
+        private static Validator buildDefaultValidator() {
+            ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+            return factory.getValidator();
+        }
+    }
 }
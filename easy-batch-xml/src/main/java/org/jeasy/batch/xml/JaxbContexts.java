@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.xml;
+
+import org.jeasy.batch.core.util.BeanMetadata;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * Shares JAXB contexts of types through the {@link BeanMetadata} registry. JAXB contexts
+ * are thread safe and expensive to create, so one context is created per type.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class JaxbContexts {
+
+    private static final Object JAXB_CONTEXT = new Object();
+
+    private JaxbContexts() {
+
+    }
+
+    /**
+     * Get the JAXB context of a type.
+     *
+     * @param type bound by the context
+     * @return the JAXB context of the type
+     * @throws JAXBException if the context cannot be created
+     */
+    static JAXBContext of(final Class<?> type) throws JAXBException {
+        try {
+            return BeanMetadata.of(type).computeIfAbsent(JAXB_CONTEXT, JaxbContexts::newContext);
+        } catch (ContextCreationException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static JAXBContext newContext(final Class<?> type) {
+        try {
+            return JAXBContext.newInstance(type);
+        } catch (JAXBException e) {
+            throw new ContextCreationException(e);
+        }
+    }
+
+    private static class ContextCreationException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        ContextCreationException(JAXBException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized JAXBException getCause() {
+            return (JAXBException) super.getCause();
+        }
+    }
+}
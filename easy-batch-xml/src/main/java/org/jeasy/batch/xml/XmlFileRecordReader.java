@@ -25,8 +25,7 @@ package org.jeasy.batch.xml;
 
 import org.jeasy.batch.core.reader.AbstractFileRecordReader;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -66,7 +65,7 @@ public class XmlFileRecordReader extends AbstractFileRecordReader<String> {
 
     @Override
     public void open() throws Exception {
-        xmlRecordReader = new Reader(path, rootElementName, charset);
+        xmlRecordReader = new Reader(openInputStream(), path, rootElementName, charset);
         xmlRecordReader.open();
     }
 
@@ -85,8 +84,8 @@ public class XmlFileRecordReader extends AbstractFileRecordReader<String> {
 
         private Path path;
 
-        Reader(Path path, String rootElementName, Charset charset) throws FileNotFoundException {
-            super(new FileInputStream(path.toFile()), rootElementName, charset);
+        Reader(InputStream inputStream, Path path, String rootElementName, Charset charset) {
+            super(inputStream, rootElementName, charset);
             this.path = path;
         }
 
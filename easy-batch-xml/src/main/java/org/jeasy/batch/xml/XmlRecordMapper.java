@@ -56,7 +56,7 @@ public class XmlRecordMapper<P> implements RecordMapper<String, P> {
      * @throws JAXBException thrown if an error occurs during the creation of Jaxb context.
      */
     public XmlRecordMapper(final Class<P> type) throws JAXBException {
-        jaxbContext = JAXBContext.newInstance(type);
+        jaxbContext = JaxbContexts.of(type);
         jaxbUnmarshaller = jaxbContext.createUnmarshaller();
     }
 
@@ -69,7 +69,7 @@ public class XmlRecordMapper<P> implements RecordMapper<String, P> {
      * @throws SAXException  thrown if an error occurs during the schema parsing.
      */
     public XmlRecordMapper(final Class<P> type, final Path xsd) throws JAXBException, SAXException {
-        jaxbContext = JAXBContext.newInstance(type);
+        jaxbContext = JaxbContexts.of(type);
         jaxbUnmarshaller = jaxbContext.createUnmarshaller();
         SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
         Schema schema = schemaFactory.newSchema(xsd.toFile());
@@ -24,6 +24,7 @@
 package org.jeasy.batch.xml;
 
 import org.jeasy.batch.core.marshaller.RecordMarshaller;
+import org.jeasy.batch.core.marshaller.StreamingRecordMarshaller;
 import org.jeasy.batch.core.record.Record;
 
 import javax.xml.bind.JAXBContext;
@@ -31,6 +32,7 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.PropertyException;
 import java.io.StringWriter;
+import java.io.Writer;
 
 import static org.jeasy.batch.core.util.Utils.checkNotNull;
 
@@ -41,7 +43,7 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
  * @param <P> type of the objects to marshal
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class XmlRecordMarshaller<P> implements RecordMarshaller<P, String> {
+public class XmlRecordMarshaller<P> implements RecordMarshaller<P, String>, StreamingRecordMarshaller<P> {
 
     private Marshaller marshaller;
 
@@ -53,7 +55,7 @@ public class XmlRecordMarshaller<P> implements RecordMarshaller<P, String> {
      */
     public XmlRecordMarshaller(final Class<P> type) throws JAXBException {
         checkNotNull(type, "target type");
-        JAXBContext jaxbContext = JAXBContext.newInstance(type);
+        JAXBContext jaxbContext = JaxbContexts.of(type);
         marshaller = jaxbContext.createMarshaller();
         disableXmlDeclaration();
     }
@@ -80,4 +82,9 @@ public class XmlRecordMarshaller<P> implements RecordMarshaller<P, String> {
         marshaller.marshal(record.getPayload(), stringWriter);
         return new XmlRecord(record.getHeader(), stringWriter.toString());
     }
+
+    @Override
+    public void marshalRecord(final Record<P> record, final Writer writer) throws Exception {
+        marshaller.marshal(record.getPayload(), writer);
+    }
 }
@@ -77,7 +77,7 @@ public class XmlRecordValidator<P> implements RecordValidator<P> {
     @Override
     public Record<P> processRecord(Record<P> record) throws Exception {
         P payload = record.getPayload();
-        JAXBContext context = JAXBContext.newInstance(payload.getClass());
+        JAXBContext context = JaxbContexts.of(payload.getClass());
         JAXBSource source = new JAXBSource(context, payload);
         validator.validate(source);
         return record;